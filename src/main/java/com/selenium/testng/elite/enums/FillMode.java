@@ -0,0 +1,9 @@
+package com.selenium.testng.elite.enums;
+
+public enum FillMode {
+  // Set all values with one script and fire input and change events, fastest. Skips key events,
+  // maxlength and input validation, so use it only where the test is not about what a user types
+  SCRIPT,
+  // Type all values with one W3C actions sequence like a user, the default
+  TYPING
+}
@@ -0,0 +1,115 @@
+package com.selenium.testng.elite.utils;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Keeps the console lines of one test until it ends, so they can be printed as one block instead
+ * of interleaving with the lines of parallel tests. Lines are kept in memory up to a limit, after
+ * which they are spilled to a temporary file, so a test logging a lot cannot exhaust the heap.
+ */
+public final class ConsoleBuffer implements AutoCloseable {
+  private static final int MEMORY_LIMIT = 256 * 1024;
+
+  private final String testCaseName;
+  private final int memoryLimit;
+  private final StringBuilder lines = new StringBuilder();
+  private Path spillFile;
+  private Writer spillWriter;
+
+  public ConsoleBuffer(String testCaseName) {
+    this(testCaseName, MEMORY_LIMIT);
+  }
+
+  /**
+   * @param testCaseName The name of the test, printed around its lines.
+   * @param memoryLimit The number of characters kept in memory before they are spilled to a file.
+   */
+  public ConsoleBuffer(String testCaseName, int memoryLimit) {
+    this.testCaseName = testCaseName;
+    this.memoryLimit = memoryLimit;
+  }
+
+  public synchronized void append(String line) {
+    lines.append(line);
+    if (lines.length() > memoryLimit) spill();
+  }
+
+  /**
+   * @return The temporary file the lines beyond the memory limit were spilled to, or null.
+   */
+  public synchronized Path getSpillFile() {
+    return spillFile;
+  }
+
+  /**
+   * Prints all lines as one block between a header and a footer line. Spilled lines are streamed
+   * from their file, so they are never read into memory as a whole.
+   *
+   * @param console The stream to print to, usually System.out.
+   */
+  public synchronized void printTo(PrintStream console) {
+    // Everything is printed while holding the stream lock, so no other output ends up in the block
+    synchronized (console) {
+      console.print("===== " + testCaseName + " =====" + System.lineSeparator());
+      if (spillFile != null) {
+        try {
+          spillWriter.flush();
+          try (var reader = Files.newBufferedReader(spillFile, StandardCharsets.UTF_8)) {
+            var buffer = new char[8192];
+            for (int read; (read = reader.read(buffer)) != -1; )
+              console.append(CharBuffer.wrap(buffer, 0, read));
+          }
+        } catch (IOException e) {
+          console.print(
+              "Console lines spilled to "
+                  + spillFile
+                  + " could not be read: "
+                  + e.getMessage()
+                  + System.lineSeparator());
+        }
+      }
+      console.print(lines);
+      console.print("===== end of " + testCaseName + " =====" + System.lineSeparator());
+      console.flush();
+    }
+  }
+
+  /**
+   * Empties the buffer and deletes the spill file. Called at the end of every test, whether its
+   * lines were printed or not.
+   */
+  @Override
+  public synchronized void close() {
+    lines.setLength(0);
+    if (spillFile == null) return;
+    try {
+      spillWriter.close();
+      Files.deleteIfExists(spillFile);
+    } catch (IOException e) {
+      e.printStackTrace();
+    }
+    spillFile = null;
+    spillWriter = null;
+  }
+
+  private void spill() {
+    try {
+      if (spillWriter == null) {
+        var file = Files.createTempFile("console-", ".log");
+        spillWriter = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        spillFile = file;
+      }
+      spillWriter.append(lines);
+      lines.setLength(0);
+    } catch (IOException e) {
+      // Keep the lines in memory rather than losing them
+      e.printStackTrace();
+    }
+  }
+}
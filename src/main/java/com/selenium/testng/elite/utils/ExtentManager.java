@@ -1,26 +1,131 @@
 package com.selenium.testng.elite.utils;
 
 import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 import com.aventstack.extentreports.reporter.configuration.ViewName;
+import io.github.cdimascio.dotenv.Dotenv;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Creates the extent report of the run and decides when it is written. With REPORT_MODE=per-test
+ * the HTML report is written again after every test. With REPORT_MODE=journal every finished test
+ * is appended to the {@link ReportJournal} instead, and the HTML report is written once at the end
+ * of the run, and from the journal every REPORT_INTERVAL_IN_SECONDS if set.
+ */
 public class ExtentManager {
+  private static final Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
+  private static final boolean IS_JOURNAL_MODE =
+      "journal".equalsIgnoreCase(dotenv.get("REPORT_MODE", "per-test"));
+  private static final int REPORT_INTERVAL_IN_SECONDS =
+      Integer.parseInt(dotenv.get("REPORT_INTERVAL_IN_SECONDS", "0"));
+
   private static ExtentReports extent;
+  private static ScheduledExecutorService reportRenderer;
 
   public static synchronized ExtentReports getInstance() {
     if (extent == null) {
       extent = new ExtentReports();
-      ExtentSparkReporter sparkReporter =
-          new ExtentSparkReporter(PathHelper.getPathForReport())
-              .viewConfigurer()
-              .viewOrder()
-              .as(
-                  new ViewName[] {
-                    ViewName.DASHBOARD, ViewName.TEST, ViewName.EXCEPTION,
-                  })
-              .apply();
-      extent.attachReporter(sparkReporter);
+      extent.attachReporter(createSparkReporter(PathHelper.getPathForReport()));
+      if (IS_JOURNAL_MODE) startJournal();
     }
     return extent;
   }
+
+  /**
+   * Creates the Spark reporter with the views of the framework's report.
+   *
+   * @param reportPath The HTML file to write.
+   * @return The reporter.
+   */
+  static ExtentSparkReporter createSparkReporter(String reportPath) {
+    return new ExtentSparkReporter(reportPath)
+        .viewConfigurer()
+        .viewOrder()
+        .as(
+            new ViewName[] {
+              ViewName.DASHBOARD, ViewName.TEST, ViewName.EXCEPTION,
+            })
+        .apply();
+  }
+
+  /**
+   * Records a finished test, after its last log. Writes the HTML report, or appends the test to the
+   * journal in journal mode.
+   *
+   * @param extentTest The finished test.
+   */
+  public static void testFinished(ExtentTest extentTest) {
+    if (IS_JOURNAL_MODE)
+      ReportJournal.append(Path.of(PathHelper.getReportJournalFilePath()), extentTest);
+    else getInstance().flush();
+  }
+
+  /**
+   * Writes the HTML report with all tests of the run and prints its size per failed test, which
+   * grows with the screenshots in it. Called once at the end of the suite.
+   */
+  public static synchronized void finishRun() {
+    // A render in progress finishes first, so it cannot overwrite the final report with an old one
+    if (reportRenderer != null) {
+      reportRenderer.shutdown();
+      try {
+        if (!reportRenderer.awaitTermination(1, TimeUnit.MINUTES))
+          throw new RuntimeException("The journal was still being rendered after 1 minute");
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException("Interrupted while the journal was being rendered", e);
+      }
+    }
+    if (extent == null) return;
+    extent.flush();
+
+    var report = Path.of(PathHelper.getPathForReport());
+    var failedTests = extent.getStats().getParent().getOrDefault(Status.FAIL, 0L);
+    try {
+      var kilobytes = Files.size(report) / 1024;
+      var perFailure =
+          failedTests == 0 ? "no failed tests" : kilobytes / failedTests + " KB per failure";
+      Log.summary("Report: " + kilobytes + " KB, " + perFailure);
+    } catch (IOException e) {
+      e.printStackTrace();
+    }
+  }
+
+  // Replaces the journal of the previous run, render it first with ReportJournal if it crashed
+  private static void startJournal() {
+    var journal = Path.of(PathHelper.getReportJournalFilePath());
+    try {
+      Files.deleteIfExists(journal);
+    } catch (IOException e) {
+      throw new RuntimeException("Report journal " + journal + " could not be deleted", e);
+    }
+    if (REPORT_INTERVAL_IN_SECONDS <= 0) return;
+
+    // Rendered from the journal, so the tests still running are not read while they change
+    reportRenderer =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              var thread = new Thread(runnable, "report-renderer");
+              thread.setDaemon(true);
+              return thread;
+            });
+    reportRenderer.scheduleWithFixedDelay(
+        () -> {
+          try {
+            ReportJournal.render(journal, Path.of(PathHelper.getPathForReport()));
+          } catch (RuntimeException e) {
+            e.printStackTrace();
+          }
+        },
+        REPORT_INTERVAL_IN_SECONDS,
+        REPORT_INTERVAL_IN_SECONDS,
+        TimeUnit.SECONDS);
+  }
 }
@@ -2,81 +2,454 @@ package com.selenium.testng.elite.utils;
 
 import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
+import com.selenium.testng.elite.utils.StepLog.StepEvent;
+import io.github.cdimascio.dotenv.Dotenv;
 import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.appender.ConsoleAppender;
-import org.apache.logging.log4j.core.appender.FileAppender;
+import org.apache.logging.log4j.core.appender.routing.Route;
+import org.apache.logging.log4j.core.appender.routing.Routes;
+import org.apache.logging.log4j.core.appender.routing.RoutingAppender;
 import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.apache.logging.log4j.core.config.Node;
+import org.apache.logging.log4j.core.config.plugins.util.PluginManager;
+import org.apache.logging.log4j.core.impl.ContextDataFactory;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
 import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
+
+/**
+ * Logs the steps of a test to the console, the extent report and the test's own log file. All tests
+ * share one logger, whose routing appender writes to {@code target/test-results/{test name}/
+ * logfile.log} based on the context data of the event. The route is keyed on the invocation, not
+ * the test name, so tests of the same name running at the same time, e.g. in different classes,
+ * do not share or close each other's file: the later one writes to {@code logfile-{invocation}.log}
+ * instead. The file of a test is closed by {@link #close()} at the end of the test. Every step is
+ * also timed and written to the {@link StepLog}, unless the log was created without step recording.
+ *
+ * <p>With {@code ASYNC_LOGGING=true} a step only costs the test thread an entry in a lock-free ring
+ * buffer. A background writer drains it in batches, writes the lines to log4j and the report with
+ * the time and thread of the step, and flushes each log file once per batch. {@link #flush()} waits
+ * until all lines of the test are written.
+ */
+public class Log implements AutoCloseable {
+  private static final String LOGGER_NAME = "TestLog";
+  private static final String SUMMARY_LOGGER_NAME = "RunSummary";
+  private static final String ROUTE_KEY = "logRoute";
+  private static final String LOG_FILE_KEY = "logFile";
+  private static final String LOG_FILE_NAME = "logfile.log";
+  private static final String PATTERN = "%d [%t] %-5level: %msg%n%throwable";
+  private static final boolean ASYNC_LOGGING =
+      Boolean.parseBoolean(Dotenv.configure().ignoreIfMissing().load().get("ASYNC_LOGGING"));
+  private static final ConsoleOutput CONSOLE_OUTPUT =
+      getConsoleOutput(Dotenv.configure().ignoreIfMissing().load().get("CONSOLE_OUTPUT", "stream"));
+  private static final PatternLayout CONSOLE_LAYOUT =
+      PatternLayout.newBuilder().withPattern(PATTERN).build();
+
+  private static final int BATCH_SIZE = 1024;
+  private static final long WRITER_IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+  private static final long FLUSH_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(30);
+  private static final LogRingBuffer<LogEntry> ringBuffer = new LogRingBuffer<>(16 * 1024);
+  private static final AtomicLong entriesPublished = new AtomicLong();
+  private static volatile long entriesWritten;
+  private static volatile boolean isWriterParked;
+  private static Thread writerThread;
+
+  private static RoutingAppender routingAppender;
+  private static LoggerConfig loggerConfig;
+  private static final AtomicLong invocations = new AtomicLong();
+  private static final Set<String> openLogFiles = ConcurrentHashMap.newKeySet();
 
-public class Log {
-  private final Logger logger;
   private int stepCounter = 1;
+  private String stepMessage; // The step in progress, ended by the next step or the end of the test
+  private Instant stepStart;
+  private long stepStartNanos;
+  private long stepStartCommands;
   private final String testCaseName;
+  private final String routeKey;
+  private final String logFile;
   private final ExtentTest extentTest;
+  private final boolean isAsync;
+  private final boolean isStepRecorded;
+  private final ConsoleBuffer consoleBuffer;
+  private boolean isFailed;
+  private long published; // Only read and written by the test thread
+  private volatile long written; // Only written by the writer thread
 
   public Log(String testCaseName, ExtentTest extentTest) {
+    this(testCaseName, extentTest, ASYNC_LOGGING);
+  }
+
+  /**
+   * @param testCaseName The name of the test, which names its log file.
+   * @param extentTest The report entry of the test.
+   * @param isAsync Whether the lines are written by the background writer, regardless of the
+   *     ASYNC_LOGGING setting.
+   */
+  public Log(String testCaseName, ExtentTest extentTest, boolean isAsync) {
+    this(testCaseName, extentTest, isAsync, true);
+  }
+
+  /**
+   * @param testCaseName The name of the test, which names its log file.
+   * @param extentTest The report entry of the test.
+   * @param isAsync Whether the lines are written by the background writer, regardless of the
+   *     ASYNC_LOGGING setting.
+   * @param isStepRecorded Whether the steps are written to the {@link StepLog} of the run. Logs of
+   *     synthetic steps, e.g. of a benchmark, leave it out so it only holds the steps of real
+   *     tests.
+   */
+  public Log(String testCaseName, ExtentTest extentTest, boolean isAsync, boolean isStepRecorded) {
     this.testCaseName = testCaseName;
+    var invocation = invocations.incrementAndGet();
+    this.routeKey = testCaseName + "#" + invocation;
+    var logFile = Paths.get(testCaseName, LOG_FILE_NAME).toString();
+    if (!openLogFiles.add(logFile)) {
+      logFile = Paths.get(testCaseName, "logfile-" + invocation + ".log").toString();
+      openLogFiles.add(logFile);
+    }
+    this.logFile = logFile;
     this.extentTest = extentTest;
-    this.logger = configureLogger(testCaseName);
+    this.isAsync = isAsync;
+    this.isStepRecorded = isStepRecorded;
+    this.consoleBuffer =
+        CONSOLE_OUTPUT == ConsoleOutput.STREAM ? null : new ConsoleBuffer(testCaseName);
+    configureLogger();
+    if (isAsync) startWriter();
+    if (CONSOLE_OUTPUT == ConsoleOutput.TICKER) ProgressTicker.testStarted();
     logTestCaseName();
   }
 
-  private synchronized Logger configureLogger(String testCaseName) {
+  // An unknown value falls back to stream rather than failing every test in the static initializer
+  private static ConsoleOutput getConsoleOutput(String value) {
+    try {
+      return ConsoleOutput.valueOf(value.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      System.err.println(
+          "CONSOLE_OUTPUT=" + value + " is not stream, buffered or ticker, using stream");
+      return ConsoleOutput.STREAM;
+    }
+  }
+
+  // Configured once for the whole run instead of once per test, so starting a test does not lock
+  // the log4j configuration
+  private static synchronized void configureLogger() {
+    if (routingAppender != null) return;
     LoggerContext context = (LoggerContext) LogManager.getContext(false);
     Configuration config = context.getConfiguration();
-    String logFilePath =
-        Paths.get("target", "test-results", testCaseName, "logfile.log").toString();
-
-    PatternLayout layout =
-        PatternLayout.newBuilder().withPattern("%d [%t] %-5level: %msg%n%throwable").build();
-
-    FileAppender fileAppender =
-        FileAppender.newBuilder()
-            .setName(testCaseName + "FileAppender")
-            .withFileName(logFilePath)
-            .setLayout(layout)
-            .setImmediateFlush(true)
+
+    var routes =
+        Routes.newBuilder()
+            .withConfiguration(config)
+            .withPattern("${ctx:" + ROUTE_KEY + "}")
+            .withRoutes(new Route[] {Route.createRoute(null, null, fileRouteNode())})
             .build();
-    fileAppender.start();
+    routingAppender =
+        RoutingAppender.newBuilder()
+            .withRoutes(routes)
+            .setName(LOGGER_NAME + "RoutingAppender")
+            .setConfiguration(config)
+            .build();
+    routingAppender.start();
+    config.addAppender(routingAppender);
+
+    loggerConfig = new LoggerConfig(LOGGER_NAME, Level.INFO, false);
+    loggerConfig.addAppender(routingAppender, null, null);
+
+    // Buffered and ticker output collect the console lines per test instead
+    if (CONSOLE_OUTPUT == ConsoleOutput.STREAM) {
+      ConsoleAppender consoleAppender =
+          ConsoleAppender.newBuilder()
+              .setName(LOGGER_NAME + "ConsoleAppender")
+              .setImmediateFlush(!ASYNC_LOGGING)
+              .setLayout(CONSOLE_LAYOUT)
+              .build();
+      consoleAppender.start();
+      config.addAppender(consoleAppender);
+      loggerConfig.addAppender(consoleAppender, null, null);
+    }
+    config.addLogger(LOGGER_NAME, loggerConfig);
 
-    ConsoleAppender consoleAppender =
+    // The run summary is printed in every console mode, as it is written
+    ConsoleAppender summaryAppender =
         ConsoleAppender.newBuilder()
-            .setName(testCaseName + "ConsoleAppender")
-            .setLayout(layout)
+            .setName(SUMMARY_LOGGER_NAME + "ConsoleAppender")
+            .setLayout(PatternLayout.newBuilder().withPattern("%msg%n").build())
             .build();
-    consoleAppender.start();
-
-    LoggerConfig loggerConfig =
-        new LoggerConfig(testCaseName, org.apache.logging.log4j.Level.INFO, false);
-    loggerConfig.addAppender(fileAppender, null, null);
-    loggerConfig.addAppender(consoleAppender, null, null);
-    config.addLogger(testCaseName, loggerConfig);
+    summaryAppender.start();
+    config.addAppender(summaryAppender);
+    var summaryLoggerConfig = new LoggerConfig(SUMMARY_LOGGER_NAME, Level.INFO, false);
+    summaryLoggerConfig.addAppender(summaryAppender, null, null);
+    config.addLogger(SUMMARY_LOGGER_NAME, summaryLoggerConfig);
     context.updateLoggers();
+  }
 
-    return LogManager.getLogger(testCaseName);
+  /**
+   * Prints part of the run summary at the end of the suite, e.g. the slowest steps. Unlike the
+   * lines of a test it is printed to the console at once in every CONSOLE_OUTPUT mode.
+   *
+   * @param message The lines to print.
+   */
+  public static void summary(String message) {
+    configureLogger();
+    var logger = LogManager.getLogger(SUMMARY_LOGGER_NAME);
+    if (CONSOLE_OUTPUT == ConsoleOutput.TICKER)
+      ProgressTicker.printAboveTicker(() -> logger.info(message));
+    else logger.info(message);
+  }
+
+  // Definition of the file appender the routing appender creates for every invocation. The
+  // ${ctx:...} lookups are resolved when the appender is created for the first event
+  private static Node fileRouteNode() {
+    var pluginManager = new PluginManager(Node.CATEGORY);
+    pluginManager.collectPlugins();
+    var routeNode = new Node(null, "Route", pluginManager.getPluginType("Route"));
+
+    var fileNode = new Node(routeNode, "File", pluginManager.getPluginType("File"));
+    fileNode.getAttributes().put("name", "${ctx:" + ROUTE_KEY + "}FileAppender");
+    fileNode
+        .getAttributes()
+        .put(
+            "fileName",
+            Paths.get("target", "test-results", "${ctx:" + LOG_FILE_KEY + "}").toString());
+    fileNode.getAttributes().put("immediateFlush", String.valueOf(!ASYNC_LOGGING));
+
+    var layoutNode =
+        new Node(fileNode, "PatternLayout", pluginManager.getPluginType("PatternLayout"));
+    layoutNode.getAttributes().put("pattern", PATTERN);
+    fileNode.getChildren().add(layoutNode);
+    routeNode.getChildren().add(fileNode);
+    return routeNode;
   }
 
   private void logTestCaseName() {
-    logger.info("Test Case: {}", testCaseName);
-    extentTest.log(Status.INFO, "Test Case: " + testCaseName);
+    write(Level.INFO, Status.INFO, "Test Case: " + testCaseName, null, null);
   }
 
+  /**
+   * Logs the next step of the test. Ends the previous step, whose duration and number of driver
+   * commands are written to the step log.
+   *
+   * @param message The description of the step.
+   */
   public void info(String message) {
-    logger.info("Step {}: {}", stepCounter++, message);
-    extentTest.log(Status.INFO, "Step " + (stepCounter - 1) + ": " + message);
+    var previousStep = endStep("passed");
+    stepMessage = message;
+    stepStart = Instant.now();
+    stepStartNanos = System.nanoTime();
+    stepStartCommands = RunMetrics.get(RunMetrics.WEBDRIVER_COMMANDS);
+    write(Level.INFO, Status.INFO, "Step " + stepCounter++ + ": " + message, null, previousStep);
   }
 
   public void info() {
-    logger.info("Test Passed!!!");
-    extentTest.log(Status.PASS, "Test Passed!!!");
+    write(Level.INFO, Status.PASS, "Test Passed!!!", null, endStep("passed"));
   }
 
+  /**
+   * Logs the failure of the test. Waits until it is written, so it is not lost if the run ends.
+   *
+   * @param message The cause of the failure.
+   */
   public void error(Throwable message) {
-    logger.error(message);
-    extentTest.log(Status.FAIL, message);
+    isFailed = true;
+    write(Level.ERROR, Status.FAIL, String.valueOf(message), message, endStep("failed"));
+    flush();
+  }
+
+  /**
+   * Waits until every line logged by the test is written to the console, the log file and the
+   * report. Returns at once for synchronous logging.
+   */
+  public void flush() {
+    if (!isAsync) return;
+    var deadline = System.nanoTime() + FLUSH_TIMEOUT_NANOS;
+    while (written < published) {
+      if (System.nanoTime() - deadline > 0)
+        throw new RuntimeException(
+            (published - written) + " log lines of " + testCaseName + " were not written");
+      LockSupport.unpark(writerThread);
+      LockSupport.parkNanos(100_000);
+    }
+  }
+
+  // The step in progress as an event, or null if there is none or steps are not recorded
+  private StepEvent endStep(String outcome) {
+    var message = stepMessage;
+    stepMessage = null;
+    if (message == null || !isStepRecorded) return null;
+    return new StepEvent(
+        testCaseName,
+        stepCounter - 1,
+        message,
+        Thread.currentThread().getName(),
+        stepStart,
+        (System.nanoTime() - stepStartNanos) / 1_000_000,
+        RunMetrics.get(RunMetrics.WEBDRIVER_COMMANDS) - stepStartCommands,
+        outcome);
+  }
+
+  private void write(
+      Level level, Status status, String message, Throwable throwable, StepEvent stepEvent) {
+    var entry =
+        new LogEntry(
+            this,
+            level,
+            status,
+            message,
+            throwable,
+            System.currentTimeMillis(),
+            Thread.currentThread().getName(),
+            stepEvent);
+    if (!isAsync) {
+      writeEntry(entry, true);
+      return;
+    }
+    published++;
+    entriesPublished.incrementAndGet();
+    // Back pressure instead of dropping lines when the writer falls behind
+    while (!ringBuffer.offer(entry)) {
+      LockSupport.unpark(writerThread);
+      Thread.yield();
+    }
+    if (isWriterParked) LockSupport.unpark(writerThread);
+  }
+
+  private static synchronized void startWriter() {
+    if (writerThread != null) return;
+    writerThread = new Thread(Log::writeEntries, "log-writer");
+    writerThread.setDaemon(true);
+    writerThread.start();
+
+    // Lines still in the buffer when the JVM exits, e.g. after a crash of the suite
+    Runtime.getRuntime()
+        .addShutdownHook(
+            new Thread(
+                () -> {
+                  var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                  while (entriesWritten < entriesPublished.get() && System.nanoTime() < deadline)
+                    LockSupport.parkNanos(1_000_000);
+                }));
+  }
+
+  private static void writeEntries() {
+    var batch = new ArrayList<LogEntry>(BATCH_SIZE);
+    var lastEntries = new IdentityHashMap<Log, Integer>();
+    while (true) {
+      if (ringBuffer.drainTo(batch, BATCH_SIZE) == 0) {
+        isWriterParked = true;
+        if (ringBuffer.isEmpty()) LockSupport.parkNanos(WRITER_IDLE_NANOS);
+        isWriterParked = false;
+        continue;
+      }
+      // The file of a test is flushed once, after its last line in the batch
+      lastEntries.clear();
+      for (int i = 0; i < batch.size(); i++) lastEntries.put(batch.get(i).log(), i);
+      for (int i = 0; i < batch.size(); i++) {
+        var entry = batch.get(i);
+        var isEndOfBatch = lastEntries.get(entry.log()) == i;
+        try {
+          writeEntry(entry, isEndOfBatch);
+        } catch (RuntimeException e) {
+          e.printStackTrace();
+        }
+        entry.log().written++;
+        entriesWritten++;
+      }
+      batch.clear();
+    }
+  }
+
+  // Same event as the logger would create on the test thread, so the time and thread are those of
+  // the step. The route is passed with the event, several tests may log on the same thread
+  private static void writeEntry(LogEntry entry, boolean isEndOfBatch) {
+    var contextData = ContextDataFactory.createContextData();
+    contextData.putValue(ROUTE_KEY, entry.log().routeKey);
+    contextData.putValue(LOG_FILE_KEY, entry.log().logFile);
+    var event =
+        Log4jLogEvent.newBuilder()
+            .setLoggerName(LOGGER_NAME)
+            .setLoggerFqcn(Log.class.getName())
+            .setLevel(entry.level())
+            .setMessage(new SimpleMessage(entry.message()))
+            .setThrown(entry.throwable())
+            .setTimeMillis(entry.timeMillis())
+            .setThreadName(entry.threadName())
+            .setContextData(contextData)
+            .setEndOfBatch(isEndOfBatch)
+            .build();
+    loggerConfig.log(event);
+    var consoleBuffer = entry.log().consoleBuffer;
+    if (consoleBuffer != null) consoleBuffer.append(CONSOLE_LAYOUT.toSerializable(event));
+    var extentTest = entry.log().extentTest;
+    if (entry.throwable() != null) extentTest.log(entry.status(), entry.throwable());
+    else extentTest.log(entry.status(), entry.message());
+    if (entry.stepEvent() != null) writeStepEvent(entry.stepEvent(), isEndOfBatch);
+  }
+
+  private static void writeStepEvent(StepEvent stepEvent, boolean flush) {
+    StepLog.record(stepEvent);
+    StepLog.append(stepEvent.toJson(), flush);
+  }
+
+  /**
+   * How the log lines of the tests are printed to the console, set with CONSOLE_OUTPUT.
+   *
+   * <ul>
+   *   <li>STREAM: every line as soon as it is logged, lines of parallel tests interleave.
+   *   <li>BUFFERED: all lines of a test as one block when the test ends.
+   *   <li>TICKER: a progress line only, and the block of every failed test.
+   * </ul>
+   */
+  private enum ConsoleOutput {
+    STREAM,
+    BUFFERED,
+    TICKER
+  }
+
+  private record LogEntry(
+      Log log,
+      Level level,
+      Status status,
+      String message,
+      Throwable throwable,
+      long timeMillis,
+      String threadName,
+      StepEvent stepEvent) {}
+
+  /**
+   * Waits until all lines are written, then stops the file appender of the test, which closes its
+   * log file. Called at the end of the test, after its last log line. A step still in progress is
+   * written to the step log as incomplete. With buffered console output the lines of the test are
+   * printed now as one block, with the ticker only if the test failed. The console buffer is
+   * emptied in every mode.
+   */
+  @Override
+  public void close() {
+    try {
+      flush();
+      var lastStep = endStep("incomplete");
+      if (lastStep != null) writeStepEvent(lastStep, true);
+      if (CONSOLE_OUTPUT == ConsoleOutput.BUFFERED) consoleBuffer.printTo(System.out);
+      if (CONSOLE_OUTPUT == ConsoleOutput.TICKER) {
+        ProgressTicker.testFinished(isFailed);
+        if (isFailed) ProgressTicker.printAboveTicker(() -> consoleBuffer.printTo(System.out));
+      }
+    } finally {
+      if (consoleBuffer != null) consoleBuffer.close();
+      routingAppender.deleteAppender(routeKey);
+      openLogFiles.remove(logFile);
+    }
   }
 }
@@ -0,0 +1,80 @@
+package com.selenium.testng.elite.utils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue for many producers and one consumer. Every slot has a sequence number:
+ * a producer claims the next slot with a compare-and-set on the tail and publishes its element by
+ * advancing the slot's sequence, the consumer frees the slot by advancing it a full lap. Producers
+ * never wait for each other or for the consumer, unless the buffer is full.
+ *
+ * @param <E> The type of the elements.
+ */
+final class LogRingBuffer<E> {
+  private final int mask;
+  private final AtomicReferenceArray<E> elements;
+  private final AtomicLongArray sequences;
+  private final AtomicLong tail = new AtomicLong();
+  private long head; // Only read and written by the consumer
+
+  /**
+   * @param capacity The number of elements, rounded up to a power of two.
+   */
+  LogRingBuffer(int capacity) {
+    var size = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1);
+    mask = size - 1;
+    elements = new AtomicReferenceArray<>(size);
+    sequences = new AtomicLongArray(size);
+    for (int i = 0; i < size; i++) sequences.set(i, i);
+  }
+
+  /**
+   * Adds an element. Safe to call from any thread.
+   *
+   * @param element The element to add.
+   * @return false if the buffer is full.
+   */
+  boolean offer(E element) {
+    while (true) {
+      var position = tail.get();
+      var index = (int) position & mask;
+      var difference = sequences.get(index) - position;
+      if (difference < 0) return false;
+      if (difference == 0 && tail.compareAndSet(position, position + 1)) {
+        elements.lazySet(index, element);
+        // A full fence, so a consumer about to park either sees the element or is woken up
+        sequences.set(index, position + 1);
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Moves the published elements to the list, in the order they were added. Only called by the
+   * consumer.
+   *
+   * @param batch The list to add the elements to.
+   * @param maxElements The maximum number of elements to move.
+   * @return The number of elements moved.
+   */
+  int drainTo(List<E> batch, int maxElements) {
+    var drained = 0;
+    while (drained < maxElements) {
+      var index = (int) head & mask;
+      if (sequences.get(index) != head + 1) break;
+      batch.add(elements.get(index));
+      elements.lazySet(index, null);
+      sequences.lazySet(index, head + mask + 1);
+      head++;
+      drained++;
+    }
+    return drained;
+  }
+
+  boolean isEmpty() {
+    return sequences.get((int) head & mask) != head + 1;
+  }
+}
@@ -6,7 +6,15 @@ import java.nio.charset.StandardCharsets;
 public class PathHelper {
 
   public static String screenShotFilePath(String testName) {
-    return System.getProperty("user.dir") + "/target/test-results/" + testName + "/screenshot.png";
+    return System.getProperty("user.dir")
+        + "/target/test-results/"
+        + testName
+        + "/screenshot."
+        + ReportScreenshot.getExtension();
+  }
+
+  public static String stepScreenShotsFolderPath(String testName) {
+    return System.getProperty("user.dir") + "/target/test-results/" + testName + "/steps/";
   }
 
   public static String getEncodedPathForScreenShot(String path) {
@@ -37,4 +45,28 @@ public class PathHelper {
   public static String getDownloadFolderPath() {
     return System.getProperty("user.dir") + "/downloadFiles/";
   }
+
+  public static String getLearnedTimeoutsFilePath() {
+    return System.getProperty("user.dir") + "/waitHistory/learned-timeouts.tsv";
+  }
+
+  public static String getRunMetricsFilePath() {
+    return System.getProperty("user.dir") + "/target/test-results/run-metrics.tsv";
+  }
+
+  public static String getTraceFilePath() {
+    return System.getProperty("user.dir") + "/target/test-results/trace.json";
+  }
+
+  public static String getStepLogFilePath() {
+    return System.getProperty("user.dir") + "/target/test-results/steps.ndjson";
+  }
+
+  public static String getStepLatencyFilePath() {
+    return System.getProperty("user.dir") + "/target/test-results/step-latency.tsv";
+  }
+
+  public static String getReportJournalFilePath() {
+    return System.getProperty("user.dir") + "/target/test-results/report-journal.ndjson";
+  }
 }
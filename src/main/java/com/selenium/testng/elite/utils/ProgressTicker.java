@@ -0,0 +1,83 @@
+package com.selenium.testng.elite.utils;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Prints one line with the progress of the run instead of the log lines of every test. In a
+ * terminal the line is rewritten every second; in CI, where the output is a file, a new line is
+ * printed every 10 seconds if the progress changed.
+ */
+final class ProgressTicker {
+  private static final boolean IS_INTERACTIVE = System.console() != null;
+  private static final Duration INTERVAL = Duration.ofSeconds(IS_INTERACTIVE ? 1 : 10);
+  private static final long START_NANOS = System.nanoTime();
+
+  // A count, not the names, so parallel tests of the same name are each counted until they end
+  private static final AtomicInteger runningTests = new AtomicInteger();
+  private static final AtomicInteger passedTests = new AtomicInteger();
+  private static final AtomicInteger failedTests = new AtomicInteger();
+  private static Thread tickerThread;
+  private static String lastProgress = "";
+  private static int lastLineLength;
+
+  static void testStarted() {
+    start();
+    runningTests.incrementAndGet();
+  }
+
+  static void testFinished(boolean isFailed) {
+    runningTests.decrementAndGet();
+    (isFailed ? failedTests : passedTests).incrementAndGet();
+  }
+
+  /**
+   * Prints output on lines of its own, the ticker line is printed again with the next tick.
+   *
+   * @param print Prints the output to System.out.
+   */
+  static void printAboveTicker(Runnable print) {
+    synchronized (System.out) {
+      if (IS_INTERACTIVE && lastLineLength > 0) System.out.println();
+      lastLineLength = 0;
+      print.run();
+    }
+  }
+
+  private static synchronized void start() {
+    if (tickerThread != null) return;
+    tickerThread =
+        new Thread(
+            () -> {
+              while (true) {
+                try {
+                  Thread.sleep(INTERVAL);
+                } catch (InterruptedException e) {
+                  return;
+                }
+                tick();
+              }
+            },
+            "progress-ticker");
+    tickerThread.setDaemon(true);
+    tickerThread.start();
+  }
+
+  private static void tick() {
+    var progress =
+        String.format(
+            "Tests: %d passed, %d failed, %d running",
+            passedTests.get(), failedTests.get(), runningTests.get());
+    var elapsed = Duration.ofNanos(System.nanoTime() - START_NANOS).toSeconds();
+    var line = String.format("%s (%d:%02d)", progress, elapsed / 60, elapsed % 60);
+    synchronized (System.out) {
+      if (IS_INTERACTIVE) {
+        // Spaces overwrite the rest of a longer previous line
+        System.out.print("\r" + line + " ".repeat(Math.max(0, lastLineLength - line.length())));
+        lastLineLength = line.length();
+      } else if (!progress.equals(lastProgress)) System.out.println(line);
+      System.out.flush();
+      lastProgress = progress;
+    }
+  }
+}
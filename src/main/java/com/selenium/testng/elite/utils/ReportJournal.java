@@ -0,0 +1,194 @@
+package com.selenium.testng.elite.utils;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.MediaEntityBuilder;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.model.Media;
+import com.aventstack.extentreports.model.ScreenCapture;
+import com.aventstack.extentreports.model.Test;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+
+/**
+ * Append-only journal of finished tests, one JSON line per test with its logs, exceptions and
+ * screenshots. Appending a test costs the same for the first and the thousandth test, unlike
+ * flushing the HTML report, and every line is forced to disk, so the results of a run which
+ * crashed can still be rendered:
+ *
+ * <pre>
+ * mvn exec:java -Dexec.mainClass=com.selenium.testng.elite.utils.ReportJournal
+ * </pre>
+ */
+public class ReportJournal {
+
+  private static final Json JSON = new Json();
+
+  /**
+   * Renders the journal of the last run to the HTML report, e.g. after the JVM died mid-run.
+   *
+   * @param args Optionally the journal and the report path, the paths of the run by default.
+   */
+  public static void main(String[] args) {
+    var journal = Path.of(args.length > 0 ? args[0] : PathHelper.getReportJournalFilePath());
+    var report = Path.of(args.length > 1 ? args[1] : PathHelper.getPathForReport());
+    var tests = render(journal, report);
+    System.out.println("Rendered " + tests + " tests from " + journal + " to " + report);
+  }
+
+  /**
+   * Appends a finished test to the journal and forces it to disk.
+   *
+   * @param journal The journal file, created if missing.
+   * @param extentTest The finished test.
+   */
+  public static void append(Path journal, ExtentTest extentTest) {
+    var line = toJson(extentTest.getModel()) + System.lineSeparator();
+    try {
+      Files.createDirectories(journal.getParent());
+      synchronized (ReportJournal.class) {
+        try (var channel =
+            FileChannel.open(
+                journal,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+          var buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+          while (buffer.hasRemaining()) channel.write(buffer);
+          channel.force(false);
+        }
+      }
+    } catch (IOException e) {
+      throw new RuntimeException("Test " + extentTest.getModel().getName() + " not journaled", e);
+    }
+  }
+
+  /**
+   * Renders all tests of the journal to an HTML report. A last line cut off by a crash is skipped.
+   *
+   * @param journal The journal file.
+   * @param report The HTML report to write.
+   * @return The number of tests rendered.
+   */
+  @SuppressWarnings("unchecked")
+  public static int render(Path journal, Path report) {
+    List<String> lines;
+    try {
+      lines = Files.exists(journal) ? Files.readAllLines(journal) : List.of();
+    } catch (IOException e) {
+      throw new RuntimeException("Report journal " + journal + " could not be read", e);
+    }
+
+    var extentReports = new ExtentReports();
+    extentReports.attachReporter(ExtentManager.createSparkReporter(report.toString()));
+    var tests = 0;
+    for (var line : lines) {
+      Map<String, Object> test;
+      try {
+        test = JSON.toType(line, Json.MAP_TYPE);
+      } catch (JsonException e) {
+        continue;
+      }
+      var extentTest =
+          extentReports.createTest((String) test.get("name"), (String) test.get("description"));
+      for (var log : (List<Map<String, Object>>) test.get("logs")) addLog(extentTest, log);
+      extentTest.getModel().setStartTime(new Date((Long) test.get("startTime")));
+      extentTest.getModel().setEndTime(new Date((Long) test.get("endTime")));
+      tests++;
+    }
+    extentReports.flush();
+    return tests;
+  }
+
+  private static String toJson(Test test) {
+    var logs = new ArrayList<Map<String, Object>>();
+    for (var log : test.getLogs()) {
+      var entry = new LinkedHashMap<String, Object>();
+      entry.put("status", log.getStatus().name());
+      entry.put("timestamp", log.getTimestamp().getTime());
+      entry.put("details", log.getDetails());
+      if (log.hasException()) {
+        entry.put("exceptionName", log.getException().getName());
+        entry.put("stackTrace", log.getException().getStackTrace());
+      }
+      if (log.getMedia() instanceof ScreenCapture screenCapture) {
+        entry.put("screenshotBase64", screenCapture.getBase64());
+        entry.put("screenshotPath", screenCapture.getPath());
+      }
+      logs.add(entry);
+    }
+
+    var entry = new LinkedHashMap<String, Object>();
+    entry.put("name", test.getName());
+    entry.put("description", test.getDescription());
+    entry.put("status", test.getStatus().name());
+    entry.put("startTime", test.getStartTime().getTime());
+    entry.put("endTime", test.getEndTime().getTime());
+    entry.put("logs", logs);
+    var json = new StringBuilder();
+    try (var output = JSON.newOutput(json)) {
+      output.setPrettyPrint(false).write(entry);
+    }
+    return json.toString();
+  }
+
+  private static void addLog(ExtentTest extentTest, Map<String, Object> log) {
+    var base64 = (String) log.get("screenshotBase64");
+    var path = (String) log.get("screenshotPath");
+    Media media = null;
+    if (base64 != null)
+      media = MediaEntityBuilder.createScreenCaptureFromBase64String(base64).build();
+    else if (path != null) media = MediaEntityBuilder.createScreenCaptureFromPath(path).build();
+
+    var exception =
+        log.get("stackTrace") == null
+            ? null
+            : new JournaledException((String) log.get("stackTrace"));
+    extentTest.log(
+        Status.valueOf((String) log.get("status")), (String) log.get("details"), exception, media);
+
+    var model = extentTest.getModel().getLogs().getLast();
+    model.setTimestamp(new Date((Long) log.get("timestamp")));
+    if (exception != null) model.getException().setName((String) log.get("exceptionName"));
+  }
+
+  // Stands in for the exception of a journaled test, it prints the stack trace as recorded
+  private static class JournaledException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+    private final String stackTrace;
+
+    private JournaledException(String stackTrace) {
+      super(null, null, false, false);
+      this.stackTrace = stackTrace;
+    }
+
+    @Override
+    public void printStackTrace(PrintWriter writer) {
+      writer.print(stackTrace);
+    }
+
+    @Override
+    public void printStackTrace(PrintStream stream) {
+      stream.print(stackTrace);
+    }
+
+    @Override
+    public String toString() {
+      return stackTrace.lines().findFirst().orElse("");
+    }
+  }
+}
@@ -0,0 +1,153 @@
+package com.selenium.testng.elite.utils;
+
+import com.aventstack.extentreports.ExtentTest;
+import io.github.cdimascio.dotenv.Dotenv;
+import java.awt.Color;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+
+/**
+ * Attaches screenshots to the report as a small inline thumbnail linked to the full image, which is
+ * written next to the test results instead of being embedded in the report. With
+ * SCREENSHOT_FORMAT=jpeg, the default, the full image is compressed with SCREENSHOT_QUALITY, with
+ * SCREENSHOT_FORMAT=png it is kept as the driver took it. The thumbnail is THUMBNAIL_WIDTH pixels
+ * wide, 320 by default.
+ */
+public class ReportScreenshot {
+
+  public static final String REPORT_BYTES = "report screenshot bytes";
+  public static final String FILE_BYTES = "screenshot file bytes";
+
+  private static final Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
+  private static final boolean IS_JPEG =
+      !"png".equalsIgnoreCase(dotenv.get("SCREENSHOT_FORMAT", "jpeg"));
+  private static final float QUALITY =
+      Integer.parseInt(dotenv.get("SCREENSHOT_QUALITY", "80")) / 100f;
+  private static final int THUMBNAIL_WIDTH = Integer.parseInt(dotenv.get("THUMBNAIL_WIDTH", "320"));
+  private static final float THUMBNAIL_QUALITY = 0.7f;
+
+  /**
+   * @return The file extension of the screenshots, jpg or png.
+   */
+  public static String getExtension() {
+    return IS_JPEG ? "jpg" : "png";
+  }
+
+  /**
+   * Writes the screenshot of a failed test in the configured format and logs its thumbnail as the
+   * failure in the report.
+   *
+   * @param extentTest The test to log the failure to.
+   * @param png The screenshot as taken by the driver.
+   * @param file The file to write the full image to, with the extension of {@link #getExtension()}.
+   */
+  public static void attach(ExtentTest extentTest, byte[] png, Path file) {
+    attach(extentTest, png, file, IS_JPEG);
+  }
+
+  /**
+   * Writes the screenshot of a failed test and logs its thumbnail as the failure in the report.
+   *
+   * @param extentTest The test to log the failure to.
+   * @param png The screenshot as taken by the driver.
+   * @param file The file to write the full image to, with the extension jpg or png.
+   * @param isJpeg Whether the full image is compressed with SCREENSHOT_QUALITY or kept as PNG,
+   *     regardless of SCREENSHOT_FORMAT.
+   */
+  public static void attach(ExtentTest extentTest, byte[] png, Path file, boolean isJpeg) {
+    var image = read(png);
+    var fullImage = isJpeg ? toJpeg(image, QUALITY) : png;
+    var thumbnail = toJpeg(scale(image, THUMBNAIL_WIDTH), THUMBNAIL_QUALITY);
+    try {
+      Files.createDirectories(file.getParent());
+      Files.write(file, fullImage);
+    } catch (IOException e) {
+      throw new RuntimeException("Screenshot " + file + " could not be written", e);
+    }
+
+    // The link is relative, so the report and the screenshots can be moved together
+    var link =
+        PathHelper.getEncodedPathForScreenShot(
+            Path.of(PathHelper.getPathForReport())
+                .getParent()
+                .relativize(file.toAbsolutePath())
+                .toString()
+                .replace('\\', '/'));
+    var details =
+        "<a href=\""
+            + link
+            + "\" target=\"_blank\"><img src=\"data:image/jpeg;base64,"
+            + Base64.getEncoder().encodeToString(thumbnail)
+            + "\" alt=\"Screenshot\" title=\"Open the full screenshot\"></a>";
+    extentTest.fail(details);
+    RunMetrics.add(REPORT_BYTES, details.length());
+    RunMetrics.add(FILE_BYTES, fullImage.length);
+  }
+
+  /**
+   * Compresses a screenshot for writing it to a file, see {@link #getExtension()}.
+   *
+   * @param png The screenshot as taken by the driver.
+   * @return The image in the configured format.
+   */
+  public static byte[] encode(byte[] png) {
+    return IS_JPEG ? toJpeg(read(png), QUALITY) : png;
+  }
+
+  private static BufferedImage read(byte[] png) {
+    try {
+      var image = ImageIO.read(new ByteArrayInputStream(png));
+      if (image == null) throw new IOException("Unknown image format");
+      return image;
+    } catch (IOException e) {
+      throw new RuntimeException("Screenshot could not be read", e);
+    }
+  }
+
+  private static BufferedImage scale(BufferedImage image, int width) {
+    if (image.getWidth() <= width) return image;
+    var height = Math.max(1, image.getHeight() * width / image.getWidth());
+    var scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    var graphics = scaled.createGraphics();
+    graphics.setRenderingHint(
+        RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+    graphics.drawImage(image, 0, 0, width, height, null);
+    graphics.dispose();
+    return scaled;
+  }
+
+  private static byte[] toJpeg(BufferedImage image, float quality) {
+    // JPEG has no alpha channel, screenshots usually do
+    var rgb = image;
+    if (image.getType() != BufferedImage.TYPE_INT_RGB) {
+      rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+      var graphics = rgb.createGraphics();
+      graphics.drawImage(image, 0, 0, Color.WHITE, null);
+      graphics.dispose();
+    }
+
+    var writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+    var param = writer.getDefaultWriteParam();
+    param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+    param.setCompressionQuality(quality);
+    var bytes = new ByteArrayOutputStream();
+    try (var output = ImageIO.createImageOutputStream(bytes)) {
+      writer.setOutput(output);
+      writer.write(null, new IIOImage(rgb, null, null), param);
+    } catch (IOException e) {
+      throw new RuntimeException("Screenshot could not be compressed", e);
+    } finally {
+      writer.dispose();
+    }
+    return bytes.toByteArray();
+  }
+}
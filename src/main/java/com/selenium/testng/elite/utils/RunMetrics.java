@@ -0,0 +1,137 @@
+package com.selenium.testng.elite.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+public class RunMetrics {
+
+  public static final String WEBDRIVER_COMMANDS = "webdriver commands";
+  private static final String SEPARATOR = "\t";
+
+  // Counters of the test running on the current thread, moved to finishedTests when it ends.
+  // Finished tests are keyed on the invocation, so tests of the same name, in other classes or
+  // invoked repeatedly, keep their own metrics
+  private static final ThreadLocal<Invocation> currentInvocation = new ThreadLocal<>();
+  private static final ThreadLocal<Map<String, Long>> currentTest = new ThreadLocal<>();
+  private static final Map<Invocation, Map<String, Long>> finishedTests = new ConcurrentHashMap<>();
+  private static final AtomicLong invocations = new AtomicLong();
+
+  private record Invocation(String testName, long number) {
+    @Override
+    public String toString() {
+      return testName + "#" + number;
+    }
+  }
+
+  /**
+   * Starts collecting metrics for the test running on the current thread.
+   *
+   * @param testName The name of the test the metrics belong to.
+   */
+  public static void start(String testName) {
+    currentTest.set(new LinkedHashMap<>());
+    currentInvocation.set(new Invocation(testName, invocations.incrementAndGet()));
+  }
+
+  /**
+   * Adds one to a metric of the current test. Does nothing when no test is running on the thread.
+   *
+   * @param metric The name of the metric.
+   */
+  public static void increment(String metric) {
+    add(metric, 1);
+  }
+
+  /**
+   * Adds the given amount to a metric of the current test. Does nothing when no test is running on
+   * the thread.
+   *
+   * @param metric The name of the metric.
+   * @param amount The amount to add.
+   */
+  public static void add(String metric, long amount) {
+    var counters = currentTest.get();
+    if (counters != null) counters.merge(metric, amount, Long::sum);
+  }
+
+  /**
+   * Returns the current value of a metric of the current test.
+   *
+   * @param metric The name of the metric.
+   * @return The value of the metric, 0 if it was never recorded.
+   */
+  public static long get(String metric) {
+    var counters = currentTest.get();
+    return counters == null ? 0 : counters.getOrDefault(metric, 0L);
+  }
+
+  /**
+   * Returns the name of the test running on the current thread.
+   *
+   * @return The name of the test, or null if no test is running on the thread.
+   */
+  public static String getTestName() {
+    var invocation = currentInvocation.get();
+    return invocation == null ? null : invocation.testName();
+  }
+
+  /**
+   * Stops collecting metrics for the current test and keeps them for {@link #save()}.
+   *
+   * @return A one line summary of the metrics of the test, e.g. for the report.
+   */
+  public static String finish() {
+    var counters = currentTest.get();
+    var invocation = currentInvocation.get();
+    currentTest.remove();
+    currentInvocation.remove();
+    if (counters == null || invocation == null) return "";
+    finishedTests.put(invocation, counters);
+    return counters.entrySet().stream()
+        .map(e -> e.getKey() + ": " + e.getValue())
+        .collect(Collectors.joining(", "));
+  }
+
+  /**
+   * Writes the metrics of all finished tests as a table, one line per test invocation and metric.
+   * Invocations are written as {@code testName#n}, n counting the tests started in this run.
+   */
+  public static synchronized void save() {
+    if (finishedTests.isEmpty()) return;
+    var lines = new ArrayList<String>();
+    lines.add(String.join(SEPARATOR, "# test", "metric", "value"));
+    finishedTests.entrySet().stream()
+        .sorted(
+            Map.Entry.comparingByKey(
+                Comparator.comparing(Invocation::testName)
+                    .thenComparingLong(Invocation::number)))
+        .forEach(
+            e ->
+                e.getValue()
+                    .forEach(
+                        (metric, value) ->
+                            lines.add(
+                                String.join(
+                                    SEPARATOR,
+                                    e.getKey().toString(),
+                                    metric,
+                                    String.valueOf(value)))));
+
+    try {
+      var file = Path.of(PathHelper.getRunMetricsFilePath());
+      Files.createDirectories(file.getParent());
+      Files.write(file, lines, StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      e.printStackTrace();
+    }
+  }
+}
@@ -0,0 +1,231 @@
+package com.selenium.testng.elite.utils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.openqa.selenium.json.Json;
+
+/**
+ * Writes every test step as one JSON object per line to {@code target/test-results/steps.ndjson},
+ * so step durations can be compared across runs with any tool that reads NDJSON. A step lasts from
+ * one {@link Log#info(String)} call to the next, or to the end of the test. At the end of the suite
+ * {@link #save()} writes the latency of every step to {@code target/test-results/step-latency.tsv},
+ * slowest first, and prints the slowest steps with the run summary.
+ */
+public class StepLog {
+
+  private static final Json JSON = new Json();
+  private static final String SEPARATOR = "\t";
+  private static final int SUMMARY_STEPS = 10;
+
+  // Step number, duration in milliseconds and driver commands of each step, per test and step
+  // message. A message logged several times by a test, e.g. in a loop, is one row in the table
+  private static final Map<StepKey, Queue<long[]>> samples = new ConcurrentHashMap<>();
+  private static BufferedWriter writer;
+  private static boolean isStarted; // Whether the file of this run was created
+
+  /**
+   * A finished step.
+   *
+   * @param test The name of the test.
+   * @param step The number of the step in the test.
+   * @param message The message logged for the step.
+   * @param thread The thread the test ran on.
+   * @param start The time the step started.
+   * @param durationMillis The time until the next step or the end of the test.
+   * @param driverCommands The WebDriver commands sent during the step.
+   * @param outcome passed, or failed if the test failed during the step.
+   */
+  public record StepEvent(
+      String test,
+      int step,
+      String message,
+      String thread,
+      Instant start,
+      long durationMillis,
+      long driverCommands,
+      String outcome) {
+
+    /**
+     * @return The event as one line of JSON.
+     */
+    public String toJson() {
+      var event = new LinkedHashMap<String, Object>();
+      event.put("test", test);
+      event.put("step", step);
+      event.put("message", message);
+      event.put("thread", thread);
+      event.put("start", start.toString());
+      event.put("durationMillis", durationMillis);
+      event.put("driverCommands", driverCommands);
+      event.put("outcome", outcome);
+      var json = new StringBuilder();
+      try (var output = JSON.newOutput(json)) {
+        output.setPrettyPrint(false).write(event);
+      }
+      return json.toString();
+    }
+  }
+
+  /**
+   * Records the step for the latency table.
+   *
+   * @param event The finished step.
+   */
+  static void record(StepEvent event) {
+    samples
+        .computeIfAbsent(
+            new StepKey(event.test(), event.message()), _ -> new ConcurrentLinkedQueue<>())
+        .add(new long[] {event.step(), event.durationMillis(), event.driverCommands()});
+  }
+
+  /**
+   * Appends a line to the NDJSON file. The file is replaced by the first line of the run and
+   * reopened for appending after {@link #save()}.
+   *
+   * @param line The step as one line of JSON.
+   * @param flush Whether to write it to the file now, or with the next flush.
+   */
+  static synchronized void append(String line, boolean flush) {
+    try {
+      if (writer == null) {
+        var file = Path.of(PathHelper.getStepLogFilePath());
+        Files.createDirectories(file.getParent());
+        var options =
+            isStarted
+                ? new OpenOption[] {StandardOpenOption.CREATE, StandardOpenOption.APPEND}
+                : new OpenOption[0];
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, options);
+        isStarted = true;
+      }
+      writer.write(line);
+      writer.newLine();
+      if (flush) writer.flush();
+    } catch (IOException e) {
+      e.printStackTrace();
+    }
+  }
+
+  /** Writes the steps appended since the last flush to the NDJSON file. */
+  static synchronized void flush() {
+    if (writer == null) return;
+    try {
+      writer.flush();
+    } catch (IOException e) {
+      e.printStackTrace();
+    }
+  }
+
+  /**
+   * Closes the NDJSON file and writes the latency table of all steps of the run, one line per test
+   * and step message, slowest first by the 95th percentile. The slowest steps are printed with the
+   * run summary.
+   */
+  public static synchronized void save() {
+    close();
+    if (samples.isEmpty()) return;
+    var rows = new ArrayList<String[]>();
+    samples.forEach(
+        (key, stepSamples) -> {
+          var step = stepSamples.stream().mapToLong(sample -> sample[0]).min().orElse(0);
+          var durations = stepSamples.stream().mapToLong(sample -> sample[1]).sorted().toArray();
+          var commands = stepSamples.stream().mapToLong(sample -> sample[2]).sum();
+          rows.add(
+              new String[] {
+                key.test(),
+                String.valueOf(step),
+                String.valueOf(durations.length),
+                String.valueOf(percentile(durations, 50)),
+                String.valueOf(percentile(durations, 95)),
+                String.valueOf(durations[durations.length - 1]),
+                String.valueOf(commands / durations.length),
+                key.message().replaceAll("\\s+", " ")
+              });
+        });
+    rows.sort(
+        Comparator.comparingLong((String[] row) -> Long.parseLong(row[4]))
+            .reversed()
+            .thenComparing(row -> row[0])
+            .thenComparingInt(row -> Integer.parseInt(row[1])));
+
+    var lines = new ArrayList<String>();
+    lines.add(
+        String.join(
+            SEPARATOR,
+            "# test",
+            "step",
+            "count",
+            "p50 ms",
+            "p95 ms",
+            "max ms",
+            "commands",
+            "message"));
+    rows.forEach(row -> lines.add(String.join(SEPARATOR, row)));
+    try {
+      var file = Path.of(PathHelper.getStepLatencyFilePath());
+      Files.createDirectories(file.getParent());
+      Files.write(file, lines, StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      e.printStackTrace();
+    }
+    Log.summary(getSummary(rows));
+  }
+
+  private static synchronized void close() {
+    if (writer == null) return;
+    try {
+      writer.close();
+    } catch (IOException e) {
+      e.printStackTrace();
+    }
+    writer = null;
+  }
+
+  // The slowest rows of the table aligned for the console
+  private static String getSummary(List<String[]> rows) {
+    var summary = new StringBuilder();
+    summary.append(
+        String.format(
+            "Slowest steps of %d (all in %s):%n%8s %8s %8s %6s  %s",
+            rows.size(),
+            Path.of(PathHelper.getStepLatencyFilePath()).getFileName(),
+            "p50 ms",
+            "p95 ms",
+            "max ms",
+            "count",
+            "test step: message"));
+    for (var row : rows.subList(0, Math.min(SUMMARY_STEPS, rows.size())))
+      summary.append(
+          String.format(
+              "%n%8s %8s %8s %6s  %s step %s: %s",
+              row[3],
+              row[4],
+              row[5],
+              row[2],
+              row[0],
+              row[1],
+              row[7]));
+    return summary.toString();
+  }
+
+  // Nearest rank on sorted values
+  private static long percentile(long[] sortedValues, int percentile) {
+    var rank = (int) Math.ceil(percentile / 100.0 * sortedValues.length);
+    return sortedValues[Math.max(rank - 1, 0)];
+  }
+
+  private record StepKey(String test, String message) {}
+}
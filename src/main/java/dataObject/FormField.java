@@ -0,0 +1,18 @@
+package dataObject;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a data object field as the value of a form input, so that the whole object can be passed to
+ * {@code SeleniumHelper.fillForm}. Fields without it, or with a null value, are not filled.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface FormField {
+
+  /** The name attribute of the input the field is entered into. */
+  String name();
+}
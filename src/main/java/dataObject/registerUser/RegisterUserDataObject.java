@@ -1,15 +1,28 @@
 package dataObject.registerUser;
 
+import dataObject.FormField;
 import lombok.Data;
 
 @Data
 public class RegisterUserDataObject {
+  @FormField(name = "firstname")
   private String firstName;
+
+  @FormField(name = "lastname")
   private String lastName;
+
+  @FormField(name = "email")
   private String email;
+
+  @FormField(name = "telephone")
   private String telephone;
+
+  @FormField(name = "password")
   private String password;
+
+  @FormField(name = "confirm")
   private String confirmPassword;
+
   private boolean subscribe;
   private boolean privacyPolicy;
 }
@@ -0,0 +1,204 @@
+package elementHelper;
+
+import com.selenium.testng.elite.utils.PathHelper;
+import io.github.cdimascio.dotenv.Dotenv;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Learns the timeout of waits from how long they took in previous runs. A wait is identified by
+ * its page object and the page object method it was started from, e.g. "HomePage.clickOnProduct",
+ * so a locator built from a parameter shares its samples across all parameters.
+ */
+public class AdaptiveTimeoutHelper {
+
+  private static final boolean IS_ENABLED =
+      Boolean.parseBoolean(Dotenv.configure().ignoreIfMissing().load().get("ADAPTIVE_TIMEOUT"));
+  private static final int MINIMUM_SAMPLES = 5;
+  private static final int MAXIMUM_SAMPLES = 50;
+  private static final double PERCENTILE = 0.95;
+  private static final double SAFETY_FACTOR = 2.0;
+  // A learned timeout is never shorter than this share of the configured timeout, nor the floor,
+  // and never longer than the configured timeout, nor the ceiling
+  private static final double MINIMUM_SHARE_OF_DEFAULT = 0.5;
+  private static final long FLOOR_MILLIS = 5_000;
+  private static final long CEILING_MILLIS = 30_000;
+  private static final String SEPARATOR = "\t";
+
+  // Key is "pageObject<TAB>callSite<TAB>operation", value the most recent durations in milliseconds
+  private static final Map<String, Deque<Long>> samples = loadSamples();
+  // The configured timeout of each wait, which bounds its learned timeout
+  private static final Map<String, Long> defaultTimeouts = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the learned timeout for a wait of a page object, or the default timeout if learning is
+   * disabled or there are not enough samples yet.
+   *
+   * @param pageObject The page object which owns the locator.
+   * @param operation The kind of wait, e.g. "wait" or "download".
+   * @param defaultTimeout The timeout used when nothing has been learned.
+   * @return The timeout to use for the wait.
+   */
+  public static Duration getTimeout(String pageObject, String operation, Duration defaultTimeout) {
+    if (!IS_ENABLED || pageObject == null) return defaultTimeout;
+    var key = getKey(pageObject, operation);
+    defaultTimeouts.put(key, defaultTimeout.toMillis());
+    var durations = samples.get(key);
+    if (durations == null) return defaultTimeout;
+    synchronized (durations) {
+      if (durations.size() < MINIMUM_SAMPLES) return defaultTimeout;
+      return Duration.ofMillis(getLearnedTimeoutInMillis(durations, defaultTimeout.toMillis()));
+    }
+  }
+
+  /**
+   * Records how long a wait took. A wait which timed out is recorded with the time it waited, so
+   * the learned timeout grows again when the application gets slower, unless the timeout was an
+   * expected answer, e.g. of a check whether an element is displayed.
+   *
+   * @param pageObject The page object which owns the locator.
+   * @param operation The kind of wait, as passed to {@link #getTimeout}.
+   * @param elapsed The time the wait took, or waited before it timed out.
+   */
+  public static void record(String pageObject, String operation, Duration elapsed) {
+    if (!IS_ENABLED || pageObject == null) return;
+    var durations = samples.computeIfAbsent(getKey(pageObject, operation), _ -> new ArrayDeque<>());
+    synchronized (durations) {
+      durations.addLast(elapsed.toMillis());
+      while (durations.size() > MAXIMUM_SAMPLES) durations.removeFirst();
+    }
+  }
+
+  /** Writes the learned table so that the next run can start from it. */
+  public static synchronized void save() {
+    if (!IS_ENABLED) return;
+    var lines = new ArrayList<String>();
+    lines.add(
+        "# Learned wait timeouts: p"
+            + (int) (PERCENTILE * 100)
+            + " x "
+            + SAFETY_FACTOR
+            + ", at least "
+            + FLOOR_MILLIS
+            + " ms and "
+            + (int) (MINIMUM_SHARE_OF_DEFAULT * 100)
+            + "% of the configured timeout, at most "
+            + CEILING_MILLIS
+            + " ms and the configured timeout, used once a wait has "
+            + MINIMUM_SAMPLES
+            + " samples");
+    lines.add(
+        String.join(
+            SEPARATOR,
+            "# pageObject",
+            "callSite",
+            "operation",
+            "samples",
+            "p" + (int) (PERCENTILE * 100) + "Millis",
+            "timeoutMillis",
+            "recentMillis"));
+
+    new TreeMap<>(samples)
+        .forEach(
+            (key, durations) -> {
+              synchronized (durations) {
+                lines.add(
+                    String.join(
+                        SEPARATOR,
+                        key,
+                        String.valueOf(durations.size()),
+                        String.valueOf(getPercentileInMillis(durations)),
+                        durations.size() < MINIMUM_SAMPLES || !defaultTimeouts.containsKey(key)
+                            ? "-"
+                            : String.valueOf(
+                                getLearnedTimeoutInMillis(durations, defaultTimeouts.get(key))),
+                        durations.stream().map(String::valueOf).collect(Collectors.joining(" "))));
+              }
+            });
+
+    try {
+      var file = Path.of(PathHelper.getLearnedTimeoutsFilePath());
+      Files.createDirectories(file.getParent());
+      Files.write(file, lines, StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      e.printStackTrace();
+    }
+  }
+
+  private static long getLearnedTimeoutInMillis(Deque<Long> durations, long defaultMillis) {
+    var timeout = (long) (getPercentileInMillis(durations) * SAFETY_FACTOR);
+    var maximum = Math.min(CEILING_MILLIS, defaultMillis);
+    var minimum =
+        Math.min(
+            maximum, Math.max(FLOOR_MILLIS, (long) (defaultMillis * MINIMUM_SHARE_OF_DEFAULT)));
+    return Math.clamp(timeout, minimum, maximum);
+  }
+
+  private static long getPercentileInMillis(Deque<Long> durations) {
+    if (durations.isEmpty()) return 0;
+    var sorted = durations.stream().sorted().toList();
+    var index = (int) Math.ceil(PERCENTILE * sorted.size()) - 1;
+    return sorted.get(Math.max(index, 0));
+  }
+
+  private static String getKey(String pageObject, String operation) {
+    return String.join(SEPARATOR, pageObject, getCallSite(), operation);
+  }
+
+  // The first caller outside the helpers, e.g. "HomePage.clickOnProduct", stable across runs
+  // unlike the locator, which can contain the parameters of the page object method
+  private static String getCallSite() {
+    return StackWalker.getInstance()
+        .walk(
+            frames ->
+                frames
+                    .filter(
+                        frame ->
+                            !frame.getClassName().startsWith("elementHelper")
+                                && !frame.getClassName().startsWith("org.openqa"))
+                    .map(
+                        frame -> {
+                          var className = frame.getClassName();
+                          return className.substring(className.lastIndexOf('.') + 1)
+                              + "."
+                              + frame.getMethodName();
+                        })
+                    .findFirst()
+                    .orElse("unknown"));
+  }
+
+  private static Map<String, Deque<Long>> loadSamples() {
+    var loadedSamples = new ConcurrentHashMap<String, Deque<Long>>();
+    var file = Path.of(PathHelper.getLearnedTimeoutsFilePath());
+    if (!IS_ENABLED || !Files.exists(file)) return loadedSamples;
+
+    try {
+      for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+        if (line.isBlank() || line.startsWith("#")) continue;
+        var columns = line.split(SEPARATOR);
+        // Tables of older versions were keyed on the locator and are dropped
+        if (columns.length < 7) continue;
+        List<Long> durations =
+            Arrays.stream(columns[6].trim().split(" ")).map(Long::parseLong).toList();
+        loadedSamples.put(
+            String.join(SEPARATOR, columns[0], columns[1], columns[2]),
+            new ArrayDeque<>(durations));
+      }
+    } catch (IOException | NumberFormatException e) {
+      System.out.println("Learned timeouts could not be loaded: " + e.getMessage());
+    }
+    return loadedSamples;
+  }
+}
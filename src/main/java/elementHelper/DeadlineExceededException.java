@@ -0,0 +1,13 @@
+package elementHelper;
+
+import org.openqa.selenium.TimeoutException;
+
+/** Thrown when a test has used up its deadline, see {@link DeadlineHelper}. */
+public class DeadlineExceededException extends TimeoutException {
+
+  private static final long serialVersionUID = 1L;
+
+  public DeadlineExceededException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
@@ -0,0 +1,130 @@
+package elementHelper;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class DeadlineHelper {
+
+  private static final ThreadLocal<Deadline> currentDeadline = new ThreadLocal<>();
+
+  /**
+   * Starts the deadline for the test running on the current thread. Every wait started from this
+   * thread afterwards is bounded by the time left until the deadline.
+   *
+   * @param testName The name of the test the deadline belongs to.
+   * @param budget The total time the test is allowed to spend.
+   */
+  public static void start(String testName, Duration budget) {
+    currentDeadline.set(new Deadline(testName, budget, System.nanoTime() + budget.toNanos()));
+  }
+
+  /** Removes the deadline of the current thread, normally at the end of the test. */
+  public static void clear() {
+    currentDeadline.remove();
+  }
+
+  /**
+   * Returns the smaller of the given timeout and the time left until the deadline.
+   *
+   * @param ownTimeout The timeout the operation would use without a deadline.
+   * @return The timeout the operation should use.
+   * @throws DeadlineExceededException If the deadline has already expired.
+   */
+  public static Duration boundedTimeout(Duration ownTimeout) {
+    var deadline = currentDeadline.get();
+    if (deadline == null) return ownTimeout;
+    if (deadline.isExpired()) throw exceeded("starting a new wait", null);
+    var remaining = deadline.remaining();
+    return remaining.compareTo(ownTimeout) < 0 ? remaining : ownTimeout;
+  }
+
+  /**
+   * Records the time spent on an operation so that it shows up in the deadline summary.
+   *
+   * @param operation The description of the operation.
+   * @param elapsedNanos The time spent on the operation in nanoseconds.
+   */
+  public static void record(String operation, long elapsedNanos) {
+    var deadline = currentDeadline.get();
+    if (deadline != null) deadline.record(describe(operation), elapsedNanos);
+  }
+
+  /**
+   * Creates the exception thrown when the deadline expires, including a summary of where the time
+   * went.
+   *
+   * @param operation The operation which was running when the deadline expired.
+   * @param cause The original timeout, if any.
+   * @return The exception to throw.
+   */
+  public static DeadlineExceededException exceeded(String operation, Throwable cause) {
+    var deadline = currentDeadline.get();
+    var message =
+        deadline == null
+            ? "Test deadline exceeded while " + describe(operation)
+            : deadline.summary(describe(operation));
+    return new DeadlineExceededException(message, cause);
+  }
+
+  // Keep the summary readable, lambdas and long locators are not useful in a report
+  private static String describe(String operation) {
+    if (operation == null || operation.contains("$$Lambda")) return "custom wait condition";
+    return operation.length() > 150 ? operation.substring(0, 147) + "..." : operation;
+  }
+
+  private static class Deadline {
+    private final String testName;
+    private final Duration budget;
+    private final long expiresAtNanos;
+    private final Map<String, long[]> timeSpent = new LinkedHashMap<>();
+
+    private Deadline(String testName, Duration budget, long expiresAtNanos) {
+      this.testName = testName;
+      this.budget = budget;
+      this.expiresAtNanos = expiresAtNanos;
+    }
+
+    private Duration remaining() {
+      return Duration.ofNanos(expiresAtNanos - System.nanoTime());
+    }
+
+    // No time left at all counts as expired, for waits and retry loops alike
+    private boolean isExpired() {
+      return !remaining().isPositive();
+    }
+
+    // [0] = number of calls, [1] = total nanoseconds
+    private void record(String operation, long elapsedNanos) {
+      var entry = timeSpent.computeIfAbsent(operation, _ -> new long[2]);
+      entry[0]++;
+      entry[1] += elapsedNanos;
+    }
+
+    private String summary(String operation) {
+      var summary =
+          new StringBuilder()
+              .append("Test deadline of ")
+              .append(budget.toSeconds())
+              .append("s exceeded for '")
+              .append(testName)
+              .append("' while ")
+              .append(operation)
+              .append("\nTime spent:");
+      timeSpent.entrySet().stream()
+          .sorted(
+              Comparator.comparingLong((Map.Entry<String, long[]> e) -> e.getValue()[1])
+                  .reversed())
+          .limit(10)
+          .forEach(
+              e ->
+                  summary
+                      .append(
+                          String.format(
+                              "%n  %8.1fs  %3d x  ", e.getValue()[1] / 1e9, e.getValue()[0]))
+                      .append(e.getKey()));
+      return summary.toString();
+    }
+  }
+}
@@ -0,0 +1,199 @@
+package elementHelper;
+
+import com.selenium.testng.elite.utils.RunMetrics;
+import io.github.cdimascio.dotenv.Dotenv;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+
+/**
+ * Remembers the element found for a locator, per driver, so that the next wait for the same locator
+ * on the same page can skip findElement. A cached element is checked with one script call which
+ * also returns the current URL. The whole cache of the driver is dropped when the URL changed, and
+ * an entry is dropped when its element went stale or was detached, in which case the locator is
+ * found again as usual.
+ */
+public class ElementCache {
+
+  private static final boolean IS_ENABLED =
+      Boolean.parseBoolean(Dotenv.configure().ignoreIfMissing().load().get("ELEMENT_CACHE"));
+  public static final String HITS = "element cache hits";
+  public static final String MISSES = "element cache misses";
+  public static final String STALE = "element cache stale";
+
+  // Returns the current URL and whether the element is attached, visible and enabled
+  private static final String VALIDATION_SCRIPT =
+      """
+      var element = arguments[0], rect = element.getBoundingClientRect();
+      var isVisible = element.isConnected && rect.width > 0 && rect.height > 0
+          && (!element.checkVisibility
+              || element.checkVisibility({ opacityProperty: true, visibilityProperty: true }));
+      return { url: location.href, isConnected: element.isConnected, isVisible: isVisible,
+               isEnabled: !element.disabled && !element.closest('fieldset:disabled') };
+      """;
+
+  private static final Map<WebDriver, ElementCache> caches = new WeakHashMap<>();
+
+  private final Map<By, WebElement> elements = new ConcurrentHashMap<>();
+  private String url;
+
+  public static boolean isEnabled() {
+    return IS_ENABLED;
+  }
+
+  /**
+   * Returns the cache of the given driver, or null if the cache is disabled in the .env file.
+   *
+   * @param driver The driver the elements belong to.
+   * @return The cache of the driver, or null.
+   */
+  public static ElementCache forDriver(WebDriver driver) {
+    if (!IS_ENABLED) return null;
+    synchronized (caches) {
+      return caches.computeIfAbsent(unwrap(driver), _ -> new ElementCache());
+    }
+  }
+
+  /**
+   * Forgets the cached elements of a driver, e.g. when it navigates to another page.
+   *
+   * @param driver The driver the elements belong to, decorated or not.
+   */
+  public static void clear(WebDriver driver) {
+    if (!IS_ENABLED) return;
+    ElementCache elementCache;
+    synchronized (caches) {
+      elementCache = caches.get(unwrap(driver));
+    }
+    if (elementCache != null) elementCache.clear();
+  }
+
+  /**
+   * Drops the cache of a driver, at the end of the test which used it.
+   *
+   * @param driver The driver the elements belong to, decorated or not.
+   */
+  public static void remove(WebDriver driver) {
+    if (!IS_ENABLED || driver == null) return;
+    synchronized (caches) {
+      caches.remove(unwrap(driver));
+    }
+  }
+
+  // Listeners see the driver without its decorators, page objects the decorated one
+  private static WebDriver unwrap(WebDriver driver) {
+    while (driver instanceof WrapsDriver wrapsDriver) driver = wrapsDriver.getWrappedDriver();
+    return driver;
+  }
+
+  /**
+   * Returns the cached element of the locator if it is still on the same page and visible (and
+   * enabled, if requested). Records a hit, miss or stale entry in the run metrics.
+   *
+   * @param driver The driver the element belongs to.
+   * @param locator The locator of the element.
+   * @param mustBeEnabled True if the element also has to be enabled.
+   * @return The cached element, or null if the locator has to be found again.
+   */
+  public WebElement get(WebDriver driver, By locator, boolean mustBeEnabled) {
+    var element = elements.get(locator);
+    if (element == null) {
+      RunMetrics.increment(MISSES);
+      return null;
+    }
+
+    Map<?, ?> state;
+    try {
+      state = (Map<?, ?>) ((JavascriptExecutor) driver).executeScript(VALIDATION_SCRIPT, element);
+    } catch (StaleElementReferenceException _) {
+      elements.remove(locator);
+      RunMetrics.increment(STALE);
+      return null;
+    }
+
+    var currentUrl = String.valueOf(state.get("url"));
+    if (url != null && !url.equals(currentUrl)) {
+      // Navigated, none of the cached elements can be trusted any more
+      elements.clear();
+      url = currentUrl;
+      RunMetrics.increment(MISSES);
+      return null;
+    }
+    url = currentUrl;
+    if (!Boolean.TRUE.equals(state.get("isConnected"))) {
+      elements.remove(locator);
+      RunMetrics.increment(STALE);
+      return null;
+    }
+    if (!Boolean.TRUE.equals(state.get("isVisible"))
+        || (mustBeEnabled && !Boolean.TRUE.equals(state.get("isEnabled")))) {
+      RunMetrics.increment(MISSES);
+      return null;
+    }
+    RunMetrics.increment(HITS);
+    return element;
+  }
+
+  /**
+   * Remembers the element found for a locator.
+   *
+   * @param locator The locator of the element.
+   * @param element The element found for it.
+   */
+  public void put(By locator, WebElement element) {
+    elements.put(locator, element);
+  }
+
+  /**
+   * Remembers the element found for a locator on the given page. The elements of any other page
+   * are forgotten.
+   *
+   * @param locator The locator of the element.
+   * @param element The element found for it.
+   * @param currentUrl The URL of the page the element was found on.
+   */
+  public void put(By locator, WebElement element, String currentUrl) {
+    if (url != null && !url.equals(currentUrl)) elements.clear();
+    url = currentUrl;
+    elements.put(locator, element);
+  }
+
+  /**
+   * Returns the cached element of the locator without checking it, for a caller whose own script
+   * checks it against {@link #getUrl()} anyway. Does not record any metric.
+   *
+   * @param locator The locator of the element.
+   * @return The cached element, or null.
+   */
+  public WebElement peek(By locator) {
+    return elements.get(locator);
+  }
+
+  /**
+   * @return The URL of the page the cached elements were found on, or null if not known yet.
+   */
+  public String getUrl() {
+    return url;
+  }
+
+  /**
+   * Forgets the cached element of a locator, e.g. because it went stale.
+   *
+   * @param locator The locator of the element.
+   */
+  public void forget(By locator) {
+    elements.remove(locator);
+  }
+
+  /** Forgets all cached elements, e.g. after an action which navigates or re-renders the page. */
+  public void clear() {
+    elements.clear();
+    url = null;
+  }
+}
@@ -0,0 +1,57 @@
+package elementHelper;
+
+import java.util.List;
+import org.openqa.selenium.By;
+
+/**
+ * Lets a script resolve a {@link By} itself, so that finding the element and acting on it cost a
+ * single round trip instead of a findElement call followed by the script.
+ */
+public class InBrowserLocator {
+
+  // JavaScript function findAll(using, value) returning an array of the matching elements, with the
+  // same strategies as the W3C find element command
+  public static final String FIND_ALL_FUNCTION =
+      """
+      function findAll(using, value) {
+        switch (using) {
+          case 'css selector':
+            return Array.from(document.querySelectorAll(value));
+          case 'tag name':
+            return Array.from(document.getElementsByTagName(value));
+          case 'xpath':
+            var snapshot = document.evaluate(value, document, null,
+                XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+            var nodes = [];
+            for (var i = 0; i < snapshot.snapshotLength; i++) nodes.push(snapshot.snapshotItem(i));
+            return nodes.filter(function (node) { return node.nodeType === 1; });
+          case 'link text':
+          case 'partial link text':
+            return Array.from(document.querySelectorAll('a')).filter(function (link) {
+              var text = link.innerText.trim();
+              return using === 'link text' ? text === value : text.indexOf(value) !== -1;
+            });
+        }
+        throw new Error('Unsupported locator strategy: ' + using);
+      }
+      """;
+
+  private static final List<String> SUPPORTED_STRATEGIES =
+      List.of("css selector", "tag name", "xpath", "link text", "partial link text");
+
+  /**
+   * Returns the strategy and value of a locator for {@link #FIND_ALL_FUNCTION}. Simple XPaths are
+   * passed on as CSS selectors when enabled, see {@link LocatorOptimizer}.
+   *
+   * @param locator The locator to resolve in the browser.
+   * @return The strategy and the value, or null if the locator can only be resolved by WebDriver
+   *     (e.g. chained or relative locators).
+   */
+  public static String[] getArguments(By locator) {
+    if (!(LocatorOptimizer.optimize(locator) instanceof By.Remotable remotable)) return null;
+    var parameters = remotable.getRemoteParameters();
+    if (!SUPPORTED_STRATEGIES.contains(parameters.using())
+        || !(parameters.value() instanceof String value)) return null;
+    return new String[] {parameters.using(), value};
+  }
+}
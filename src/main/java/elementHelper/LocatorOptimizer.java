@@ -0,0 +1,189 @@
+package elementHelper;
+
+import io.github.cdimascio.dotenv.Dotenv;
+import java.util.ArrayList;
+import java.util.List;
+import org.openqa.selenium.By;
+
+/**
+ * Rewrites simple XPath locators to the equivalent CSS selector, which browsers evaluate much
+ * faster on large pages. Only XPaths made of descendant and child steps with attribute predicates
+ * are rewritten, e.g. {@code //div[contains(@class,'product-thumb')]//h4/a} becomes {@code
+ * div[class*="product-thumb"] h4 > a}. Anything CSS cannot express the same way (text, positions,
+ * other axes, functions) is left as it is.
+ */
+public class LocatorOptimizer {
+
+  private static final boolean IS_ENABLED =
+      Boolean.parseBoolean(Dotenv.configure().ignoreIfMissing().load().get("OPTIMIZE_LOCATORS"));
+
+  public static boolean isEnabled() {
+    return IS_ENABLED;
+  }
+
+  /**
+   * Returns the CSS equivalent of an XPath locator if optimizing is enabled in the .env file and
+   * the XPath is simple enough, else the locator itself.
+   *
+   * @param locator The locator to optimize.
+   * @return The optimized locator.
+   */
+  public static By optimize(By locator) {
+    if (!IS_ENABLED) return locator;
+    return toCssLocator(locator);
+  }
+
+  /**
+   * Returns the CSS equivalent of an XPath locator, regardless of the .env file.
+   *
+   * @param locator The locator to rewrite.
+   * @return The CSS locator, or the locator itself if it is not an XPath or cannot be rewritten.
+   */
+  public static By toCssLocator(By locator) {
+    if (!(locator instanceof By.Remotable remotable)) return locator;
+    var parameters = remotable.getRemoteParameters();
+    if (!"xpath".equals(parameters.using()) || !(parameters.value() instanceof String xpath))
+      return locator;
+    var css = toCss(xpath);
+    return css == null ? locator : By.cssSelector(css);
+  }
+
+  /**
+   * Rewrites an XPath to the equivalent CSS selector.
+   *
+   * @param xpath The XPath, which has to start with //.
+   * @return The CSS selector, or null if the XPath cannot be expressed in CSS.
+   */
+  public static String toCss(String xpath) {
+    try {
+      return new Parser(xpath.trim()).parse();
+    } catch (IllegalArgumentException _) {
+      return null;
+    }
+  }
+
+  // Recursive descent over the supported subset, throws IllegalArgumentException for anything else
+  private static class Parser {
+
+    private final String xpath;
+    private int position;
+
+    private Parser(String xpath) {
+      this.xpath = xpath;
+    }
+
+    private String parse() {
+      if (!xpath.startsWith("//")) fail();
+      var css = new StringBuilder();
+      while (position < xpath.length()) {
+        var isDescendant = xpath.startsWith("//", position);
+        if (!isDescendant && !xpath.startsWith("/", position)) fail();
+        position += isDescendant ? 2 : 1;
+        if (!css.isEmpty()) css.append(isDescendant ? " " : " > ");
+        css.append(step());
+      }
+      return css.toString();
+    }
+
+    // tag[predicate]...
+    private String step() {
+      var tag = xpath.startsWith("*", position) ? "*" : name();
+      if (tag.equals("*")) position++;
+      // Axes (ancestor::) and node tests (text()) have no CSS equivalent
+      if (xpath.startsWith(":", position) || xpath.startsWith("(", position)) fail();
+      var conditions = new ArrayList<String>();
+      while (xpath.startsWith("[", position)) {
+        position++;
+        conditions.addAll(predicate());
+        expect("]");
+      }
+      if (tag.equals("*") && !conditions.isEmpty()) tag = "";
+      return tag + String.join("", conditions);
+    }
+
+    // condition and condition ...
+    private List<String> predicate() {
+      var conditions = new ArrayList<String>();
+      conditions.add(condition());
+      while (skipWhitespace() && xpath.startsWith("and", position)) {
+        position += 3;
+        if (position >= xpath.length() || !Character.isWhitespace(xpath.charAt(position))) fail();
+        conditions.add(condition());
+      }
+      return conditions;
+    }
+
+    // @name, @name='value', contains(@name,'value') or starts-with(@name,'value')
+    private String condition() {
+      skipWhitespace();
+      if (xpath.startsWith("@", position)) {
+        position++;
+        var attribute = name();
+        skipWhitespace();
+        if (!xpath.startsWith("=", position)) return "[" + attribute + "]";
+        position++;
+        return "[" + attribute + "=" + literal() + "]";
+      }
+      var function = name();
+      var operator =
+          switch (function) {
+            case "contains" -> "*=";
+            case "starts-with" -> "^=";
+            default -> throw new IllegalArgumentException(function);
+          };
+      expect("(");
+      expect("@");
+      var attribute = name();
+      expect(",");
+      var value = literal();
+      expect(")");
+      // An empty string is contained in every value, even a missing one, CSS matches nothing
+      if (value.equals("\"\"")) fail();
+      return "[" + attribute + operator + value + "]";
+    }
+
+    // Only lower case names, CSS compares HTML tag and attribute names case-insensitively
+    private String name() {
+      skipWhitespace();
+      var start = position;
+      while (position < xpath.length()) {
+        var c = xpath.charAt(position);
+        var isStart = (c >= 'a' && c <= 'z') || c == '_';
+        var isPart = isStart || (c >= '0' && c <= '9') || c == '-';
+        if (!(position == start ? isStart : isPart)) break;
+        position++;
+      }
+      if (position == start) fail();
+      return xpath.substring(start, position);
+    }
+
+    // 'value' or "value", returned as a quoted CSS string
+    private String literal() {
+      skipWhitespace();
+      if (position >= xpath.length()) fail();
+      var quote = xpath.charAt(position);
+      if (quote != '\'' && quote != '"') fail();
+      var end = xpath.indexOf(quote, position + 1);
+      if (end < 0) fail();
+      var value = xpath.substring(position + 1, end);
+      position = end + 1;
+      return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\a ") + "\"";
+    }
+
+    private void expect(String token) {
+      skipWhitespace();
+      if (!xpath.startsWith(token, position)) fail();
+      position += token.length();
+    }
+
+    private boolean skipWhitespace() {
+      while (position < xpath.length() && Character.isWhitespace(xpath.charAt(position)))
+        position++;
+      return position < xpath.length();
+    }
+
+    private void fail() {
+      throw new IllegalArgumentException(xpath);
+    }
+  }
+}
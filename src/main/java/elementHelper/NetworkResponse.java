@@ -0,0 +1,12 @@
+package elementHelper;
+
+/**
+ * A network request observed through WebDriver BiDi.
+ *
+ * @param url The URL of the request.
+ * @param method The HTTP method of the request.
+ * @param status The HTTP status of the response, or -1 when only the request was awaited.
+ * @param durationInMillis The time from sending the request until the response was received, or -1
+ *     when the browser did not report timings.
+ */
+public record NetworkResponse(String url, String method, int status, double durationInMillis) {}
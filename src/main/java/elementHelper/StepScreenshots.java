@@ -0,0 +1,110 @@
+package elementHelper;
+
+import com.selenium.testng.elite.utils.ReportScreenshot;
+import io.github.cdimascio.dotenv.Dotenv;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Keeps a screenshot of the last few interactions of the test running on the current thread, so a
+ * failure can be inspected step by step afterwards instead of watching a slowed down run.
+ */
+public class StepScreenshots {
+
+  // Number of screenshots kept per test, 0 turns them off
+  private static final int SIZE =
+      Optional.ofNullable(Dotenv.configure().ignoreIfMissing().load().get("STEP_SCREENSHOTS"))
+          .map(Integer::parseInt)
+          .orElse(0);
+
+  private static final ThreadLocal<Deque<Step>> steps = ThreadLocal.withInitial(ArrayDeque::new);
+
+  private record Step(String label, byte[] screenshot) {}
+
+  /**
+   * Takes a screenshot of the current step, dropping the oldest one when the buffer is full. The
+   * step is labelled with the page object method and the helper method which called it.
+   *
+   * @param driver The driver to take the screenshot with.
+   */
+  public static void capture(WebDriver driver) {
+    if (SIZE <= 0 || !(driver instanceof TakesScreenshot takesScreenshot)) return;
+    var screenshot = takesScreenshot.getScreenshotAs(OutputType.BYTES);
+    var buffer = steps.get();
+    buffer.addLast(new Step(getLabel(), screenshot));
+    while (buffer.size() > SIZE) buffer.removeFirst();
+  }
+
+  /**
+   * Writes the buffered screenshots of the current test, oldest first, and empties the buffer.
+   *
+   * @param folder The folder to write the screenshots to.
+   * @return The written files.
+   */
+  public static List<Path> dump(Path folder) {
+    var files = new ArrayList<Path>();
+    var buffer = steps.get();
+    if (buffer.isEmpty()) return files;
+    try {
+      Files.createDirectories(folder);
+      var number = 1;
+      for (Step step : buffer) {
+        var file =
+            folder.resolve(
+                String.format(
+                    "%02d-%s.%s", number++, step.label(), ReportScreenshot.getExtension()));
+        Files.write(file, ReportScreenshot.encode(step.screenshot()));
+        files.add(file);
+      }
+    } catch (IOException e) {
+      e.printStackTrace();
+    }
+    buffer.clear();
+    return files;
+  }
+
+  /** Drops the buffered screenshots of the current test. */
+  public static void clear() {
+    steps.remove();
+  }
+
+  // e.g. "HomePage.clickOnAddToCartButton-scrollAndClickOn"
+  private static String getLabel() {
+    var frames =
+        StackWalker.getInstance()
+            .walk(
+                stream ->
+                    stream
+                        .filter(
+                            frame -> !frame.getClassName().equals(StepScreenshots.class.getName()))
+                        .toList());
+    var helperMethod =
+        frames.stream()
+            .filter(frame -> frame.getClassName().startsWith("elementHelper"))
+            .map(StackWalker.StackFrame::getMethodName)
+            .filter(name -> !name.equals("highlight"))
+            .findFirst()
+            .orElse("step");
+    var caller =
+        frames.stream()
+            .filter(frame -> !frame.getClassName().startsWith("elementHelper"))
+            .map(
+                frame ->
+                    frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1)
+                        + "."
+                        + frame.getMethodName())
+            .findFirst()
+            .orElse("");
+    return (caller.isEmpty() ? helperMethod : caller + "-" + helperMethod)
+        .replaceAll("[^A-Za-z0-9._-]", "_");
+  }
+}
@@ -0,0 +1,206 @@
+package elementHelper;
+
+import com.selenium.testng.elite.utils.PathHelper;
+import com.selenium.testng.elite.utils.RunMetrics;
+import io.github.cdimascio.dotenv.Dotenv;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.openqa.selenium.json.Json;
+
+/**
+ * Records helper operations as spans and writes them as one Chrome trace-event file per run, which
+ * can be opened in chrome://tracing or ui.perfetto.dev to see all parallel tests on one timeline.
+ * When TRACE is off, {@link #span} returns a shared no-op span, so instrumented code costs nothing.
+ * A span opened inside an open span of the same category is part of the outer one and not recorded
+ * on its own, and a span without page object or locator takes the ones of the span it is in.
+ */
+public class TraceHelper {
+
+  private static final TraceHelper runTrace =
+      new TraceHelper(
+          Boolean.parseBoolean(Dotenv.configure().ignoreIfMissing().load().get("TRACE")));
+  // Trace the spans of the current thread go to instead of the one of the run, see recordOn
+  private static final ThreadLocal<TraceHelper> threadTrace = new ThreadLocal<>();
+  // Innermost span which is open on the current thread
+  private static final ThreadLocal<Span> openSpan = new ThreadLocal<>();
+  private static final Span NO_OP_SPAN = new Span(null, null, null, null, null, null);
+  private static final long ORIGIN_NANOS = System.nanoTime();
+
+  private final boolean isEnabled;
+  private final Queue<Map<String, Object>> events = new ConcurrentLinkedQueue<>();
+  private final Map<Long, String> threadNames = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a trace of its own, independent of TRACE and of the trace of the run, e.g. to measure
+   * what tracing costs. Spans are recorded on it with {@link #recordOn}.
+   *
+   * @param isEnabled Whether spans are recorded, or no-op spans returned.
+   */
+  public TraceHelper(boolean isEnabled) {
+    this.isEnabled = isEnabled;
+  }
+
+  /**
+   * Starts a span which ends when it is closed, use it with try-with-resources.
+   *
+   * @param category The helper class, e.g. "SeleniumHelper".
+   * @param name The operation, e.g. "scrollAndClickOn".
+   * @param pageObject The page object which called the helper, or null for the one of the span it
+   *     is in.
+   * @param locator The locator the operation works on, or null for the one of the span it is in.
+   * @return The span to close when the operation is done.
+   */
+  public static Span span(String category, String name, String pageObject, Object locator) {
+    var trace = threadTrace.get();
+    if (trace == null) trace = runTrace;
+    if (!trace.isEnabled) return NO_OP_SPAN;
+    var parent = openSpan.get();
+    if (parent == null) return new Span(trace, category, name, pageObject, locator, null);
+    if (parent.trace == trace && category.equals(parent.category)) return NO_OP_SPAN;
+    return new Span(
+        trace,
+        category,
+        name,
+        pageObject == null ? parent.pageObject : pageObject,
+        locator == null ? parent.locator : locator,
+        parent);
+  }
+
+  /**
+   * @return Whether spans opened on the current thread are recorded, on the trace of the run or the
+   *     one set with {@link #recordOn}.
+   */
+  public static boolean isEnabled() {
+    var trace = threadTrace.get();
+    return (trace == null ? runTrace : trace).isEnabled;
+  }
+
+  /**
+   * Records the spans of the current thread on the given trace instead of the trace of the run,
+   * until the returned scope is closed.
+   *
+   * @param trace The trace to record on.
+   * @return The scope to close to record on the previous trace again.
+   */
+  public static Scope recordOn(TraceHelper trace) {
+    var previous = threadTrace.get();
+    threadTrace.set(trace);
+    return () -> {
+      if (previous == null) threadTrace.remove();
+      else threadTrace.set(previous);
+    };
+  }
+
+  /** Writes all recorded spans to the trace file of this run. */
+  public static void save() {
+    if (runTrace.isEnabled && !runTrace.events.isEmpty())
+      runTrace.writeTo(Path.of(PathHelper.getTraceFilePath()));
+  }
+
+  /**
+   * @return The number of spans recorded so far.
+   */
+  public int getSpanCount() {
+    return events.size();
+  }
+
+  /**
+   * Writes all spans recorded so far as a Chrome trace-event file, with one named track per thread.
+   *
+   * @param file The file to write, replaced if it exists.
+   */
+  public synchronized void writeTo(Path file) {
+    var traceEvents = new ArrayList<Map<String, Object>>();
+    threadNames.forEach(
+        (threadId, threadName) ->
+            traceEvents.add(
+                Map.of(
+                    "name", "thread_name",
+                    "ph", "M",
+                    "pid", 1,
+                    "tid", threadId,
+                    "args", Map.of("name", threadName))));
+    traceEvents.addAll(events);
+
+    try {
+      Files.createDirectories(file.toAbsolutePath().getParent());
+      Files.writeString(
+          file,
+          new Json().toJson(Map.of("traceEvents", traceEvents, "displayTimeUnit", "ms")),
+          StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      e.printStackTrace();
+    }
+  }
+
+  /** Ends the recording on another trace, see {@link #recordOn}. */
+  public interface Scope extends AutoCloseable {
+    @Override
+    void close();
+  }
+
+  public static class Span implements AutoCloseable {
+    private final TraceHelper trace;
+    private final String category;
+    private final String name;
+    private final String pageObject;
+    private final Object locator;
+    private final Span parent;
+    private final long startNanos;
+    private final long startCommands;
+
+    private Span(
+        TraceHelper trace,
+        String category,
+        String name,
+        String pageObject,
+        Object locator,
+        Span parent) {
+      this.trace = trace;
+      this.category = category;
+      this.name = name;
+      this.pageObject = pageObject;
+      this.locator = locator;
+      this.parent = parent;
+      this.startNanos = System.nanoTime();
+      this.startCommands = category == null ? 0 : RunMetrics.get(RunMetrics.WEBDRIVER_COMMANDS);
+      if (category != null) openSpan.set(this);
+    }
+
+    @Override
+    public void close() {
+      if (category == null) return;
+      var endNanos = System.nanoTime();
+      if (parent == null) openSpan.remove();
+      else openSpan.set(parent);
+      var thread = Thread.currentThread();
+      trace.threadNames.putIfAbsent(thread.threadId(), thread.getName());
+
+      var args = new LinkedHashMap<String, Object>();
+      args.put("test", RunMetrics.getTestName());
+      args.put("pageObject", pageObject);
+      args.put("locator", locator == null ? null : String.valueOf(locator));
+      args.put("commands", RunMetrics.get(RunMetrics.WEBDRIVER_COMMANDS) - startCommands);
+
+      // Complete event, timestamps in microseconds since the first class use
+      var event = new LinkedHashMap<String, Object>();
+      event.put("name", name);
+      event.put("cat", category);
+      event.put("ph", "X");
+      event.put("ts", (startNanos - ORIGIN_NANOS) / 1_000.0);
+      event.put("dur", (endNanos - startNanos) / 1_000.0);
+      event.put("pid", 1);
+      event.put("tid", thread.threadId());
+      event.put("args", args);
+      trace.events.add(event);
+    }
+  }
+}
@@ -1,283 +1,632 @@
 package elementHelper;
 
+import static elementHelper.LocatorOptimizer.optimize;
+
+import com.selenium.testng.elite.utils.RunMetrics;
 import org.openqa.selenium.By;
+import org.openqa.selenium.HasCapabilities;
 import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.bidi.module.Network;
+import org.openqa.selenium.bidi.network.BaseParameters;
+import org.openqa.selenium.bidi.network.FetchTimingInfo;
 import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 
 public class WaitHelper {
 
+  private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(15);
+  private static final Duration DEFAULT_POLLING_INTERVAL = Duration.ofMillis(500);
+  private static final Duration FAST_POLLING_INTERVAL = Duration.ofMillis(100);
+
+  // Resolves true once the element's rect and effective opacity were unchanged for two animation
+  // frames, false if it is hidden, detached or still moving after 60 frames (polled again)
+  private static final String VISUAL_STABILITY_SCRIPT =
+      """
+      var element = arguments[0], done = arguments[arguments.length - 1];
+      function snapshot() {
+        var rect = element.getBoundingClientRect(), opacity = 1;
+        for (var node = element; node && node.nodeType === 1; node = node.parentElement)
+          opacity *= parseFloat(getComputedStyle(node).opacity);
+        return { key: [rect.x, rect.y, rect.width, rect.height, opacity].join(','),
+                 isVisible: rect.width > 0 && rect.height > 0 && opacity > 0 };
+      }
+      var previous = snapshot().key, stableFrames = 0, frames = 0;
+      function onFrame() {
+        if (!element.isConnected) return done(false);
+        var current = snapshot();
+        stableFrames = current.key === previous ? stableFrames + 1 : 0;
+        previous = current.key;
+        if (stableFrames >= 2) return done(current.isVisible);
+        if (++frames >= 60) return done(false);
+        requestAnimationFrame(onFrame);
+      }
+      requestAnimationFrame(onFrame);
+      """;
+
+  // Checks visibility, enabled state and viewport, scrolls to the center when needed and hit tests
+  // the center point, all in one call. Returns the element and its state, "ready" once it can be
+  // used. The element is either passed in or resolved with findAll(using, value)
+  private static final String READINESS_FOR_ACTION_SCRIPT =
+      InBrowserLocator.FIND_ALL_FUNCTION
+          + """
+      var cached = arguments[4];
+      var cacheState = !cached ? 'none' : !cached.isConnected ? 'stale'
+          : location.href !== arguments[5] ? 'navigated' : 'hit';
+      var element = (cacheState === 'hit' && cached) || arguments[0]
+          || findAll(arguments[1], arguments[2])[0];
+      var isTextEntry = arguments[3];
+      var result = (function () {
+        if (!element || !element.isConnected) return { state: 'missing' };
+        var style = getComputedStyle(element), rect = element.getBoundingClientRect();
+        if (rect.width === 0 || rect.height === 0 || style.visibility === 'hidden'
+            || style.display === 'none' || parseFloat(style.opacity) === 0)
+          return { element: element, state: 'hidden' };
+        if (element.disabled || element.closest('fieldset:disabled')
+            || (isTextEntry && element.readOnly))
+          return { element: element, state: 'disabled' };
+        var viewWidth = window.innerWidth || document.documentElement.clientWidth;
+        var viewHeight = window.innerHeight || document.documentElement.clientHeight;
+        if (rect.top < 0 || rect.left < 0 || rect.bottom > viewHeight || rect.right > viewWidth) {
+          element.scrollIntoView({ block: 'center', inline: 'center' });
+          rect = element.getBoundingClientRect();
+        }
+        var hit = document.elementFromPoint(rect.left + rect.width / 2, rect.top + rect.height / 2);
+        if (hit && (hit === element || element.contains(hit) || hit.contains(element)
+            || (element.labels && Array.from(element.labels).indexOf(hit) !== -1)))
+          return { element: element, state: 'ready' };
+        var cover = hit ? hit.outerHTML.slice(0, 80) : 'nothing';
+        return { element: element, state: 'obscured by ' + cover };
+      })();
+      result.url = location.href;
+      result.cacheState = cacheState;
+      return result;
+      """;
+
   private final WebDriver driver;
+  private final String pageObjectName;
 
   public WaitHelper(WebDriver driver) {
+    this(driver, null);
+  }
+
+  public WaitHelper(WebDriver driver, String pageObjectName) {
     this.driver = driver;
+    this.pageObjectName = pageObjectName;
+  }
+
+  // The operation is the public method which waits, it names the span of the wait in the trace
+  private WebDriverWait getWebDriverWait(String operation) {
+    return new DeadlineAwareWait(driver, DEFAULT_TIMEOUT, operation, pageObjectName, false, false);
   }
 
-  private WebDriverWait getWebDriverWait() {
-    return new WebDriverWait(driver, Duration.ofSeconds(15));
+  private WebDriverWait getWebDriverWait(String operation, int duration) {
+    return new DeadlineAwareWait(
+        driver, Duration.ofSeconds(duration), operation, pageObjectName, false, false);
   }
 
-  private WebDriverWait getWebDriverWait(int duration) {
-    return new WebDriverWait(driver, Duration.ofSeconds(duration));
+  // Locator waits without an explicit duration use the timeout learned for this page object
+  private <T> T untilWithLearnedTimeout(String operation, ExpectedCondition<T> condition) {
+    return untilWithLearnedTimeout(operation, condition, DEFAULT_POLLING_INTERVAL);
+  }
+
+  private <T> T untilWithLearnedTimeout(
+      String operation, ExpectedCondition<T> condition, Duration pollingInterval) {
+    return getLearnedWait(operation, false).pollingEvery(pollingInterval).until(condition);
+  }
+
+  // For checks whose timeout is an expected answer, e.g. that an element is not displayed. Only
+  // the waits which ended before the timeout are recorded, otherwise every negative answer would
+  // push the learned timeout up
+  private <T> T untilWithLearnedTimeoutExpectingTimeouts(
+      String operation, ExpectedCondition<T> condition) {
+    return getLearnedWait(operation, true).pollingEvery(DEFAULT_POLLING_INTERVAL).until(condition);
+  }
+
+  private WebDriverWait getLearnedWait(String operation, boolean isTimeoutExpected) {
+    var timeout = AdaptiveTimeoutHelper.getTimeout(pageObjectName, "wait", DEFAULT_TIMEOUT);
+    return new DeadlineAwareWait(
+        driver, timeout, operation, pageObjectName, true, isTimeoutExpected);
   }
 
   // Hard wait but not recommended to use
   public void hardWait(int second) throws InterruptedException {
-    Thread.sleep(second * 1000L);
+    var ownTimeout = Duration.ofSeconds(second);
+    var timeout = DeadlineHelper.boundedTimeout(ownTimeout);
+    var start = System.nanoTime();
+    try (var _ = TraceHelper.span("WaitHelper", "hardWait", pageObjectName, null)) {
+      Thread.sleep(timeout.toMillis());
+    }
+    DeadlineHelper.record("hard wait", System.nanoTime() - start);
+    if (timeout.compareTo(ownTimeout) < 0) throw DeadlineHelper.exceeded("hard wait", null);
   }
 
-  // Wait for an element to be clickable
+  // Wait for an element to be clickable (visible and enabled), polled every 100 ms
   public WebElement waitForElementToBeClickable(By locator) {
-    return getWebDriverWait().until(ExpectedConditions.elementToBeClickable(locator));
+    var cached = getCachedElement(locator, true);
+    if (cached != null) return cached;
+    return cacheElement(
+        locator,
+        untilWithLearnedTimeout(
+            "waitForElementToBeClickable",
+            ExpectedConditions.elementToBeClickable(optimize(locator)),
+            FAST_POLLING_INTERVAL));
   }
 
   public WebElement waitForElementToBeClickable(By locator, int duration) {
-    return getWebDriverWait(duration).until(ExpectedConditions.elementToBeClickable(locator));
+    var cached = getCachedElement(locator, true);
+    if (cached != null) return cached;
+    return cacheElement(
+        locator,
+        getWebDriverWait("waitForElementToBeClickable", duration)
+            .pollingEvery(FAST_POLLING_INTERVAL)
+            .until(ExpectedConditions.elementToBeClickable(optimize(locator))));
   }
 
   // Wait for an element to be visible
   public WebElement waitForElementToBeVisible(By locator) {
-    return getWebDriverWait().until(ExpectedConditions.visibilityOfElementLocated(locator));
+    var cached = getCachedElement(locator, false);
+    if (cached != null) return cached;
+    return cacheElement(
+        locator,
+        untilWithLearnedTimeout(
+            "waitForElementToBeVisible",
+            ExpectedConditions.visibilityOfElementLocated(optimize(locator))));
+  }
+
+  // Wait for an element to be visible when not finding it is an answer, e.g. for
+  // SeleniumHelper.isElementDisplayed, so its timeouts are not learned from
+  public WebElement waitForElementToBeVisibleIfDisplayed(By locator) {
+    var cached = getCachedElement(locator, false);
+    if (cached != null) return cached;
+    return cacheElement(
+        locator,
+        untilWithLearnedTimeoutExpectingTimeouts(
+            "waitForElementToBeVisibleIfDisplayed",
+            ExpectedConditions.visibilityOfElementLocated(optimize(locator))));
   }
 
   // Wait for an element to be visible
   public WebElement waitForElementToBeVisible(By locator, int duration) {
-    return getWebDriverWait(duration).until(ExpectedConditions.visibilityOfElementLocated(locator));
+    var cached = getCachedElement(locator, false);
+    if (cached != null) return cached;
+    return cacheElement(
+        locator,
+        getWebDriverWait("waitForElementToBeVisible", duration)
+            .until(ExpectedConditions.visibilityOfElementLocated(optimize(locator))));
+  }
+
+  // Reuse the element found by an earlier wait on the same page, see ElementCache
+  private WebElement getCachedElement(By locator, boolean mustBeEnabled) {
+    var elementCache = ElementCache.forDriver(driver);
+    return elementCache == null ? null : elementCache.get(driver, locator, mustBeEnabled);
+  }
+
+  private WebElement cacheElement(By locator, WebElement element) {
+    var elementCache = ElementCache.forDriver(driver);
+    if (elementCache != null) elementCache.put(locator, element);
+    return element;
   }
 
   public WebElement waitForElementPresenceInDOM(By locator) {
-    return getWebDriverWait().until(ExpectedConditions.presenceOfElementLocated(locator));
+    return untilWithLearnedTimeout(
+        "waitForElementPresenceInDOM",
+        ExpectedConditions.presenceOfElementLocated(optimize(locator)));
   }
 
   public WebElement waitForElementPresenceInDOM(By locator,int duration) {
-    return getWebDriverWait(duration).until(ExpectedConditions.presenceOfElementLocated(locator));
+    return getWebDriverWait("waitForElementPresenceInDOM", duration)
+        .until(ExpectedConditions.presenceOfElementLocated(optimize(locator)));
   }
 
   // Wait for all elements located by a locator to be visible
   public List<WebElement> waitForAllElementToBeVisible(By locator) {
-    return getWebDriverWait().until(ExpectedConditions.visibilityOfAllElementsLocatedBy(locator));
+    return untilWithLearnedTimeout(
+        "waitForAllElementToBeVisible",
+        ExpectedConditions.visibilityOfAllElementsLocatedBy(optimize(locator)));
   }
 
   public List<WebElement> waitForAllElementToBeVisible(By locator, int duration) {
-    return getWebDriverWait(duration)
-        .until(ExpectedConditions.visibilityOfAllElementsLocatedBy(locator));
+    return getWebDriverWait("waitForAllElementToBeVisible", duration)
+        .until(ExpectedConditions.visibilityOfAllElementsLocatedBy(optimize(locator)));
   }
 
   public void waitTillUrlContains(String url) {
-    getWebDriverWait().until(ExpectedConditions.urlContains(url));
+    getWebDriverWait("waitTillUrlContains").until(ExpectedConditions.urlContains(url));
   }
 
   public void waitTillUrlContains(String url, int duration) {
-    getWebDriverWait(duration).until(ExpectedConditions.urlContains(url));
+    getWebDriverWait("waitTillUrlContains", duration).until(ExpectedConditions.urlContains(url));
   }
 
   // Wait for a frame to be available and switch to it
   public void waitForFrameToBeAvailableAndSwitchToIt(By locator) {
-    getWebDriverWait().until(ExpectedConditions.frameToBeAvailableAndSwitchToIt(locator));
+    untilWithLearnedTimeout(
+        "waitForFrameToBeAvailableAndSwitchToIt",
+        ExpectedConditions.frameToBeAvailableAndSwitchToIt(optimize(locator)));
   }
 
   public void waitForFrameToBeAvailableAndSwitchToIt(By locator, int duration) {
-    getWebDriverWait(duration).until(ExpectedConditions.frameToBeAvailableAndSwitchToIt(locator));
+    getWebDriverWait("waitForFrameToBeAvailableAndSwitchToIt", duration)
+        .until(ExpectedConditions.frameToBeAvailableAndSwitchToIt(optimize(locator)));
   }
 
   // Wait for an alert to be present
   public void waitForAlert() {
-    getWebDriverWait().until(ExpectedConditions.alertIsPresent());
+    getWebDriverWait("waitForAlert").until(ExpectedConditions.alertIsPresent());
   }
 
   public void waitForAlert(int duration) {
-    getWebDriverWait(duration).until(ExpectedConditions.alertIsPresent());
+    getWebDriverWait("waitForAlert", duration).until(ExpectedConditions.alertIsPresent());
   }
 
   // Wait for multiple conditions to be true
   public boolean waitForConditions(ExpectedCondition<?>... conditions) {
-    return getWebDriverWait().until(ExpectedConditions.and(conditions));
+    return getWebDriverWait("waitForConditions").until(ExpectedConditions.and(conditions));
   }
 
   // Wait for an element's attribute to contain a specific value
   public boolean waitForAttributeContains(By locator, String attribute, String value) {
-    return getWebDriverWait()
-        .until(ExpectedConditions.attributeContains(locator, attribute, value));
+    return untilWithLearnedTimeout(
+        "waitForAttributeContains",
+        ExpectedConditions.attributeContains(optimize(locator), attribute, value));
   }
 
   // Wait for an element's attribute to be a specific value
   public boolean waitForAttributeToBe(By locator, String attribute, String value) {
-    return getWebDriverWait().until(ExpectedConditions.attributeToBe(locator, attribute, value));
+    return untilWithLearnedTimeout(
+        "waitForAttributeToBe",
+        ExpectedConditions.attributeToBe(optimize(locator), attribute, value));
   }
 
   // Wait for an element's attribute to be non-empty
   public boolean waitForAttributeToBeNotEmpty(WebElement element, String attribute) {
-    return getWebDriverWait().until(ExpectedConditions.attributeToBeNotEmpty(element, attribute));
+    return getWebDriverWait("waitForAttributeToBeNotEmpty")
+        .until(ExpectedConditions.attributeToBeNotEmpty(element, attribute));
   }
 
   // Wait for an element's DOM attribute to be a specific value
   public boolean waitForDomAttributeToBe(WebElement element, String attribute, String value) {
-    return getWebDriverWait().until(ExpectedConditions.domAttributeToBe(element, attribute, value));
+    return getWebDriverWait("waitForDomAttributeToBe")
+        .until(ExpectedConditions.domAttributeToBe(element, attribute, value));
   }
 
   // Wait for an element's DOM property to be a specific value
   public boolean waitForDomPropertyToBe(WebElement element, String property, String value) {
-    return getWebDriverWait().until(ExpectedConditions.domPropertyToBe(element, property, value));
+    return getWebDriverWait("waitForDomPropertyToBe")
+        .until(ExpectedConditions.domPropertyToBe(element, property, value));
   }
 
   // Wait for an element's selection state to be a specific value
   public boolean waitForElementSelectionStateToBe(By locator, boolean selected) {
-    return getWebDriverWait()
-        .until(ExpectedConditions.elementSelectionStateToBe(locator, selected));
+    return untilWithLearnedTimeout(
+        "waitForElementSelectionStateToBe",
+        ExpectedConditions.elementSelectionStateToBe(optimize(locator), selected));
   }
 
   // Wait for an element to be selected
   public boolean waitForElementToBeSelected(By locator) {
-    return getWebDriverWait().until(ExpectedConditions.elementToBeSelected(locator));
+    return untilWithLearnedTimeout(
+        "waitForElementToBeSelected", ExpectedConditions.elementToBeSelected(optimize(locator)));
   }
 
   // Wait for an element to be invisible
   public boolean waitForInvisibilityOfElement(By locator) {
-    return getWebDriverWait().until(ExpectedConditions.invisibilityOfElementLocated(locator));
+    return untilWithLearnedTimeoutExpectingTimeouts(
+        "waitForInvisibilityOfElement",
+        ExpectedConditions.invisibilityOfElementLocated(optimize(locator)));
   }
 
   // Wait for an element with specific text to be invisible
   public boolean waitForInvisibilityOfElementWithText(By locator, String text) {
-    return getWebDriverWait()
-        .until(ExpectedConditions.invisibilityOfElementWithText(locator, text));
+    return untilWithLearnedTimeoutExpectingTimeouts(
+        "waitForInvisibilityOfElementWithText",
+        ExpectedConditions.invisibilityOfElementWithText(optimize(locator), text));
   }
 
   // Wait for JavaScript to execute without exceptions
   public boolean waitForJavaScriptThrowsNoExceptions(String javaScript) {
-    return getWebDriverWait().until(ExpectedConditions.javaScriptThrowsNoExceptions(javaScript));
+    return getWebDriverWait("waitForJavaScriptThrowsNoExceptions")
+        .until(ExpectedConditions.javaScriptThrowsNoExceptions(javaScript));
   }
 
   // Wait for JavaScript to return a value
   public Object waitForJsReturnsValue(String javaScript) {
-    return getWebDriverWait().until(ExpectedConditions.jsReturnsValue(javaScript));
+    return getWebDriverWait("waitForJsReturnsValue")
+        .until(ExpectedConditions.jsReturnsValue(javaScript));
   }
 
   // Wait for a condition to be false
   public boolean waitForNot(ExpectedCondition<?> condition) {
-    return getWebDriverWait().until(ExpectedConditions.not(condition));
+    return getWebDriverWait("waitForNot").until(ExpectedConditions.not(condition));
   }
 
   // Wait for a specific number of elements to be present
   public List<WebElement> waitForNumberOfElementsToBe(By locator, Integer number) {
-    return getWebDriverWait().until(ExpectedConditions.numberOfElementsToBe(locator, number));
+    return untilWithLearnedTimeout(
+        "waitForNumberOfElementsToBe",
+        ExpectedConditions.numberOfElementsToBe(optimize(locator), number));
   }
 
   // Wait for the number of elements to be less than a specific number
   public List<WebElement> waitForNumberOfElementsToBeLessThan(By locator, Integer number) {
-    return getWebDriverWait()
-        .until(ExpectedConditions.numberOfElementsToBeLessThan(locator, number));
+    return untilWithLearnedTimeout(
+        "waitForNumberOfElementsToBeLessThan",
+        ExpectedConditions.numberOfElementsToBeLessThan(optimize(locator), number));
   }
 
   // Wait for the number of elements to be more than a specific number
   public List<WebElement> waitForNumberOfElementsToBeMoreThan(By locator, Integer number) {
-    return getWebDriverWait()
-        .until(ExpectedConditions.numberOfElementsToBeMoreThan(locator, number));
+    return untilWithLearnedTimeout(
+        "waitForNumberOfElementsToBeMoreThan",
+        ExpectedConditions.numberOfElementsToBeMoreThan(optimize(locator), number));
   }
 
   // Wait for the number of windows to be a specific number
   public boolean waitForNumberOfWindowsToBe(int expectedNumberOfWindows) {
-    return getWebDriverWait()
+    return getWebDriverWait("waitForNumberOfWindowsToBe")
         .until(ExpectedConditions.numberOfWindowsToBe(expectedNumberOfWindows));
   }
 
   // Wait for multiple conditions to be true (logical OR)
   public boolean waitForOr(ExpectedCondition<?>... conditions) {
-    return getWebDriverWait().until(ExpectedConditions.or(conditions));
+    return getWebDriverWait("waitForOr").until(ExpectedConditions.or(conditions));
   }
 
   // Wait for all elements to be present
   public List<WebElement> waitForPresenceOfAllElementsLocatedBy(By locator) {
-    return getWebDriverWait().until(ExpectedConditions.presenceOfAllElementsLocatedBy(locator));
+    return untilWithLearnedTimeout(
+        "waitForPresenceOfAllElementsLocatedBy",
+        ExpectedConditions.presenceOfAllElementsLocatedBy(optimize(locator)));
   }
 
   // Wait for a nested element to be present
   public WebElement waitForPresenceOfNestedElementLocatedBy(By locator, By childLocator) {
-    return getWebDriverWait()
-        .until(ExpectedConditions.presenceOfNestedElementLocatedBy(locator, childLocator));
+    return untilWithLearnedTimeout(
+        "waitForPresenceOfNestedElementLocatedBy",
+        ExpectedConditions.presenceOfNestedElementLocatedBy(optimize(locator), childLocator));
   }
 
   // Wait for a nested element to be present within a parent element
   public WebElement waitForPresenceOfNestedElementLocatedBy(WebElement element, By childLocator) {
-    return getWebDriverWait()
+    return getWebDriverWait("waitForPresenceOfNestedElementLocatedBy")
         .until(ExpectedConditions.presenceOfNestedElementLocatedBy(element, childLocator));
   }
 
   // Wait for a condition to be refreshed
   public <T> T waitForRefreshed(ExpectedCondition<T> condition) {
-    return getWebDriverWait().until(ExpectedConditions.refreshed(condition));
+    return getWebDriverWait("waitForRefreshed").until(ExpectedConditions.refreshed(condition));
   }
 
   // Wait for an element to be stale
   public boolean waitForStalenessOf(WebElement element) {
-    return getWebDriverWait().until(ExpectedConditions.stalenessOf(element));
+    return getWebDriverWait("waitForStalenessOf").until(ExpectedConditions.stalenessOf(element));
   }
 
   // Wait for an element's text to match a pattern
   public boolean waitForTextMatches(By locator, Pattern pattern) {
-    return getWebDriverWait().until(ExpectedConditions.textMatches(locator, pattern));
+    return untilWithLearnedTimeout(
+        "waitForTextMatches", ExpectedConditions.textMatches(optimize(locator), pattern));
   }
 
   // Wait for an element's text to be a specific value
   public boolean waitForTextToBe(By locator, String value) {
-    return getWebDriverWait().until(ExpectedConditions.textToBe(locator, value));
+    return untilWithLearnedTimeout(
+        "waitForTextToBe", ExpectedConditions.textToBe(optimize(locator), value));
   }
 
   // Wait for text to be present in an element
   public boolean waitForTextToBePresentInElement(WebElement element, String text) {
-    return getWebDriverWait().until(ExpectedConditions.textToBePresentInElement(element, text));
+    return getWebDriverWait("waitForTextToBePresentInElement")
+        .until(ExpectedConditions.textToBePresentInElement(element, text));
   }
 
   // Wait for text to be present in an element located by a locator
   public boolean waitForTextToBePresentInElementLocated(By locator, String text) {
-    return getWebDriverWait()
-        .until(ExpectedConditions.textToBePresentInElementLocated(locator, text));
+    return untilWithLearnedTimeout(
+        "waitForTextToBePresentInElementLocated",
+        ExpectedConditions.textToBePresentInElementLocated(optimize(locator), text));
   }
 
   // Wait for text to be present in an element's value attribute
   public boolean waitForTextToBePresentInElementValue(By locator, String text) {
-    return getWebDriverWait()
-        .until(ExpectedConditions.textToBePresentInElementValue(locator, text));
+    return untilWithLearnedTimeout(
+        "waitForTextToBePresentInElementValue",
+        ExpectedConditions.textToBePresentInElementValue(optimize(locator), text));
   }
 
   // Wait for the title to contain a specific substring
   public boolean waitForTitleContains(String title) {
-    return getWebDriverWait().until(ExpectedConditions.titleContains(title));
+    return getWebDriverWait("waitForTitleContains").until(ExpectedConditions.titleContains(title));
   }
 
   // Wait for the title to be a specific value
   public boolean waitForTitleIs(String title) {
-    return getWebDriverWait().until(ExpectedConditions.titleIs(title));
+    return getWebDriverWait("waitForTitleIs").until(ExpectedConditions.titleIs(title));
   }
 
   // Wait for the URL to contain a specific text
   public boolean waitForUrlContains(String fraction) {
-    return getWebDriverWait().until(ExpectedConditions.urlContains(fraction));
+    return getWebDriverWait("waitForUrlContains").until(ExpectedConditions.urlContains(fraction));
   }
 
   // Wait for the URL to match a specific regex
   public boolean waitForUrlMatches(String regex) {
-    return getWebDriverWait().until(ExpectedConditions.urlMatches(regex));
+    return getWebDriverWait("waitForUrlMatches").until(ExpectedConditions.urlMatches(regex));
   }
 
   // Wait for the URL to be a specific value
   public boolean waitForUrlToBe(String url) {
-    return getWebDriverWait().until(ExpectedConditions.urlToBe(url));
+    return getWebDriverWait("waitForUrlToBe").until(ExpectedConditions.urlToBe(url));
   }
 
   // Wait for a nested element to be visible within a parent element
   public List<WebElement> waitForVisibilityOfNestedElementsLocatedBy(
       WebElement element, By childLocator) {
-    return getWebDriverWait()
+    return getWebDriverWait("waitForVisibilityOfNestedElementsLocatedBy")
         .until(ExpectedConditions.visibilityOfNestedElementsLocatedBy(element, childLocator));
   }
 
+  // Wait for an element to stop moving, resizing and fading (e.g. animated dropdown menus)
+  public WebElement waitForElementToBeVisuallyStable(By locator) {
+    return untilWithLearnedTimeout(
+        "waitForElementToBeVisuallyStable", visualStabilityOfElementLocated(locator));
+  }
+
+  public WebElement waitForElementToBeVisuallyStable(By locator, int duration) {
+    return getWebDriverWait("waitForElementToBeVisuallyStable", duration)
+        .until(visualStabilityOfElementLocated(locator));
+  }
+
+  private static ExpectedCondition<WebElement> visualStabilityOfElementLocated(By locator) {
+    return new ExpectedCondition<>() {
+      @Override
+      public WebElement apply(WebDriver driver) {
+        var element = driver.findElement(optimize(locator));
+        try {
+          var isStable =
+              ((JavascriptExecutor) driver).executeAsyncScript(VISUAL_STABILITY_SCRIPT, element);
+          return Boolean.TRUE.equals(isStable) ? element : null;
+        } catch (StaleElementReferenceException _) {
+          return null;
+        }
+      }
+
+      @Override
+      public String toString() {
+        return "visual stability of element located by " + locator;
+      }
+    };
+  }
+
+  // Wait for a custom condition, e.g. one script which checks and reads many elements at once
+  public <T> T waitFor(ExpectedCondition<T> condition) {
+    return untilWithLearnedTimeout("waitFor", condition, FAST_POLLING_INTERVAL);
+  }
+
+  public <T> T waitFor(ExpectedCondition<T> condition, int duration) {
+    return getWebDriverWait("waitFor", duration)
+        .pollingEvery(FAST_POLLING_INTERVAL)
+        .until(condition);
+  }
+
+  // Wait for an element to be visible, enabled, scrolled into view and not covered by another
+  // element, checked with one script call per poll. Used by click and text entry
+  public WebElement waitForElementToBeReadyForAction(By locator, boolean isTextEntry) {
+    var condition = new ReadinessForAction(locator, isTextEntry, ElementCache.forDriver(driver));
+    return getLearnedWait("waitForElementToBeReadyForAction", false)
+        .pollingEvery(FAST_POLLING_INTERVAL)
+        .withMessage(condition::getLastState)
+        .until(condition);
+  }
+
+  public WebElement waitForElementToBeReadyForAction(
+      By locator, boolean isTextEntry, int duration) {
+    var condition = new ReadinessForAction(locator, isTextEntry, ElementCache.forDriver(driver));
+    return getWebDriverWait("waitForElementToBeReadyForAction", duration)
+        .pollingEvery(FAST_POLLING_INTERVAL)
+        .withMessage(condition::getLastState)
+        .until(condition);
+  }
+
+  // The element is taken from the ElementCache if it has one, checked by the same script call
+  private static class ReadinessForAction implements ExpectedCondition<WebElement> {
+
+    private final By locator;
+    private final boolean isTextEntry;
+    private final String[] locatorArguments;
+    private final ElementCache elementCache;
+    private WebElement cachedElement;
+    private String lastState = "not checked";
+
+    private ReadinessForAction(By locator, boolean isTextEntry, ElementCache elementCache) {
+      this.locator = locator;
+      this.isTextEntry = isTextEntry;
+      this.locatorArguments = InBrowserLocator.getArguments(locator);
+      this.elementCache = elementCache;
+      if (elementCache != null) {
+        cachedElement = elementCache.peek(locator);
+        if (cachedElement == null) RunMetrics.increment(ElementCache.MISSES);
+      }
+    }
+
+    @Override
+    public WebElement apply(WebDriver driver) {
+      // Locators the browser cannot resolve itself cost one extra findElement call
+      var element =
+          locatorArguments == null && cachedElement == null ? driver.findElement(locator) : null;
+      Map<?, ?> result;
+      try {
+        result =
+            (Map<?, ?>)
+                ((JavascriptExecutor) driver)
+                    .executeScript(
+                        READINESS_FOR_ACTION_SCRIPT,
+                        element,
+                        locatorArguments == null ? null : locatorArguments[0],
+                        locatorArguments == null ? null : locatorArguments[1],
+                        isTextEntry,
+                        cachedElement,
+                        cachedElement == null ? null : elementCache.getUrl());
+      } catch (StaleElementReferenceException _) {
+        if (cachedElement != null) return rejectCachedElement(driver, "stale");
+        lastState = "stale";
+        return null;
+      }
+
+      var cacheState = String.valueOf(result.get("cacheState"));
+      if (cachedElement != null && !cacheState.equals("hit"))
+        return rejectCachedElement(driver, cacheState);
+      lastState = String.valueOf(result.get("state"));
+      if (!"ready".equals(lastState)) return null;
+
+      var readyElement = (WebElement) result.get("element");
+      if (elementCache != null) {
+        if (cachedElement != null) RunMetrics.increment(ElementCache.HITS);
+        elementCache.put(locator, readyElement, String.valueOf(result.get("url")));
+      }
+      return readyElement;
+    }
+
+    // Counted once per wait, the locator is used from now on
+    private WebElement rejectCachedElement(WebDriver driver, String cacheState) {
+      if (cacheState.equals("navigated")) {
+        elementCache.clear();
+        RunMetrics.increment(ElementCache.MISSES);
+      } else {
+        elementCache.forget(locator);
+        RunMetrics.increment(ElementCache.STALE);
+      }
+      cachedElement = null;
+      return apply(driver);
+    }
+
+    private String getLastState() {
+      return "last state: " + lastState;
+    }
+
+    @Override
+    public String toString() {
+      return "element located by "
+          + locator
+          + " to be ready for "
+          + (isTextEntry ? "text entry" : "click");
+    }
+  }
+
   // Wait till page loaded properly
   public void waitForPageContentLoaded() throws InterruptedException {
     try {
@@ -292,11 +641,216 @@ public class WaitHelper {
     } catch (Exception _) {
     }
 
-    getWebDriverWait()
+    getWebDriverWait("waitForPageContentLoaded")
         .until(
             driver ->
                 ((JavascriptExecutor) driver)
                     .executeScript("return document.readyState")
                     .equals("complete"));
   }
+
+  // Action which triggers the network call awaited by waitForResponse / waitForRequest
+  @FunctionalInterface
+  public interface NetworkTrigger {
+    void run() throws InterruptedException;
+  }
+
+  // Check whether the driver session was started with BiDi (webSocketUrl capability)
+  public boolean isNetworkWaitSupported() {
+    return driver instanceof HasCapabilities hasCapabilities
+        && hasCapabilities.getCapabilities().getCapability("webSocketUrl") instanceof String;
+  }
+
+  /**
+   * Runs the trigger and waits until a response for a request matching the URL pattern and method
+   * has been received.
+   *
+   * <p>If the driver has no BiDi session, the trigger is run and the page load is awaited instead,
+   * and null is returned.
+   *
+   * @param urlPattern The pattern which has to be found in the request URL.
+   * @param method The HTTP method of the request, or null for any method.
+   * @param trigger The action which fires the request, e.g. a click.
+   * @return The matching response with its status and timing.
+   * @throws InterruptedException If the waiting process is interrupted.
+   */
+  public NetworkResponse waitForResponse(Pattern urlPattern, String method, NetworkTrigger trigger)
+      throws InterruptedException {
+    return waitForNetwork(urlPattern, method, trigger, DEFAULT_TIMEOUT, true);
+  }
+
+  public NetworkResponse waitForResponse(
+      Pattern urlPattern, String method, NetworkTrigger trigger, int duration)
+      throws InterruptedException {
+    return waitForNetwork(urlPattern, method, trigger, Duration.ofSeconds(duration), true);
+  }
+
+  /**
+   * Runs the trigger and waits until a request matching the URL pattern and method has been sent.
+   * Falls back to waiting for the page load like {@link #waitForResponse}.
+   *
+   * @param urlPattern The pattern which has to be found in the request URL.
+   * @param method The HTTP method of the request, or null for any method.
+   * @param trigger The action which fires the request, e.g. a click.
+   * @return The matching request, the status is always -1.
+   * @throws InterruptedException If the waiting process is interrupted.
+   */
+  public NetworkResponse waitForRequest(Pattern urlPattern, String method, NetworkTrigger trigger)
+      throws InterruptedException {
+    return waitForNetwork(urlPattern, method, trigger, DEFAULT_TIMEOUT, false);
+  }
+
+  public NetworkResponse waitForRequest(
+      Pattern urlPattern, String method, NetworkTrigger trigger, int duration)
+      throws InterruptedException {
+    return waitForNetwork(urlPattern, method, trigger, Duration.ofSeconds(duration), false);
+  }
+
+  private NetworkResponse waitForNetwork(
+      Pattern urlPattern,
+      String method,
+      NetworkTrigger trigger,
+      Duration ownTimeout,
+      boolean waitForResponse)
+      throws InterruptedException {
+    if (!isNetworkWaitSupported()) {
+      trigger.run();
+      waitForPageContentLoaded();
+      return null;
+    }
+
+    var description =
+        (waitForResponse ? "response of " : "request to ")
+            + (method == null ? "" : method + " ")
+            + urlPattern;
+    var timeout = DeadlineHelper.boundedTimeout(ownTimeout);
+    var result = new CompletableFuture<NetworkResponse>();
+    var start = System.nanoTime();
+
+    try (var _ = TraceHelper.span("WaitHelper", "waitForNetwork", pageObjectName, urlPattern);
+        var network = new Network(driver)) {
+      if (waitForResponse) {
+        network.onResponseCompleted(
+            response -> {
+              if (isMatchingRequest(response, urlPattern, method))
+                result.complete(
+                    new NetworkResponse(
+                        response.getRequest().getUrl(),
+                        response.getRequest().getMethod(),
+                        response.getResponseData().getStatus(),
+                        getDurationInMillis(response.getRequest().getTimings())));
+            });
+        network.onFetchError(
+            error -> {
+              if (isMatchingRequest(error, urlPattern, method))
+                result.completeExceptionally(
+                    new RuntimeException(
+                        "Request "
+                            + error.getRequest().getUrl()
+                            + " failed: "
+                            + error.getErrorText()));
+            });
+      } else {
+        network.onBeforeRequestSent(
+            request -> {
+              if (isMatchingRequest(request, urlPattern, method))
+                result.complete(
+                    new NetworkResponse(
+                        request.getRequest().getUrl(), request.getRequest().getMethod(), -1, -1));
+            });
+      }
+
+      trigger.run();
+      return result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (java.util.concurrent.TimeoutException e) {
+      if (timeout.compareTo(ownTimeout) < 0)
+        throw DeadlineHelper.exceeded("waiting for " + description, e);
+      throw new TimeoutException(
+          "Expected " + description + " within " + timeout.toSeconds() + " seconds", e);
+    } catch (ExecutionException e) {
+      throw new RuntimeException(e.getCause().getMessage(), e.getCause());
+    } finally {
+      DeadlineHelper.record("wait for " + description, System.nanoTime() - start);
+    }
+  }
+
+  private static boolean isMatchingRequest(
+      BaseParameters event, Pattern urlPattern, String method) {
+    var request = event.getRequest();
+    return urlPattern.matcher(request.getUrl()).find()
+        && (method == null || method.equalsIgnoreCase(request.getMethod()));
+  }
+
+  private static double getDurationInMillis(FetchTimingInfo timings) {
+    if (timings == null || timings.getResponseEnd() <= 0 || timings.getRequestTime() <= 0)
+      return -1;
+    return timings.getResponseEnd() - timings.getRequestTime();
+  }
+
+  // WebDriverWait whose timeout is capped by the remaining per-test deadline (see DeadlineHelper).
+  // When learning, waits are recorded for the learned timeouts of the page object, including the
+  // ones which timed out unless a timeout is an expected answer. Every wait is a span in the trace
+  // (see TraceHelper).
+  private static class DeadlineAwareWait extends WebDriverWait {
+
+    private final boolean isLimitedByDeadline;
+    private final String operation;
+    private final String pageObjectName;
+    private final boolean isLearning;
+    private final boolean isTimeoutExpected;
+
+    private DeadlineAwareWait(
+        WebDriver driver,
+        Duration ownTimeout,
+        String operation,
+        String pageObjectName,
+        boolean isLearning,
+        boolean isTimeoutExpected) {
+      this(
+          driver,
+          ownTimeout,
+          DeadlineHelper.boundedTimeout(ownTimeout),
+          operation,
+          pageObjectName,
+          isLearning,
+          isTimeoutExpected);
+    }
+
+    private DeadlineAwareWait(
+        WebDriver driver,
+        Duration ownTimeout,
+        Duration timeout,
+        String operation,
+        String pageObjectName,
+        boolean isLearning,
+        boolean isTimeoutExpected) {
+      super(driver, timeout);
+      this.isLimitedByDeadline = timeout.compareTo(ownTimeout) < 0;
+      this.operation = operation;
+      this.pageObjectName = pageObjectName;
+      this.isLearning = isLearning;
+      this.isTimeoutExpected = isTimeoutExpected;
+    }
+
+    @Override
+    public <V> V until(Function<? super WebDriver, V> isTrue) {
+      var start = System.nanoTime();
+      try (var _ = TraceHelper.span("WaitHelper", operation, pageObjectName, isTrue)) {
+        var result = super.until(isTrue);
+        if (isLearning)
+          AdaptiveTimeoutHelper.record(
+              pageObjectName, "wait", Duration.ofNanos(System.nanoTime() - start));
+        return result;
+      } catch (TimeoutException e) {
+        if (isLimitedByDeadline) throw DeadlineHelper.exceeded("waiting for " + isTrue, e);
+        // A timeout is a sample too, otherwise a learned timeout could only ever shrink
+        if (isLearning && !isTimeoutExpected)
+          AdaptiveTimeoutHelper.record(
+              pageObjectName, "wait", Duration.ofNanos(System.nanoTime() - start));
+        throw e;
+      } finally {
+        DeadlineHelper.record("wait for " + isTrue, System.nanoTime() - start);
+      }
+    }
+  }
 }
@@ -1,19 +1,129 @@
 package elementHelper.web;
 
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
 import com.selenium.testng.elite.utils.PathHelper;
+import com.selenium.testng.elite.utils.RunMetrics;
+import elementHelper.DeadlineHelper;
+import elementHelper.TraceHelper;
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchService;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
-import java.util.Collection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
 import java.util.List;
-import java.util.function.Function;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.zip.CRC32C;
+import lombok.Builder;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.tuple.Pair;
-import org.openqa.selenium.support.ui.FluentWait;
 
 public class FileHelper {
 
+  public static final String BYTES_VERIFIED = "download bytes verified";
+
+  // Suffixes of the files Chrome, Edge and Firefox write to while a download is in progress
+  private static final List<String> IN_PROGRESS_SUFFIXES = List.of(".crdownload", ".part");
+  private static final Duration FALLBACK_POLLING_INTERVAL = Duration.ofMillis(250);
+
+  // Download folder of the test running on the current thread, see createDownloadFolder
+  private static final ThreadLocal<String> currentDownloadFolder = new ThreadLocal<>();
+  private static final AtomicInteger downloadFolderCount = new AtomicInteger();
+  private static final Set<CompletableFuture<Void>> pendingDeletes = ConcurrentHashMap.newKeySet();
+  private static final ExecutorService deleteExecutor =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            var thread = new Thread(runnable, "download-folder-cleanup");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  // Downloads are verified in chunks, so even files of several hundred MB need little memory
+  private static final int VERIFICATION_BUFFER_SIZE = 1024 * 1024;
+  private static final ExecutorService verificationExecutor =
+      Executors.newFixedThreadPool(
+          Math.clamp(Runtime.getRuntime().availableProcessors(), 1, 4),
+          runnable -> {
+            var thread = new Thread(runnable, "download-verification");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  // Leading bytes of the binary formats tests download, checked before the file extension
+  private static final List<MimeSignature> MIME_SIGNATURES =
+      List.of(
+          new MimeSignature("application/pdf", '%', 'P', 'D', 'F', '-'),
+          new MimeSignature("image/png", 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'),
+          new MimeSignature("image/jpeg", 0xFF, 0xD8, 0xFF),
+          new MimeSignature("image/gif", 'G', 'I', 'F', '8'),
+          new MimeSignature("application/gzip", 0x1F, 0x8B),
+          new MimeSignature("application/zip", 'P', 'K', 0x03, 0x04));
+
+  /**
+   * Creates a download folder of its own for the test running on the current thread, so that
+   * parallel tests never see or delete each other's downloads. Has to be called before the driver
+   * is created, which reads the folder from {@link #getDownloadFolderPath()}.
+   *
+   * @param testName The name of the test, used in the folder name.
+   * @return The path of the folder, ending with a slash.
+   */
+  public static String createDownloadFolder(String testName) {
+    var folderName =
+        testName.replaceAll("[^A-Za-z0-9._-]", "_") + "-" + downloadFolderCount.incrementAndGet();
+    var folder = Path.of(PathHelper.getDownloadFolderPath(), folderName);
+    try {
+      Files.createDirectories(folder);
+    } catch (IOException e) {
+      throw new RuntimeException("Download folder " + folder + " could not be created", e);
+    }
+    currentDownloadFolder.set(folder + File.separator);
+    return currentDownloadFolder.get();
+  }
+
+  /**
+   * Returns the download folder of the test running on the current thread, or the shared download
+   * folder if the test did not create one.
+   *
+   * @return The path of the folder, ending with a slash.
+   */
+  public static String getDownloadFolderPath() {
+    var folder = currentDownloadFolder.get();
+    return folder != null ? folder : PathHelper.getDownloadFolderPath();
+  }
+
+  /**
+   * Deletes the download folder of the test running on the current thread in the background, so
+   * the next test does not wait for it. Called at the end of the test, after the driver quit.
+   */
+  public static void deleteDownloadFolder() {
+    var folder = currentDownloadFolder.get();
+    currentDownloadFolder.remove();
+    if (folder == null) return;
+    var delete =
+        CompletableFuture.runAsync(() -> FileUtils.deleteQuietly(new File(folder)), deleteExecutor);
+    pendingDeletes.add(delete);
+    delete.whenComplete((_, _) -> pendingDeletes.remove(delete));
+  }
+
   /**
    * Gets the full path of the uploaded files by concatenating the upload directory path with the
    * file name.
@@ -49,50 +159,359 @@ public class FileHelper {
    *     than 0, and a string listing the files available in the download folder.
    */
   static Pair<Boolean, String> isFileExists(String fileName, int timeInSeconds) {
+    return isFileExists(fileName, Duration.ofSeconds(timeInSeconds));
+  }
+
+  /**
+   * Checks if a file with the specified name exists in the download folder within the specified
+   * time period.
+   *
+   * @param fileName The name of the file to check for existence.
+   * @param ownTimeout The time period to wait for the file to exist.
+   * @return A pair containing a boolean indicating whether the file exists and has a size greater
+   *     than 0, and a string listing the files available in the download folder.
+   */
+  static Pair<Boolean, String> isFileExists(String fileName, Duration ownTimeout) {
+    return areFilesDownloaded(List.of(fileName), ownTimeout);
+  }
+
+  /**
+   * Waits until all files are downloaded to the download folder. The folder is watched for changes,
+   * so the wait ends as soon as the last file is complete. A file is complete when it is not empty
+   * and the browser no longer writes to a .crdownload or .part file for it.
+   *
+   * @param fileNames The names of the files to wait for.
+   * @param ownTimeout The time period to wait for the files.
+   * @return A pair containing a boolean indicating whether all files are complete, and a string
+   *     listing the files available in the download folder.
+   */
+  static Pair<Boolean, String> areFilesDownloaded(List<String> fileNames, Duration ownTimeout) {
+    var dir = Path.of(getDownloadFolderPath());
+    var timeout = DeadlineHelper.boundedTimeout(ownTimeout);
+    var description = String.join(", ", fileNames);
+
+    var filesDownloaded = false;
+    var start = System.nanoTime();
+    try (var _ = TraceHelper.span("FileHelper", "areFilesDownloaded", null, description)) {
+      filesDownloaded = waitForFiles(dir, fileNames, start + timeout.toNanos());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    DeadlineHelper.record("wait for file " + description, System.nanoTime() - start);
+    if (!filesDownloaded && timeout.compareTo(ownTimeout) < 0)
+      throw DeadlineHelper.exceeded("waiting for file " + description, null);
+
+    return Pair.of(filesDownloaded, "\nFiles available in download folder:\n" + listFiles(dir));
+  }
+
+  // Checks again on every change in the folder. The poll timeout is the fallback for file systems
+  // whose watch service misses or delays events (e.g. network drives, or polling on macOS)
+  private static boolean waitForFiles(Path dir, List<String> fileNames, long deadlineNanos)
+      throws InterruptedException {
+    WatchService watchService = null;
+    try {
+      watchService = dir.getFileSystem().newWatchService();
+      dir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+    } catch (IOException | UnsupportedOperationException _) {
+      closeQuietly(watchService);
+      watchService = null;
+    }
+
+    try {
+      // Checked after registering, so a file completed in between is not missed
+      while (!areFilesComplete(dir, fileNames)) {
+        var remainingNanos = deadlineNanos - System.nanoTime();
+        if (remainingNanos <= 0) return false;
+        var waitNanos = Math.min(remainingNanos, FALLBACK_POLLING_INTERVAL.toNanos());
+        if (watchService == null) {
+          TimeUnit.NANOSECONDS.sleep(waitNanos);
+          continue;
+        }
+        var key = watchService.poll(waitNanos, TimeUnit.NANOSECONDS);
+        if (key != null) {
+          key.pollEvents();
+          key.reset();
+        }
+      }
+      return true;
+    } finally {
+      closeQuietly(watchService);
+    }
+  }
+
+  private static boolean areFilesComplete(Path dir, List<String> fileNames) {
+    for (var fileName : fileNames) {
+      try {
+        if (Files.size(dir.resolve(fileName)) == 0) return false;
+      } catch (IOException _) {
+        return false;
+      }
+      // Firefox keeps an empty file with the final name next to the .part file until it is done
+      for (var suffix : IN_PROGRESS_SUFFIXES)
+        if (Files.exists(dir.resolve(fileName + suffix))) return false;
+    }
+    return true;
+  }
+
+  // Only the download folder itself, in progress downloads are marked
+  private static String listFiles(Path dir) {
+    try (var files = Files.list(dir)) {
+      return files
+          .map(file -> file.getFileName().toString())
+          .filter(fileName -> !fileName.equals(".gitkeep"))
+          .sorted()
+          .map(
+              fileName ->
+                  IN_PROGRESS_SUFFIXES.stream().anyMatch(fileName::endsWith)
+                      ? fileName + " (in progress)"
+                      : fileName)
+          .collect(Collectors.joining("\n"));
+    } catch (IOException e) {
+      return "Download folder could not be listed: " + e.getMessage();
+    }
+  }
+
+  private static void closeQuietly(WatchService watchService) {
+    if (watchService == null) return;
+    try {
+      watchService.close();
+    } catch (IOException _) {
+    }
+  }
+
+  /**
+   * The result of verifying a downloaded file. The checksums and the counts are only computed when
+   * an expected value was given, and are null otherwise.
+   *
+   * @param fileName The name of the file.
+   * @param size The size of the file in bytes.
+   * @param sha256 The SHA-256 of the file as hex, or null.
+   * @param crc32c The CRC32C of the file as 8 hex digits, or null.
+   * @param mimeType The MIME type sniffed from the leading bytes and the file extension.
+   * @param lineCount The number of lines, counting a last line without a line break, or null.
+   * @param recordCount The number of CSV records including the header, or null. Unlike the lines,
+   *     a line break inside a quoted value does not end a record.
+   * @param megabytesPerSecond The throughput of the verification.
+   * @param mismatches A description of every expectation the file did not meet.
+   */
+  public record FileVerification(
+      String fileName,
+      long size,
+      String sha256,
+      String crc32c,
+      String mimeType,
+      Long lineCount,
+      Long recordCount,
+      double megabytesPerSecond,
+      List<String> mismatches) {
+
+    public boolean isValid() {
+      return mismatches.isEmpty();
+    }
+
+    public String getMessage() {
+      var message = "\nVerified " + fileName + ": " + size + " bytes, " + mimeType;
+      if (sha256 != null) message += ", SHA-256 " + sha256;
+      if (crc32c != null) message += ", CRC32C " + crc32c;
+      if (lineCount != null) message += ", " + lineCount + " lines";
+      if (recordCount != null) message += ", " + recordCount + " records";
+      message += String.format(" at %.1f MB/s", megabytesPerSecond);
+      return isValid() ? message : message + "\nMismatches:\n" + String.join("\n", mismatches);
+    }
+  }
+
+  /**
+   * Verifies a file in the download folder of the current test against the expected values. The
+   * file is streamed in chunks of 1 MB, so large files are not read into memory, and only the
+   * checksums which are expected are computed. Files which are truncated or still being written
+   * show up as size or checksum mismatches.
+   *
+   * @param fileName The name of the file in the download folder.
+   * @param expectedSize The expected size in bytes (optional).
+   * @param expectedSha256 The expected SHA-256 as hex (optional).
+   * @param expectedCrc32c The expected CRC32C as hex (optional).
+   * @param expectedMimeType The expected MIME type, e.g. text/csv or application/pdf (optional).
+   * @param expectedLineCount The expected number of lines. Line breaks inside quoted CSV values are
+   *     counted as well, see expectedRecordCount (optional).
+   * @param expectedRecordCount The expected number of CSV records including the header. Quoted
+   *     values may contain line breaks and "" escaped quotes (optional).
+   * @param async Whether to verify on a background thread, so the test can carry on (optional).
+   * @return The verification, already completed unless async is true.
+   */
+  @Builder(builderMethodName = "verifyDownloadBuilder")
+  public static CompletableFuture<FileVerification> verifyDownload(
+      String fileName,
+      Long expectedSize,
+      String expectedSha256,
+      String expectedCrc32c,
+      String expectedMimeType,
+      Long expectedLineCount,
+      Long expectedRecordCount,
+      Boolean async) {
+    if (fileName == null) throw new RuntimeException("fileName cannot be null");
+
+    // Resolved on the test thread, the download folder is per thread
+    var file = Path.of(getDownloadFolderPath(), fileName);
+    Supplier<FileVerification> verification =
+        () ->
+            verify(
+                file,
+                expectedSize,
+                expectedSha256,
+                expectedCrc32c,
+                expectedMimeType,
+                expectedLineCount,
+                expectedRecordCount);
+    if (Boolean.TRUE.equals(async))
+      return CompletableFuture.supplyAsync(verification, verificationExecutor);
+    return CompletableFuture.completedFuture(verification.get());
+  }
+
+  private static FileVerification verify(
+      Path file,
+      Long expectedSize,
+      String expectedSha256,
+      String expectedCrc32c,
+      String expectedMimeType,
+      Long expectedLineCount,
+      Long expectedRecordCount) {
+    var fileName = file.getFileName().toString();
+    var mismatches = new ArrayList<String>();
+    if (!Files.isRegularFile(file)) {
+      mismatches.add(fileName + " does not exist in the download folder");
+      return new FileVerification(fileName, 0, null, null, null, null, null, 0, mismatches);
+    }
+
+    var sha256 = expectedSha256 != null ? newSha256Digest() : null;
+    var crc32c = expectedCrc32c != null ? new CRC32C() : null;
+    var lineCount = expectedLineCount != null ? 0L : null;
+    var recordCount = expectedRecordCount != null ? 0L : null;
+    var isInQuotes = false;
+    var size = 0L;
+    var lastByte = (byte) '\n';
+    String mimeType = null;
 
-    File dir = new File(PathHelper.getDownloadFolderPath());
-
-    FluentWait<File> wait =
-        new FluentWait<>(dir)
-            .withTimeout(Duration.ofSeconds(timeInSeconds))
-            .pollingEvery(Duration.ofSeconds(2)) // Check every 2 seconds
-            .ignoring(Exception.class); // Ignore any exceptions during the wait
-
-    Function<File, Boolean> checkForFile =
-        fileDir -> {
-          var files = fileDir.listFiles();
-          if (files == null) return false;
-          for (File file : files) {
-            if (file.getName().equals(fileName) && file.length() > 0) {
-              return true;
-            }
+    var start = System.nanoTime();
+    try (var _ = TraceHelper.span("FileHelper", "verifyDownload", null, fileName);
+        var channel = FileChannel.open(file)) {
+      var buffer = ByteBuffer.allocate(VERIFICATION_BUFFER_SIZE);
+      while (channel.read(buffer) != -1) {
+        buffer.flip();
+        if (mimeType == null) mimeType = sniffMimeType(buffer, fileName);
+        if (sha256 != null) sha256.update(buffer.duplicate());
+        if (crc32c != null) crc32c.update(buffer.duplicate());
+        if (lineCount != null)
+          for (int i = 0; i < buffer.limit(); i++) if (buffer.array()[i] == '\n') lineCount++;
+        // An escaped quote "" toggles twice, so only line breaks outside quoted values end a record
+        if (recordCount != null)
+          for (int i = 0; i < buffer.limit(); i++) {
+            var b = buffer.array()[i];
+            if (b == '"') isInQuotes = !isInQuotes;
+            else if (b == '\n' && !isInQuotes) recordCount++;
           }
-          return false;
-        };
+        if (buffer.hasRemaining()) lastByte = buffer.get(buffer.limit() - 1);
+        size += buffer.remaining();
+        buffer.clear();
+      }
+    } catch (IOException e) {
+      throw new RuntimeException("File " + file + " could not be verified", e);
+    }
+    var elapsedSeconds = Math.max(System.nanoTime() - start, 1) / 1e9;
+    RunMetrics.add(BYTES_VERIFIED, size);
 
-    // Check if the file exists
-    var fileExists = false;
+    if (lineCount != null && lastByte != '\n') lineCount++;
+    if (recordCount != null && (lastByte != '\n' || isInQuotes)) recordCount++;
+    if (mimeType == null) mimeType = "application/x-empty";
+    var sha256Hex = sha256 != null ? HexFormat.of().formatHex(sha256.digest()) : null;
+    var crc32cHex = crc32c != null ? String.format("%08x", crc32c.getValue()) : null;
+
+    if (size == 0) mismatches.add("File is empty");
+    if (expectedSize != null && size != expectedSize)
+      mismatches.add("Size is " + size + " bytes instead of " + expectedSize);
+    if (sha256Hex != null && !sha256Hex.equalsIgnoreCase(expectedSha256))
+      mismatches.add("SHA-256 is " + sha256Hex + " instead of " + expectedSha256);
+    if (crc32cHex != null && !crc32cHex.equalsIgnoreCase(expectedCrc32c))
+      mismatches.add("CRC32C is " + crc32cHex + " instead of " + expectedCrc32c);
+    if (expectedMimeType != null && !mimeType.equalsIgnoreCase(expectedMimeType))
+      mismatches.add("MIME type is " + mimeType + " instead of " + expectedMimeType);
+    if (lineCount != null && !lineCount.equals(expectedLineCount))
+      mismatches.add("File has " + lineCount + " lines instead of " + expectedLineCount);
+    if (recordCount != null && !recordCount.equals(expectedRecordCount))
+      mismatches.add("File has " + recordCount + " records instead of " + expectedRecordCount);
+
+    return new FileVerification(
+        fileName,
+        size,
+        sha256Hex,
+        crc32cHex,
+        mimeType,
+        lineCount,
+        recordCount,
+        size / 1e6 / elapsedSeconds,
+        mismatches);
+  }
+
+  private static MessageDigest newSha256Digest() {
     try {
-      fileExists = wait.until(checkForFile);
-    } catch (Exception e) {
-      fileExists = false;
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new RuntimeException("SHA-256 is not available", e);
+    }
+  }
+
+  // Binary formats by their leading bytes, text (no NUL byte in the first chunk) by extension
+  private static String sniffMimeType(ByteBuffer head, String fileName) {
+    var bytes = new byte[Math.min(head.remaining(), 8192)];
+    head.duplicate().get(bytes);
+    var dot = fileName.lastIndexOf('.');
+    var extension = dot == -1 ? "" : fileName.substring(dot + 1).toLowerCase(Locale.ROOT);
+    for (var signature : MIME_SIGNATURES) {
+      if (!signature.matches(bytes)) continue;
+      if (!signature.mimeType().equals("application/zip")) return signature.mimeType();
+      return switch (extension) {
+        case "xlsx" -> "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+        case "docx" -> "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+        default -> signature.mimeType();
+      };
     }
+    for (var b : bytes) if (b == 0) return "application/octet-stream";
+    return switch (extension) {
+      case "csv" -> "text/csv";
+      case "json" -> "application/json";
+      case "xml" -> "application/xml";
+      case "html", "htm" -> "text/html";
+      default -> "text/plain";
+    };
+  }
+
+  private record MimeSignature(String mimeType, byte[] magic) {
 
-    Collection<File> files = FileUtils.listFiles(dir, null, true);
-    var fileNames = files.stream().map(File::getName).toList();
-    var fileInFolder = "\nFiles available in download folder:\n" + String.join("\n", fileNames);
-    return Pair.of(fileExists, fileInFolder);
+    MimeSignature(String mimeType, int... magic) {
+      this(mimeType, toBytes(magic));
+    }
+
+    boolean matches(byte[] head) {
+      return Arrays.equals(head, 0, Math.min(head.length, magic.length), magic, 0, magic.length);
+    }
+
+    private static byte[] toBytes(int[] magic) {
+      var bytes = new byte[magic.length];
+      for (int i = 0; i < magic.length; i++) bytes[i] = (byte) magic[i];
+      return bytes;
+    }
   }
 
   /**
-   * Deletes all files in the download folder except the .gitkeep file. This method cleans the
-   * download directory by removing all files present within it.
+   * Deletes all files and test download folders in the download folder except the .gitkeep file,
+   * after the test download folders still being deleted in the background.
    */
   public static void deleteAllFiles() {
+    CompletableFuture.allOf(pendingDeletes.toArray(CompletableFuture[]::new)).join();
     var dir = new File(PathHelper.getDownloadFolderPath());
-    var getAllFileInDownloadFolder = FileUtils.listFiles(dir, null, true);
+    var getAllFileInDownloadFolder = dir.listFiles();
+    if (getAllFileInDownloadFolder == null) return;
 
-    getAllFileInDownloadFolder.stream()
+    Arrays.stream(getAllFileInDownloadFolder)
         .filter(file -> !file.getName().equals(".gitkeep"))
         .forEach(
             file -> {
@@ -110,7 +529,7 @@ public class FileHelper {
    * @param fileName The name of the file to delete.
    */
   static void deleteFile(String fileName) {
-    var file = new File(PathHelper.getDownloadFolderPath() + fileName);
+    var file = new File(getDownloadFolderPath() + fileName);
     try {
       FileUtils.forceDelete(file);
     } catch (IOException _) {
@@ -0,0 +1,164 @@
+package elementHelper.web;
+
+import elementHelper.DeadlineHelper;
+import elementHelper.TraceHelper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Downloads a file with a plain HTTP request instead of the browser, for tests which only need to
+ * know that the file is served. The request carries the cookies and user agent of the browser
+ * session, so it is authenticated like the browser would be. The body is streamed to disk while its
+ * size and SHA-256 are computed.
+ */
+public class HttpDownloadHelper {
+
+  // Shared by all tests, the client keeps connections to the same host open between downloads
+  private static final HttpClient httpClient =
+      HttpClient.newBuilder()
+          .followRedirects(HttpClient.Redirect.NORMAL)
+          .connectTimeout(Duration.ofSeconds(10))
+          .build();
+
+  /**
+   * The result of a download.
+   *
+   * @param status The HTTP status code.
+   * @param size The number of bytes written.
+   * @param sha256 The SHA-256 of the body as hex.
+   */
+  public record HttpDownload(int status, long size, String sha256) {}
+
+  /**
+   * Downloads the URL to the target file with the cookies and user agent of the browser session.
+   * Only cookies which the browser would send to the URL are added. The body is written to a
+   * temporary file next to the target, which only replaces the target once the whole body of a 2xx
+   * response has been received, so a failed download never leaves a partial or error page behind.
+   *
+   * @param driver The driver of the browser session.
+   * @param url The absolute URL of the file, e.g. the href of a link.
+   * @param target The file to write the body to. Replaced if it exists.
+   * @param ownTimeout The time the whole download may take, from sending the request until the last
+   *     byte of the body. It is checked between reads of the body, so a single read which stalls
+   *     still ends at the read timeout of the connection.
+   * @return The status, size and hash of the download.
+   * @throws InterruptedException If the thread is interrupted during the download.
+   */
+  public static HttpDownload download(
+      WebDriver driver, String url, Path target, Duration ownTimeout) throws InterruptedException {
+    var uri = URI.create(url);
+    var timeout = DeadlineHelper.boundedTimeout(ownTimeout);
+    var request =
+        HttpRequest.newBuilder(uri)
+            .timeout(timeout)
+            .header("User-Agent", getUserAgent(driver))
+            .header("Referer", driver.getCurrentUrl());
+    var cookieHeader = getCookieHeader(driver.manage().getCookies(), uri);
+    if (!cookieHeader.isEmpty()) request.header("Cookie", cookieHeader);
+
+    var start = System.nanoTime();
+    var deadline = start + timeout.toNanos();
+    Path temporaryFile = null;
+    try (var _ = TraceHelper.span("HttpDownloadHelper", "download", null, url)) {
+      var response =
+          httpClient.send(request.GET().build(), HttpResponse.BodyHandlers.ofInputStream());
+      var digest = MessageDigest.getInstance("SHA-256");
+      try (var body = new DigestInputStream(response.body(), digest)) {
+        if (response.statusCode() / 100 != 2)
+          throw new RuntimeException(
+              "Download of " + url + " via HTTP failed with status " + response.statusCode());
+
+        temporaryFile =
+            Files.createTempFile(
+                target.toAbsolutePath().getParent(), target.getFileName() + ".", ".part");
+        var size = copy(body, temporaryFile, deadline);
+        Files.move(temporaryFile, target, StandardCopyOption.ATOMIC_MOVE);
+        return new HttpDownload(
+            response.statusCode(), size, HexFormat.of().formatHex(digest.digest()));
+      }
+    } catch (HttpTimeoutException e) {
+      if (timeout.compareTo(ownTimeout) < 0)
+        throw DeadlineHelper.exceeded("downloading " + url + " via HTTP", e);
+      throw new RuntimeException("Download of " + url + " via HTTP timed out after " + timeout, e);
+    } catch (IOException | NoSuchAlgorithmException e) {
+      throw new RuntimeException("Download of " + url + " via HTTP failed", e);
+    } finally {
+      deleteIfExists(temporaryFile);
+      DeadlineHelper.record("download " + url + " via HTTP", System.nanoTime() - start);
+    }
+  }
+
+  // Files.copy with the deadline checked after every read
+  private static long copy(InputStream body, Path file, long deadline) throws IOException {
+    var buffer = new byte[64 * 1024];
+    var size = 0L;
+    try (var output = Files.newOutputStream(file)) {
+      for (int read; (read = body.read(buffer)) != -1; ) {
+        if (System.nanoTime() - deadline > 0)
+          throw new HttpTimeoutException("Body not received before the timeout");
+        output.write(buffer, 0, read);
+        size += read;
+      }
+    }
+    return size;
+  }
+
+  private static void deleteIfExists(Path file) {
+    if (file == null) return;
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      throw new RuntimeException("Temporary download " + file + " could not be deleted", e);
+    }
+  }
+
+  private static String getUserAgent(WebDriver driver) {
+    return (String) ((JavascriptExecutor) driver).executeScript("return navigator.userAgent;");
+  }
+
+  // Same matching as the browser: domain (and subdomains for domain cookies), path and secure flag
+  private static String getCookieHeader(Set<Cookie> cookies, URI uri) {
+    var host = uri.getHost();
+    var path = uri.getPath() == null || uri.getPath().isEmpty() ? "/" : uri.getPath();
+    var isSecure = "https".equalsIgnoreCase(uri.getScheme());
+    return cookies.stream()
+        .filter(
+            cookie -> {
+              var domain = cookie.getDomain();
+              if (domain == null) return true;
+              var isDomainCookie = domain.startsWith(".");
+              domain = isDomainCookie ? domain.substring(1) : domain;
+              return host.equalsIgnoreCase(domain)
+                  || (isDomainCookie && host.toLowerCase().endsWith("." + domain.toLowerCase()));
+            })
+        .filter(cookie -> cookie.getPath() == null || isPathMatch(path, cookie.getPath()))
+        .filter(cookie -> isSecure || !cookie.isSecure())
+        .map(cookie -> cookie.getName() + "=" + cookie.getValue())
+        .collect(Collectors.joining("; "));
+  }
+
+  // Path-match of RFC 6265 5.1.4: /docs matches /docs and /docs/file but not /docsets
+  private static boolean isPathMatch(String path, String cookiePath) {
+    return path.equals(cookiePath)
+        || (path.startsWith(cookiePath)
+            && (cookiePath.endsWith("/") || path.charAt(cookiePath.length()) == '/'));
+  }
+}
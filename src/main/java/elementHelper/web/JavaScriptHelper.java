@@ -1,18 +1,175 @@
 package elementHelper.web;
 
-import elementHelper.WaitHelper;
+import elementHelper.InBrowserLocator;
+import elementHelper.TraceHelper;
+import java.util.List;
+import java.util.Map;
+import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
 
 public class JavaScriptHelper {
 
+  // Reads all matches in one call. Returns null (poll again) if nothing matches or, when visible
+  // text is requested, while any match is hidden. Elements are passed in or found with findAll
+  private static final String BULK_EXTRACTION_SCRIPT =
+      InBrowserLocator.FIND_ALL_FUNCTION
+          + """
+      var elements = arguments[0] ? findAll(arguments[0], arguments[1]) : arguments[2];
+      var isVisibleTextOnly = arguments[3], attributes = arguments[4];
+      function isVisible(element) {
+        var rect = element.getBoundingClientRect();
+        if (rect.width === 0 || rect.height === 0) return false;
+        return !element.checkVisibility
+            || element.checkVisibility({ opacityProperty: true, visibilityProperty: true });
+      }
+      if (elements.length === 0) return null;
+      if (isVisibleTextOnly && !elements.every(isVisible)) return null;
+      return elements.map(function (element) {
+        if (!attributes) return isVisibleTextOnly ? element.innerText : element.textContent;
+        var values = {};
+        attributes.forEach(function (name) {
+          var value = element.getAttribute(name);
+          if (value === null && element[name] != null) value = String(element[name]);
+          values[name] = value;
+        });
+        return values;
+      });
+      """;
+
+  // Returns all form fields once every one is attached, visible, enabled and editable, else null
+  private static final String FORM_FIELDS_READINESS_SCRIPT =
+      InBrowserLocator.FIND_ALL_FUNCTION
+          + """
+      var elements = arguments[0].map(function (field) {
+        return field.using ? findAll(field.using, field.value)[0] : field;
+      });
+      var isReady = elements.every(function (element) {
+        if (!element || !element.isConnected) return false;
+        var rect = element.getBoundingClientRect();
+        return rect.width > 0 && rect.height > 0
+            && (!element.checkVisibility
+                || element.checkVisibility({ opacityProperty: true, visibilityProperty: true }))
+            && !element.disabled && !element.readOnly && !element.closest('fieldset:disabled');
+      });
+      return isReady ? elements : null;
+      """;
+
+  // Sets each value through the native setter, so frameworks tracking the value notice the change,
+  // and fires the events a user would cause. Checkboxes and radio buttons take "true" or "false"
+  private static final String SET_FORM_VALUES_SCRIPT =
+      """
+      var elements = arguments[0], values = arguments[1];
+      elements.forEach(function (element, index) {
+        var value = values[index];
+        element.focus();
+        if (element.type === 'checkbox' || element.type === 'radio') {
+          element.checked = value === 'true';
+        } else {
+          var descriptor = Object.getOwnPropertyDescriptor(Object.getPrototypeOf(element), 'value');
+          if (descriptor && descriptor.set) descriptor.set.call(element, value);
+          else element.value = value;
+        }
+        element.dispatchEvent(new Event('input', { bubbles: true }));
+        element.dispatchEvent(new Event('change', { bubbles: true }));
+        element.blur();
+      });
+      """;
+
+  private static final String GET_FORM_VALUES_SCRIPT =
+      """
+      return arguments[0].map(function (element) {
+        return element.type === 'checkbox' || element.type === 'radio'
+            ? String(element.checked) : element.value;
+      });
+      """;
+
+  // The overlay ignores the pointer, so it never intercepts a click or a hit test
+  private static final String HIGHLIGHT_SCRIPT =
+      InBrowserLocator.FIND_ALL_FUNCTION
+          + """
+      var elements = arguments[0] ? findAll(arguments[0], arguments[1]) : arguments[2];
+      elements.forEach(function (element) {
+        var rect = element.getBoundingClientRect(), overlay = document.createElement('div');
+        overlay.style.cssText = 'position: fixed; pointer-events: none; z-index: 2147483647;'
+            + 'box-sizing: border-box; border: 3px solid red; opacity: 1;'
+            + 'transition: opacity 1.5s ease 0.5s; left: ' + rect.left + 'px; top: ' + rect.top
+            + 'px; width: ' + rect.width + 'px; height: ' + rect.height + 'px;';
+        document.documentElement.appendChild(overlay);
+        requestAnimationFrame(function () {
+          requestAnimationFrame(function () { overlay.style.opacity = '0'; });
+        });
+        setTimeout(function () { overlay.remove(); }, 2000);
+      });
+      """;
+
+  // Selects the options matching the text (compared like normalize-space), value or index as a
+  // click would, firing input and change only when the selection changed. Returns "selected", else
+  // what prevented it. Single selects only take the first match, like Select does
+  private static final String SELECT_OPTION_SCRIPT =
+      """
+      var select = arguments[0], matchBy = arguments[1], key = arguments[2];
+      if (select.tagName !== 'SELECT') return 'not a select';
+      if (select.disabled) return 'disabled select';
+      var options = Array.from(select.options).filter(function (option, index) {
+        if (matchBy === 'text') return option.text === key;
+        if (matchBy === 'value') return option.value === key;
+        return index === key;
+      });
+      if (options.length === 0) return 'missing';
+      if (!select.multiple) options = options.slice(0, 1);
+      if (options.some(function (option) { return option.disabled; })) return 'disabled option';
+      var rect = select.getBoundingClientRect();
+      if (rect.top < 0 || rect.bottom > window.innerHeight) {
+        select.scrollIntoView({ block: 'center' });
+      }
+      select.focus();
+      var isChanged = false;
+      options.forEach(function (option) {
+        if (!option.selected) {
+          option.selected = true;
+          isChanged = true;
+        }
+      });
+      if (isChanged) {
+        select.dispatchEvent(new Event('input', { bubbles: true }));
+        select.dispatchEvent(new Event('change', { bubbles: true }));
+      }
+      return 'selected';
+      """;
+
+  private static final String GET_ALL_OPTION_TEXT_SCRIPT =
+      """
+      return Array.from(arguments[0].options).map(function (option) { return option.text; });
+      """;
+
+  private final WebDriver driver;
   private final JavascriptExecutor js;
-  private final WaitHelper waitHelper;
+  private final String pageObjectName;
 
   public JavaScriptHelper(WebDriver driver) {
+    this(driver, null);
+  }
+
+  public JavaScriptHelper(WebDriver driver, String pageObjectName) {
+    this.driver = driver;
+    this.pageObjectName = pageObjectName;
     js = (JavascriptExecutor) driver;
-    waitHelper = new WaitHelper(driver);
+  }
+
+  // Every script call is a span in the trace, see TraceHelper. Calls on an element take the
+  // locator from the span of the SeleniumHelper operation they are part of
+  private Object executeScript(String operation, String script, Object... args) {
+    return executeScript(operation, null, script, args);
+  }
+
+  private Object executeScript(String operation, By by, String script, Object... args) {
+    try (var _ = TraceHelper.span("JavaScriptHelper", operation, pageObjectName, by)) {
+      return js.executeScript(script, args);
+    }
   }
 
   // Using this we check element displayed in viewport
@@ -22,7 +179,7 @@ public class JavaScriptHelper {
           var rect = arguments[0].getBoundingClientRect();
           return (rect.top >= 0 && rect.left >= 0 && rect.bottom <= (window.innerHeight || document.documentElement.clientHeight) && rect.right <= (window.innerWidth || document.documentElement.clientWidth));
         """;
-    return (Boolean) js.executeScript(jsQuery, element);
+    return (Boolean) executeScript("isElementInViewport", jsQuery, element);
   }
 
   // used this method when element is not in view port
@@ -34,7 +191,7 @@ public class JavaScriptHelper {
     var middle = absoluteElementTop - (window.innerHeight / 2);
     window.scrollTo(0, middle);
     """;
-    js.executeScript(jsQuery, element);
+    executeScript("scrollToElementCenter", jsQuery, element);
   }
 
   // use this method to check and ensure element is in view port
@@ -45,16 +202,178 @@ public class JavaScriptHelper {
   }
 
   void javaScriptEnterText(WebElement element, String value) {
-    js.executeScript("arguments[0].value='arguments[1];", element, value);
+    executeScript("javaScriptEnterText", "arguments[0].value='arguments[1];", element, value);
   }
 
   void javaScriptClickOn(WebElement element) {
-    js.executeScript("arguments[0].click();", element);
+    executeScript("javaScriptClickOn", "arguments[0].click();", element);
+  }
+
+  // Draws a red frame over the element which fades out and removes itself in the browser, so the
+  // test does not have to wait for it
+  void javaScriptHighlightElement(WebElement element) {
+    executeScript("javaScriptHighlightElement", HIGHLIGHT_SCRIPT, null, null, List.of(element));
   }
 
-  void javaScriptHighlightElement(WebElement element) throws InterruptedException {
-    js.executeScript("arguments[0].style.border='3px solid red'", element);
-    waitHelper.hardWait(2);
+  /**
+   * Draws a fading red overlay over all elements of a locator with a single script call. The
+   * browser removes the overlays after 2 seconds, the call itself returns at once.
+   *
+   * @param by The locator of the elements to highlight.
+   */
+  public void javaScriptHighlightElements(By by) {
+    var locatorArguments = InBrowserLocator.getArguments(by);
+    if (locatorArguments == null)
+      executeScript(
+          "javaScriptHighlightElements",
+          by,
+          HIGHLIGHT_SCRIPT,
+          null,
+          null,
+          driver.findElements(by));
+    else
+      executeScript(
+          "javaScriptHighlightElements",
+          by,
+          HIGHLIGHT_SCRIPT,
+          locatorArguments[0],
+          locatorArguments[1],
+          null);
+  }
+
+  /**
+   * Condition which reads the text of all elements located by the given locator with a single
+   * script call, instead of one getText call per element.
+   *
+   * @param by The locator to find the elements.
+   * @param isVisibleTextOnly True to wait until every match is visible and read the rendered text
+   *     (same as getText), false to read the text content of all matches, including hidden ones.
+   * @return The condition, which returns the untrimmed texts once available.
+   */
+  ExpectedCondition<List<String>> textOfAllElementsLocated(By by, boolean isVisibleTextOnly) {
+    return new BulkExtraction<>(by, isVisibleTextOnly, null);
+  }
+
+  /**
+   * Condition which reads the given attributes of all elements located by the given locator with a
+   * single script call. Falls back to the DOM property when an attribute is not set, e.g. value.
+   *
+   * @param by The locator to find the elements.
+   * @param attributes The names of the attributes to read.
+   * @return The condition, which returns one map of attribute values per element.
+   */
+  ExpectedCondition<List<Map<String, String>>> attributesOfAllElementsLocated(
+      By by, List<String> attributes) {
+    return new BulkExtraction<>(by, false, attributes);
+  }
+
+  /**
+   * Condition which returns the elements of all given form fields, once every one of them is
+   * visible, enabled and editable. Checked with a single script call.
+   *
+   * @param fields The locators of the form fields.
+   * @return The condition, which returns the elements in the order of the locators.
+   */
+  ExpectedCondition<List<WebElement>> readinessOfAllFormFields(List<By> fields) {
+    return new ExpectedCondition<>() {
+      @Override
+      @SuppressWarnings("unchecked")
+      public List<WebElement> apply(WebDriver driver) {
+        // Locators the browser cannot resolve itself are found by WebDriver, one call each
+        var arguments =
+            fields.stream()
+                .map(
+                    field -> {
+                      var locatorArguments = InBrowserLocator.getArguments(field);
+                      return locatorArguments == null
+                          ? driver.findElement(field)
+                          : (Object)
+                              Map.of("using", locatorArguments[0], "value", locatorArguments[1]);
+                    })
+                .toList();
+        return (List<WebElement>)
+            ((JavascriptExecutor) driver).executeScript(FORM_FIELDS_READINESS_SCRIPT, arguments);
+      }
+
+      @Override
+      public String toString() {
+        return "form fields " + fields + " to be ready for text entry";
+      }
+    };
+  }
+
+  void setFormValues(List<WebElement> elements, List<String> values) {
+    executeScript("setFormValues", SET_FORM_VALUES_SCRIPT, elements, values);
+  }
+
+  @SuppressWarnings("unchecked")
+  List<String> getFormValues(List<WebElement> elements) {
+    return (List<String>) executeScript("getFormValues", GET_FORM_VALUES_SCRIPT, elements);
+  }
+
+  /**
+   * Selects the option of a select element with a single script call, instead of fetching every
+   * option as a remote element. Fires the same input and change events as selecting it by hand.
+   *
+   * @param select The select element.
+   * @param matchBy "text" for the visible text, "value" or "index".
+   * @param key The text or value (String) or the index (Integer) of the option.
+   * @throws NoSuchElementException If no option matches.
+   * @throws UnsupportedOperationException If the option or the select is disabled, or the element
+   *     is not a select.
+   */
+  void selectOption(WebElement select, String matchBy, Object key) {
+    var state = (String) executeScript("selectOption", SELECT_OPTION_SCRIPT, select, matchBy, key);
+    switch (state) {
+      case "selected" -> {}
+      case "missing" ->
+          throw new NoSuchElementException("Cannot locate option with " + matchBy + ": " + key);
+      default -> throw new UnsupportedOperationException("You may not select an option: " + state);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  List<String> getAllOptionText(WebElement select) {
+    return (List<String>) executeScript("getAllOptionText", GET_ALL_OPTION_TEXT_SCRIPT, select);
+  }
+
+  private static class BulkExtraction<T> implements ExpectedCondition<List<T>> {
+
+    private final By by;
+    private final boolean isVisibleTextOnly;
+    private final List<String> attributes;
+    private final String[] locatorArguments;
+
+    private BulkExtraction(By by, boolean isVisibleTextOnly, List<String> attributes) {
+      this.by = by;
+      this.isVisibleTextOnly = isVisibleTextOnly;
+      this.attributes = attributes;
+      this.locatorArguments = InBrowserLocator.getArguments(by);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<T> apply(WebDriver driver) {
+      // Locators the browser cannot resolve itself cost one extra findElements call
+      var elements = locatorArguments == null ? driver.findElements(by) : null;
+      return (List<T>)
+          ((JavascriptExecutor) driver)
+              .executeScript(
+                  BULK_EXTRACTION_SCRIPT,
+                  locatorArguments == null ? null : locatorArguments[0],
+                  locatorArguments == null ? null : locatorArguments[1],
+                  elements,
+                  isVisibleTextOnly,
+                  attributes);
+    }
+
+    @Override
+    public String toString() {
+      return (attributes != null ? "attributes " + attributes : "text")
+          + " of all elements located by "
+          + by
+          + (isVisibleTextOnly ? " to be visible" : "");
+    }
   }
 
   public void uploadFile(WebElement element, String filePath, boolean isMultiple) {
@@ -90,7 +409,7 @@ public class JavaScriptHelper {
       return input;
       """;
 
-    var fileInput = (WebElement) js.executeScript(jsQuery, element, 0, 0);
+    var fileInput = (WebElement) executeScript("uploadFile", jsQuery, element, 0, 0);
     if (fileInput != null) fileInput.sendKeys(filePath);
     else throw new RuntimeException("File input button not available for upload file");
   }
@@ -1,85 +1,164 @@
 package elementHelper.web;
 
+import com.selenium.testng.elite.enums.FillMode;
+import com.selenium.testng.elite.utils.RunMetrics;
+import dataObject.FormField;
+import elementHelper.AdaptiveTimeoutHelper;
+import elementHelper.DeadlineExceededException;
+import elementHelper.DeadlineHelper;
+import elementHelper.StepScreenshots;
+import elementHelper.TraceHelper;
 import elementHelper.WaitHelper;
 import io.github.cdimascio.dotenv.Dotenv;
+import java.lang.reflect.Field;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import lombok.Builder;
 import org.apache.commons.lang3.tuple.Pair;
 import org.openqa.selenium.By;
+import org.openqa.selenium.ElementNotInteractableException;
 import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.Select;
+import org.openqa.selenium.interactions.Actions;
 
 public class SeleniumHelper {
 
   private final WaitHelper waitHelper;
   private final JavaScriptHelper jsHelper;
   private final WebDriver driver;
+  private final String pageObjectName;
   private static final boolean IS_DEBUG =
       Boolean.parseBoolean(Dotenv.configure().ignoreIfMissing().load().get("IS_DEBUG"));
+  private static final int MAX_ACTION_ATTEMPTS = 5;
+  private static final Duration INITIAL_STALE_BACKOFF = Duration.ofMillis(50);
+  private static final Duration MAX_STALE_BACKOFF = Duration.ofMillis(800);
+  public static final String STALE_RECOVERIES = "stale recoveries";
+  private static final Duration DEFAULT_DOWNLOAD_TIMEOUT = Duration.ofSeconds(15);
 
   public SeleniumHelper(WebDriver driver) {
+    this(driver, null);
+  }
+
+  /**
+   * Creates the helper for a page object. Waits without an explicit duration use the timeouts
+   * learned for this page object (see AdaptiveTimeoutHelper).
+   *
+   * @param driver The driver of the test.
+   * @param pageObjectName The name of the page object which uses this helper.
+   */
+  public SeleniumHelper(WebDriver driver, String pageObjectName) {
     this.driver = driver;
-    waitHelper = new WaitHelper(driver);
-    jsHelper = new JavaScriptHelper(driver);
+    this.pageObjectName = pageObjectName;
+    waitHelper = new WaitHelper(driver, pageObjectName);
+    jsHelper = new JavaScriptHelper(driver, pageObjectName);
+  }
+
+  /**
+   * Creates the helper for a page object, like {@link #SeleniumHelper(WebDriver, String)}. When
+   * tracing is on for the current thread, every public operation is recorded as a span of the
+   * trace (see SeleniumHelperTracing), otherwise the plain helper is returned.
+   *
+   * @param driver The driver of the test.
+   * @param pageObjectName The name of the page object which uses this helper.
+   * @return The helper.
+   */
+  public static SeleniumHelper create(WebDriver driver, String pageObjectName) {
+    if (!TraceHelper.isEnabled()) return new SeleniumHelper(driver, pageObjectName);
+    return SeleniumHelperTracing.newInstance(driver, pageObjectName);
   }
 
   /**
-   * Waits until the given element is enabled.
+   * Runs an action on an element. If the element went stale, or could not be interacted with (e.g.
+   * covered by a fading overlay), it waits briefly and retries with the element found again
+   * through its locator, backing off from 50 ms up to 800 ms. Any other exception is thrown at
+   * once, and the last exception is thrown when all attempts failed.
    *
-   * @param element The element to wait for.
-   * @return The enabled element.
+   * @param by The locator the element was found with.
+   * @param element The element found by the caller.
+   * @param relocate Finds the element again the same way the caller did.
+   * @param action The action to run on the element.
+   * @return The result of the action.
    * @throws InterruptedException If the waiting process is interrupted.
-   * @throws RuntimeException If the element is not enabled after the maximum number of tries.
-   */
-  private WebElement waitTillElementIsEnable(WebElement element) throws InterruptedException {
-    int maxTries = 15;
-    int numberOfTries = 0;
-    while (!isElementEnable(element) && numberOfTries < maxTries) {
-      waitHelper.hardWait(numberOfTries);
-      numberOfTries++;
+   */
+  private <T> T actOnElement(
+      By by, WebElement element, Supplier<WebElement> relocate, Function<WebElement, T> action)
+      throws InterruptedException {
+    var backoff = INITIAL_STALE_BACKOFF;
+    var wasStale = false;
+    for (int attempt = 1; ; attempt++) {
+      try {
+        var result = action.apply(element);
+        if (wasStale) {
+          RunMetrics.increment(STALE_RECOVERIES);
+          RunMetrics.increment(STALE_RECOVERIES + " " + by);
+        }
+        return result;
+      } catch (StaleElementReferenceException | ElementNotInteractableException e) {
+        if (attempt >= MAX_ACTION_ATTEMPTS) {
+          e.addInfo("Attempts", attempt + " on element located by " + by);
+          throw e;
+        }
+        wasStale |= e instanceof StaleElementReferenceException;
+        var pause = DeadlineHelper.boundedTimeout(backoff);
+        Thread.sleep(pause.toMillis());
+        DeadlineHelper.record("retrying action on " + by, pause.toNanos());
+        backoff = backoff.multipliedBy(2);
+        if (backoff.compareTo(MAX_STALE_BACKOFF) > 0) backoff = MAX_STALE_BACKOFF;
+        element = relocate.get();
+      }
     }
-    if (!isElementEnable(element)) throw new RuntimeException("Element is not in enable state");
-    return element;
   }
 
   /**
-   * Attempts to click on the given element, retrying up to 10 times if the element becomes stale.
+   * Clicks on the given element, finding it again through its locator if it went stale.
    *
+   * @param by The locator the element was found with.
    * @param element The element to click on.
+   * @param relocate Finds the element again the same way the caller did.
+   * @throws InterruptedException If the waiting process is interrupted.
    */
-  private void clickOnElement(WebElement element) {
-    int maxAttempts = 10;
-    boolean isStale;
-
-    do {
-      try {
-        element.click();
-        isStale = false;
-      } catch (StaleElementReferenceException e) {
-        isStale = true;
-      } catch (Exception e) {
-        e.printStackTrace();
-        isStale = true;
-      }
-      maxAttempts--;
-    } while (maxAttempts > 0 && isStale);
+  private void clickOnElement(By by, WebElement element, Supplier<WebElement> relocate)
+      throws InterruptedException {
+    actOnElement(
+        by,
+        element,
+        relocate,
+        x -> {
+          x.click();
+          return null;
+        });
   }
 
   /**
-   * Enters the given text into the specified element, waiting for it to be enabled first.
+   * Enters the given text into the specified element, which has to be visible and enabled already.
+   * The element is found again through its locator if it went stale.
    *
+   * @param by The locator the element was found with.
    * @param element The element to enter text into.
+   * @param relocate Finds the element again the same way the caller did.
    * @param value The text to enter.
    * @throws InterruptedException If the waiting process is interrupted.
    */
-  private void enterText(WebElement element, String value) throws InterruptedException {
-    var enabledElement = waitTillElementIsEnable(element);
-    enabledElement.clear();
-    enabledElement.sendKeys(value);
+  private void enterText(By by, WebElement element, Supplier<WebElement> relocate, String value)
+      throws InterruptedException {
+    actOnElement(
+        by,
+        element,
+        relocate,
+        x -> {
+          x.clear();
+          x.sendKeys(value);
+          return null;
+        });
   }
 
   /**
@@ -118,15 +197,17 @@ public class SeleniumHelper {
   /**
    * Scrolls to the specified element and enters the given text into it.
    *
+   * <p>Finding, checking and scrolling the element is done by one script call, see {@link
+   * WaitHelper#waitForElementToBeReadyForAction(By, boolean)}.
+   *
    * @param by The locator to find the element.
    * @param value The text to enter into the element.
    * @throws InterruptedException If the waiting process is interrupted.
    */
   public void scrollAndEnterText(By by, String value) throws InterruptedException {
-    var element = waitHelper.waitForElementToBeVisible(by);
-    jsHelper.scrollToElementIfNotInView(element);
-    if (IS_DEBUG) jsHelper.javaScriptHighlightElement(element);
-    enterText(element, value);
+    var element = waitHelper.waitForElementToBeReadyForAction(by, true);
+    highlight(element);
+    enterText(by, element, () -> waitHelper.waitForElementToBeReadyForAction(by, true), value);
   }
 
   /**
@@ -134,14 +215,14 @@ public class SeleniumHelper {
    *
    * @param by The locator to find the element.
    * @param value The text to enter into the element.
-   * @param second The time in seconds to wait for the element to be visible.
+   * @param second The time in seconds to wait for the element to be visible and enabled.
    * @throws InterruptedException If the waiting process is interrupted.
    */
   public void scrollAndEnterText(By by, String value, int second) throws InterruptedException {
-    var element = waitHelper.waitForElementToBeVisible(by, second);
-    jsHelper.scrollToElementIfNotInView(element);
-    if (IS_DEBUG) jsHelper.javaScriptHighlightElement(element);
-    enterText(element, value);
+    var element = waitHelper.waitForElementToBeReadyForAction(by, true, second);
+    highlight(element);
+    enterText(
+        by, element, () -> waitHelper.waitForElementToBeReadyForAction(by, true, second), value);
   }
 
   /**
@@ -152,79 +233,204 @@ public class SeleniumHelper {
    * @throws InterruptedException If the waiting process is interrupted.
    */
   public void enterText(By by, String value) throws InterruptedException {
-    var element = waitHelper.waitForElementToBeVisible(by);
-    if (IS_DEBUG) jsHelper.javaScriptHighlightElement(element);
-    enterText(element, value);
+    var element = waitHelper.waitForElementToBeClickable(by);
+    highlight(element);
+    enterText(by, element, () -> waitHelper.waitForElementToBeClickable(by), value);
   }
 
   /**
-   * Enters the given text into the specified element, waiting for it to be visible within a
-   * specified time.
+   * Enters the given text into the specified element, waiting for it to be visible and enabled
+   * within a specified time.
    *
    * @param by The locator to find the element.
    * @param value The text to enter into the element.
-   * @param second The time in seconds to wait for the element to be visible.
+   * @param second The time in seconds to wait for the element to be visible and enabled.
    * @throws InterruptedException If the waiting process is interrupted.
    */
   public void enterText(By by, String value, int second) throws InterruptedException {
-    var element = waitHelper.waitForElementToBeVisible(by, second);
-    if (IS_DEBUG) jsHelper.javaScriptHighlightElement(element);
-    enterText(element, value);
+    var element = waitHelper.waitForElementToBeClickable(by, second);
+    highlight(element);
+    enterText(by, element, () -> waitHelper.waitForElementToBeClickable(by, second), value);
+  }
+
+  /**
+   * Fills several form fields at once with {@link FillMode#TYPING}, so key events, maxlength and
+   * input validation apply as when a user types.
+   *
+   * @param values The value of each field, by locator. Fields with a null value are skipped.
+   */
+  public void fillForm(Map<By, String> values) {
+    fillForm(values, FillMode.TYPING);
+  }
+
+  /**
+   * Fills several form fields at once and verifies the result.
+   *
+   * <p>This method waits, with one script call per poll, until all fields are visible, enabled and
+   * editable. It then sets all values with one script ({@link FillMode#SCRIPT}), or clears them
+   * with one script and types them with one W3C actions sequence ({@link FillMode#TYPING}).
+   * Finally, it reads all values back with one script and fails if any field does not hold its
+   * value.
+   *
+   * @param values The value of each field, by locator. Fields with a null value are skipped.
+   * @param fillMode How the values are entered.
+   */
+  public void fillForm(Map<By, String> values, FillMode fillMode) {
+    var fields = values.entrySet().stream().filter(e -> e.getValue() != null).toList();
+    if (fields.isEmpty()) return;
+    var locators = fields.stream().map(Map.Entry::getKey).toList();
+    var expectedValues = fields.stream().map(Map.Entry::getValue).toList();
+
+    var elements = waitHelper.waitFor(jsHelper.readinessOfAllFormFields(locators));
+    if (fillMode == FillMode.TYPING) {
+      jsHelper.setFormValues(elements, Collections.nCopies(elements.size(), ""));
+      var actions = new Actions(driver);
+      for (int i = 0; i < elements.size(); i++)
+        actions
+            .scrollToElement(elements.get(i))
+            .click(elements.get(i))
+            .sendKeys(expectedValues.get(i));
+      actions.perform();
+    } else {
+      jsHelper.setFormValues(elements, expectedValues);
+    }
+
+    // Verify with a single read-back, e.g. a handler may have rejected or reformatted a value
+    var actualValues = jsHelper.getFormValues(elements);
+    var mismatches = new StringBuilder();
+    for (int i = 0; i < locators.size(); i++)
+      if (!Objects.equals(expectedValues.get(i), actualValues.get(i)))
+        mismatches
+            .append("\n")
+            .append(locators.get(i))
+            .append(": expected '")
+            .append(expectedValues.get(i))
+            .append("' but was '")
+            .append(actualValues.get(i))
+            .append("'");
+    if (!mismatches.isEmpty())
+      throw new RuntimeException("Form fields do not hold the entered values:" + mismatches);
+  }
+
+  /**
+   * Fills a form from a data object with {@link FillMode#TYPING}, see {@link #fillForm(Object,
+   * FillMode)}.
+   *
+   * @param dataObject The data object whose {@link FormField} fields are entered.
+   */
+  public void fillForm(Object dataObject) {
+    fillForm(dataObject, FillMode.TYPING);
+  }
+
+  /**
+   * Fills a form from a data object. Every field annotated with {@link FormField} is entered into
+   * the input with the given name attribute, in declaration order. Fields with a null value are
+   * skipped.
+   *
+   * @param dataObject The data object whose {@link FormField} fields are entered.
+   * @param fillMode How the values are entered.
+   */
+  public void fillForm(Object dataObject, FillMode fillMode) {
+    var values = new LinkedHashMap<By, String>();
+    for (Field field : dataObject.getClass().getDeclaredFields()) {
+      var formField = field.getAnnotation(FormField.class);
+      if (formField == null) continue;
+      try {
+        field.setAccessible(true);
+        var value = field.get(dataObject);
+        values.put(By.name(formField.name()), value == null ? null : String.valueOf(value));
+      } catch (IllegalAccessException e) {
+        throw new RuntimeException("Form field " + field.getName() + " could not be read", e);
+      }
+    }
+    fillForm(values, fillMode);
   }
 
   /**
    * Scrolls to the specified element and clicks on it.
    *
-   * <p>This method first waits for the element to be clickable, then waits for it to be enabled. It
-   * then scrolls to the element if it is not in view, and highlights it if debug mode is enabled.
-   * Finally, it attempts to click on the element, retrying up to 10 times if the element becomes
-   * stale.
+   * <p>This method first waits, with one script call per poll, for the element to be visible,
+   * enabled, scrolled into view and not covered by another element. It highlights it if debug mode
+   * is enabled. Finally, it attempts a native click on the element, making up to 5 attempts with a
+   * backoff of 50 to 800 ms if the element becomes stale or cannot be interacted with.
    *
    * @param by The locator to find the element.
    * @throws InterruptedException If the waiting process is interrupted.
    */
   public void scrollAndClickOn(By by) throws InterruptedException {
-    var element = waitHelper.waitForElementToBeClickable(by);
-    var enabledElement = waitTillElementIsEnable(element);
-    jsHelper.scrollToElementIfNotInView(enabledElement);
-    if (IS_DEBUG) jsHelper.javaScriptHighlightElement(enabledElement);
-    clickOnElement(enabledElement);
+    var element = waitHelper.waitForElementToBeReadyForAction(by, false);
+    highlight(element);
+    clickOnElement(by, element, () -> waitHelper.waitForElementToBeReadyForAction(by, false));
   }
 
   /**
    * Scrolls to the specified element and clicks on it.
    *
-   * <p>This method first waits for the element to be clickable within the specified time. Then, it
-   * waits for the element to be enabled. It then scrolls to the element if it is not in view, and
-   * highlights it if debug mode is enabled. Finally, it attempts to click on the element, retrying
-   * up to 10 times if the element becomes stale.
+   * <p>This method first waits, with one script call per poll, for the element to be visible,
+   * enabled, scrolled into view and not covered by another element within the specified time. It
+   * highlights it if debug mode is enabled. Finally, it attempts a native click on the element,
+   * making up to 5 attempts with a backoff of 50 to 800 ms if the element becomes stale or cannot
+   * be interacted with.
    *
    * @param by The locator to find the element.
    * @param second The time in seconds to wait for the element to be clickable.
    * @throws InterruptedException If the waiting process is interrupted.
    */
   public void scrollAndClickOn(By by, int second) throws InterruptedException {
-    WebElement element = waitHelper.waitForElementToBeClickable(by, second);
-    WebElement elementIsEnable = waitTillElementIsEnable(element);
-    jsHelper.scrollToElementIfNotInView(elementIsEnable);
-    if (IS_DEBUG) jsHelper.javaScriptHighlightElement(element);
-    clickOnElement(elementIsEnable);
+    var element = waitHelper.waitForElementToBeReadyForAction(by, false, second);
+    highlight(element);
+    clickOnElement(
+        by, element, () -> waitHelper.waitForElementToBeReadyForAction(by, false, second));
+  }
+
+  /**
+   * Scrolls to the specified element and clicks on it once it has stopped animating.
+   *
+   * <p>Same as {@link #scrollAndClickOn(By)}, but before clicking it waits until the element's
+   * position, size and opacity have been stable for two animation frames. Use it for elements
+   * inside animated menus, so the click does not hit the element mid-transition.
+   *
+   * @param by The locator to find the element.
+   * @throws InterruptedException If the waiting process is interrupted.
+   */
+  public void scrollAndClickOnStableElement(By by) throws InterruptedException {
+    var element = waitHelper.waitForElementToBeClickable(by);
+    jsHelper.scrollToElementIfNotInView(element);
+    var stableElement = waitHelper.waitForElementToBeVisuallyStable(by);
+    highlight(stableElement);
+    clickOnElement(by, stableElement, () -> waitHelper.waitForElementToBeVisuallyStable(by));
+  }
+
+  /**
+   * Scrolls to the specified element and clicks on it once it has stopped animating, waiting for
+   * each state within the specified time.
+   *
+   * @param by The locator to find the element.
+   * @param second The time in seconds to wait for the element to be clickable and stable.
+   * @throws InterruptedException If the waiting process is interrupted.
+   */
+  public void scrollAndClickOnStableElement(By by, int second) throws InterruptedException {
+    var element = waitHelper.waitForElementToBeClickable(by, second);
+    jsHelper.scrollToElementIfNotInView(element);
+    var stableElement = waitHelper.waitForElementToBeVisuallyStable(by, second);
+    highlight(stableElement);
+    clickOnElement(
+        by, stableElement, () -> waitHelper.waitForElementToBeVisuallyStable(by, second));
   }
 
   /**
    * Clicks on the element located by the given locator.
    *
-   * <p>This method first waits for the element to be clickable, then waits for it to be enabled. If
-   * debug mode is enabled, it highlights the element before clicking on it.
+   * <p>This method first waits for the element to be clickable (visible and enabled). If debug mode
+   * is enabled, it highlights the element before clicking on it.
    *
    * @param by The locator to find the element.
    * @throws InterruptedException If the waiting process is interrupted.
    */
   public void clickOn(By by) throws InterruptedException {
     var element = waitHelper.waitForElementToBeClickable(by);
-    var enabledElement = waitTillElementIsEnable(element);
-    if (IS_DEBUG) jsHelper.javaScriptHighlightElement(enabledElement);
-    clickOnElement(enabledElement);
+    highlight(element);
+    clickOnElement(by, element, () -> waitHelper.waitForElementToBeClickable(by));
   }
 
   /**
@@ -237,9 +443,8 @@ public class SeleniumHelper {
    */
   public void clickOn(By by, int second) throws InterruptedException {
     var element = waitHelper.waitForElementToBeClickable(by, second);
-    var enabledElement = waitTillElementIsEnable(element);
-    if (IS_DEBUG) jsHelper.javaScriptHighlightElement(enabledElement);
-    clickOnElement(enabledElement);
+    highlight(element);
+    clickOnElement(by, element, () -> waitHelper.waitForElementToBeClickable(by, second));
   }
 
   /**
@@ -251,8 +456,10 @@ public class SeleniumHelper {
   public boolean isElementDisplayed(By by) {
     WebElement element = null;
     try {
-      element = waitHelper.waitForElementToBeVisible(by);
-      if (IS_DEBUG) jsHelper.javaScriptHighlightElement(element);
+      element = waitHelper.waitForElementToBeVisibleIfDisplayed(by);
+      highlight(element);
+    } catch (DeadlineExceededException e) {
+      throw e;
     } catch (Exception _) {
     }
     return element != null;
@@ -269,12 +476,28 @@ public class SeleniumHelper {
     WebElement element = null;
     try {
       element = waitHelper.waitForElementToBeVisible(by, second);
-      if (IS_DEBUG) jsHelper.javaScriptHighlightElement(element);
+      highlight(element);
+    } catch (DeadlineExceededException e) {
+      throw e;
     } catch (Exception _) {
     }
     return element != null;
   }
 
+  // Selects the option with one script call, see JavaScriptHelper.selectOption
+  private void selectOption(
+      By by, WebElement element, Supplier<WebElement> relocate, String matchBy, Object key)
+      throws InterruptedException {
+    actOnElement(
+        by,
+        element,
+        relocate,
+        x -> {
+          jsHelper.selectOption(x, matchBy, key);
+          return null;
+        });
+  }
+
   /**
    * Selects an option from a dropdown menu using the visible text.
    *
@@ -284,9 +507,9 @@ public class SeleniumHelper {
    */
   public void selectOptionByText(By by, String text) throws InterruptedException {
     var dropdownElement = waitHelper.waitForElementToBeVisible(by);
-    jsHelper.scrollToElementIfNotInView(dropdownElement);
-    if (IS_DEBUG) jsHelper.javaScriptHighlightElement(dropdownElement);
-    new Select(dropdownElement).selectByVisibleText(text);
+    highlight(dropdownElement);
+    selectOption(
+        by, dropdownElement, () -> waitHelper.waitForElementToBeVisible(by), "text", text);
   }
 
   /**
@@ -300,9 +523,13 @@ public class SeleniumHelper {
    */
   public void selectOptionByText(By by, String text, int second) throws InterruptedException {
     var dropdownElement = waitHelper.waitForElementToBeVisible(by, second);
-    jsHelper.scrollToElementIfNotInView(dropdownElement);
-    if (IS_DEBUG) jsHelper.javaScriptHighlightElement(dropdownElement);
-    new Select(dropdownElement).selectByVisibleText(text);
+    highlight(dropdownElement);
+    selectOption(
+        by,
+        dropdownElement,
+        () -> waitHelper.waitForElementToBeVisible(by, second),
+        "text",
+        text);
   }
 
   /**
@@ -314,9 +541,9 @@ public class SeleniumHelper {
    */
   public void selectOptionByValue(By by, String value) throws InterruptedException {
     var dropdownElement = waitHelper.waitForElementToBeVisible(by);
-    jsHelper.scrollToElementIfNotInView(dropdownElement);
-    if (IS_DEBUG) jsHelper.javaScriptHighlightElement(dropdownElement);
-    new Select(dropdownElement).selectByValue(value);
+    highlight(dropdownElement);
+    selectOption(
+        by, dropdownElement, () -> waitHelper.waitForElementToBeVisible(by), "value", value);
   }
 
   /**
@@ -329,9 +556,9 @@ public class SeleniumHelper {
    */
   public void selectOptionByValue(By by, String value, int timeout) throws InterruptedException {
     var element = waitHelper.waitForElementToBeVisible(by, timeout);
-    jsHelper.scrollToElementIfNotInView(element);
-    if (IS_DEBUG) jsHelper.javaScriptHighlightElement(element);
-    new Select(element).selectByValue(value);
+    highlight(element);
+    selectOption(
+        by, element, () -> waitHelper.waitForElementToBeVisible(by, timeout), "value", value);
   }
 
   /**
@@ -343,9 +570,9 @@ public class SeleniumHelper {
    */
   public void selectOptionByIndex(By by, int index) throws InterruptedException {
     var dropdownElement = waitHelper.waitForElementToBeVisible(by);
-    jsHelper.scrollToElementIfNotInView(dropdownElement);
-    if (IS_DEBUG) jsHelper.javaScriptHighlightElement(dropdownElement);
-    new Select(dropdownElement).selectByIndex(index);
+    highlight(dropdownElement);
+    selectOption(
+        by, dropdownElement, () -> waitHelper.waitForElementToBeVisible(by), "index", index);
   }
 
   /**
@@ -358,8 +585,9 @@ public class SeleniumHelper {
    */
   public void selectOptionByIndex(By by, int index, int second) throws InterruptedException {
     var element = waitHelper.waitForElementToBeVisible(by, second);
-    if (IS_DEBUG) jsHelper.javaScriptHighlightElement(element);
-    new Select(element).selectByIndex(index);
+    highlight(element);
+    selectOption(
+        by, element, () -> waitHelper.waitForElementToBeVisible(by, second), "index", index);
   }
 
   /**
@@ -371,8 +599,12 @@ public class SeleniumHelper {
    */
   public List<String> getAllOptionText(By by) throws InterruptedException {
     var dropdownElement = waitHelper.waitForElementToBeVisible(by);
-    if (IS_DEBUG) jsHelper.javaScriptHighlightElement(dropdownElement);
-    return new Select(dropdownElement).getOptions().stream().map(WebElement::getText).toList();
+    highlight(dropdownElement);
+    return actOnElement(
+        by,
+        dropdownElement,
+        () -> waitHelper.waitForElementToBeVisible(by),
+        jsHelper::getAllOptionText);
   }
 
   /**
@@ -384,9 +616,13 @@ public class SeleniumHelper {
    * @throws InterruptedException If the waiting process is interrupted.
    */
   public List<String> getAllOptionText(By by, int second) throws InterruptedException {
-    WebElement dropdownElement = waitHelper.waitForElementToBeVisible(by, second);
-    if (IS_DEBUG) jsHelper.javaScriptHighlightElement(dropdownElement);
-    return new Select(dropdownElement).getOptions().stream().map(WebElement::getText).toList();
+    var dropdownElement = waitHelper.waitForElementToBeVisible(by, second);
+    highlight(dropdownElement);
+    return actOnElement(
+        by,
+        dropdownElement,
+        () -> waitHelper.waitForElementToBeVisible(by, second),
+        jsHelper::getAllOptionText);
   }
 
   /**
@@ -458,7 +694,7 @@ public class SeleniumHelper {
    */
   public void clickOnElementUsingJavaScript(By by) throws InterruptedException {
     var element = waitHelper.waitForElementToBeVisible(by);
-    if (IS_DEBUG) jsHelper.javaScriptHighlightElement(element);
+    highlight(element);
     jsHelper.javaScriptClickOn(element);
   }
 
@@ -471,7 +707,7 @@ public class SeleniumHelper {
    */
   public void clickOnElementUsingJavaScript(By by, int second) throws InterruptedException {
     var element = waitHelper.waitForElementToBeVisible(by, second);
-    if (IS_DEBUG) jsHelper.javaScriptHighlightElement(element);
+    highlight(element);
     jsHelper.javaScriptClickOn(element);
   }
 
@@ -532,9 +768,15 @@ public class SeleniumHelper {
    */
   public String getText(By by) throws InterruptedException {
     var element = waitHelper.waitForElementToBeVisible(by);
-    jsHelper.scrollToElementIfNotInView(element);
-    if (IS_DEBUG) jsHelper.javaScriptHighlightElement(element);
-    return element.getText().trim();
+    highlight(element);
+    return actOnElement(
+        by,
+        element,
+        () -> waitHelper.waitForElementToBeVisible(by),
+        x -> {
+          jsHelper.scrollToElementIfNotInView(x);
+          return x.getText().trim();
+        });
   }
 
   /**
@@ -547,35 +789,36 @@ public class SeleniumHelper {
    */
   public String getText(By by, int second) throws InterruptedException {
     var element = waitHelper.waitForElementToBeVisible(by, second);
-    jsHelper.scrollToElementIfNotInView(element);
-    if (IS_DEBUG) jsHelper.javaScriptHighlightElement(element);
-    return element.getText().trim();
+    highlight(element);
+    return actOnElement(
+        by,
+        element,
+        () -> waitHelper.waitForElementToBeVisible(by, second),
+        x -> {
+          jsHelper.scrollToElementIfNotInView(x);
+          return x.getText().trim();
+        });
   }
 
   /**
    * Retrieves the text from multiple elements located by the given By locator.
    *
-   * <p>This method waits for all elements to be visible before attempting to retrieve their text.
+   * <p>This method waits for all elements to be visible and reads their text with a single script
+   * call, so large lists cost the same as short ones.
    *
    * @param by The By locator strategy to find the elements.
    * @return A list of strings representing the text of all elements, trimmed of any leading or
    *     trailing whitespace.
    */
   public List<String> getAllElementsText(By by) {
-    var elements = waitHelper.waitForAllElementToBeVisible(by);
-    if (IS_DEBUG)
-      try {
-        for (WebElement element : elements) jsHelper.javaScriptHighlightElement(element);
-      } catch (Exception _) {
-      }
-    return elements.stream().map(x -> x.getText().trim().replace("\n", "")).toList();
+    return getAllElementsTextBuilder().locator(by).build();
   }
 
   /**
    * Retrieves the text from multiple elements located by the given By locator.
    *
-   * <p>This method waits for all elements to be visible within the specified time before attempting
-   * to retrieve their text.
+   * <p>This method waits for all elements to be visible within the specified time and reads their
+   * text with a single script call.
    *
    * @param by The By locator strategy to find the elements.
    * @param second The maximum time to wait for the elements to be visible (in seconds).
@@ -583,14 +826,66 @@ public class SeleniumHelper {
    *     trailing whitespace.
    */
   public List<String> getAllElementsText(By by, int second) {
-    var elements = waitHelper.waitForAllElementToBeVisible(by, second);
-    if (IS_DEBUG) {
-      try {
-        for (WebElement element : elements) jsHelper.javaScriptHighlightElement(element);
-      } catch (Exception _) {
-      }
-    }
-    return elements.stream().map(x -> x.getText().trim().replace("\n", "")).toList();
+    return getAllElementsTextBuilder().locator(by).timeout(second).build();
+  }
+
+  /**
+   * Retrieves the text from multiple elements located by the given By locator with a single script
+   * call.
+   *
+   * @param locator the By locator strategy to find the elements
+   * @param isVisibleTextOnly true (default) to wait until all elements are visible and read the
+   *     rendered text like getText(), false to read the text of all elements without waiting for
+   *     visibility, including hidden ones (e.g. options of a closed dropdown)
+   * @param timeout the time in seconds to wait for the elements (default: learned timeout or 15)
+   * @return a list of the texts of all elements, trimmed and without line breaks
+   */
+  @Builder(builderMethodName = "getAllElementsTextBuilder")
+  private List<String> getAllElementsText(By locator, Boolean isVisibleTextOnly, Integer timeout) {
+
+    // Check required parameters
+    if (locator == null) throw new RuntimeException("locator cannot be null");
+
+    var condition =
+        jsHelper.textOfAllElementsLocated(locator, !Boolean.FALSE.equals(isVisibleTextOnly));
+    var texts =
+        timeout != null ? waitHelper.waitFor(condition, timeout) : waitHelper.waitFor(condition);
+    highlightAllElements(locator);
+    return texts.stream().map(x -> x.trim().replace("\n", "")).toList();
+  }
+
+  /**
+   * Retrieves the given attributes of all elements located by the given By locator with a single
+   * script call. When an attribute is not set, the DOM property of the same name is used.
+   *
+   * @param by The By locator strategy to find the elements.
+   * @param attributes The names of the attributes to read, e.g. "href" or "data-price".
+   * @return One map per element, from attribute name to value (null if it has neither).
+   */
+  public List<Map<String, String>> getAllElementsAttributes(By by, String... attributes) {
+    var condition = jsHelper.attributesOfAllElementsLocated(by, List.of(attributes));
+    var values = waitHelper.waitFor(condition);
+    highlightAllElements(by);
+    return values;
+  }
+
+  // Span of an operation in the trace, see TraceHelper. Public operations are recorded by
+  // SeleniumHelperTracing, the private ones called through a builder open their span themselves.
+  // Operations called by another operation are part of its span
+  TraceHelper.Span trace(String operation, By by) {
+    return TraceHelper.span("SeleniumHelper", operation, pageObjectName, by);
+  }
+
+  // Debug aid: a fading overlay drawn by the browser (IS_DEBUG) and a step screenshot, both
+  // optional and neither blocks the test
+  private void highlight(WebElement element) {
+    if (IS_DEBUG) jsHelper.javaScriptHighlightElement(element);
+    StepScreenshots.capture(driver);
+  }
+
+  private void highlightAllElements(By by) {
+    if (IS_DEBUG) jsHelper.javaScriptHighlightElements(by);
+    StepScreenshots.capture(driver);
   }
 
   /**
@@ -638,9 +933,9 @@ public class SeleniumHelper {
    *     visible.
    */
   public void uploadFile(By by, String fileName) throws InterruptedException {
-    var file = FileHelper.getUploadFilesFullPath(fileName);
+    var file = UploadStager.stage(driver, FileHelper.getUploadFilesFullPath(fileName));
     var element = waitHelper.waitForElementPresenceInDOM(by);
-    if (IS_DEBUG) jsHelper.javaScriptHighlightElement(element);
+    highlight(element);
     if (Objects.equals(element.getDomAttribute("type"), "file")) element.sendKeys(file);
     else jsHelper.uploadFile(element, file, false);
   }
@@ -655,9 +950,9 @@ public class SeleniumHelper {
    *     visible.
    */
   public void uploadFile(By by, String fileName, int second) throws InterruptedException {
-    var file = FileHelper.getUploadFilesFullPath(fileName);
+    var file = UploadStager.stage(driver, FileHelper.getUploadFilesFullPath(fileName));
     var element = waitHelper.waitForElementPresenceInDOM(by, second);
-    if (IS_DEBUG) jsHelper.javaScriptHighlightElement(element);
+    highlight(element);
     if (Objects.equals(element.getDomAttribute("type"), "file")) element.sendKeys(file);
     else jsHelper.uploadFile(element, file, false);
   }
@@ -671,12 +966,14 @@ public class SeleniumHelper {
    *     visible.
    */
   public void uploadFile(By chooseFile, List<String> fileNames) throws InterruptedException {
-    var filePathForAllFiles = FileHelper.getConcatenatedPath(fileNames);
+    var filePathForAllFiles =
+        UploadStager.stage(driver, FileHelper.getConcatenatedPath(fileNames));
     var element = waitHelper.waitForElementPresenceInDOM(chooseFile);
-    if (IS_DEBUG) jsHelper.javaScriptHighlightElement(element);
+    highlight(element);
     var isTypeAttributeHasFile = Objects.equals(element.getDomAttribute("type"), "file");
     var isMultiplePropertyAvailable = element.getDomProperty("multiple") != null;
-    var isMultiplePropertyHaveNotFalseValue = Objects.equals(element.getDomAttribute("type"), "false");
+    var isMultiplePropertyHaveNotFalseValue =
+        Objects.equals(element.getDomAttribute("type"), "false");
     if (isTypeAttributeHasFile
         && isMultiplePropertyAvailable
         && isMultiplePropertyHaveNotFalseValue) {
@@ -694,12 +991,14 @@ public class SeleniumHelper {
    *     visible.
    */
   public void uploadFile(By by, List<String> fileNames, int second) throws InterruptedException {
-    var filePathForAllFiles = FileHelper.getConcatenatedPath(fileNames);
+    var filePathForAllFiles =
+        UploadStager.stage(driver, FileHelper.getConcatenatedPath(fileNames));
     var element = waitHelper.waitForElementPresenceInDOM(by, second);
     var isTypeAttributeHasFile = Objects.equals(element.getDomAttribute("type"), "file");
     var isMultiplePropertyAvailable = element.getDomProperty("multiple") != null;
-    var isMultiplePropertyHaveNotFalseValue = Objects.equals(element.getDomAttribute("type"), "false");
-    if (IS_DEBUG) jsHelper.javaScriptHighlightElement(element);
+    var isMultiplePropertyHaveNotFalseValue =
+        Objects.equals(element.getDomAttribute("type"), "false");
+    highlight(element);
     if (isTypeAttributeHasFile
         && isMultiplePropertyAvailable
         && isMultiplePropertyHaveNotFalseValue) {
@@ -712,9 +1011,15 @@ public class SeleniumHelper {
    *
    * @param locator the By locator strategy to find the element to click on
    * @param fileName the name of the file to be downloaded
-   * @param downloadTimeout the time in seconds to wait for the file to be downloaded (default: 15)
+   * @param fileNames the names of the files to be downloaded, when the click downloads several
+   *     (fileName or fileNames is required)
+   * @param downloadTimeout the time in seconds to wait for the file to be downloaded (default:
+   *     learned timeout or 15)
    * @param elementVisibilityTimeout the time in seconds to wait for the element to be visible
-   *     (default: 15)
+   *     (default: learned timeout or 15)
+   * @param viaHttp true to fetch the href of the link with the cookies and user agent of the
+   *     browser session instead of clicking it, for tests which do not cover browser behaviour
+   *     (default: false)
    * @return a pair containing a boolean indicating whether the file exists and a string listing the
    *     files available in the download folder
    * @throws InterruptedException if the thread is interrupted while waiting for the file to be
@@ -722,22 +1027,27 @@ public class SeleniumHelper {
    */
   @Builder(builderMethodName = "initiateDownloadAndVerifyWithExpectedMessageBuilder")
   private Pair<Boolean, String> initiateDownloadAndVerifyWithExpectedMessage(
-      By locator, String fileName, Integer downloadTimeout, Integer elementVisibilityTimeout)
+      By locator,
+      String fileName,
+      List<String> fileNames,
+      Integer downloadTimeout,
+      Integer elementVisibilityTimeout,
+      Boolean viaHttp)
       throws InterruptedException {
+    try (var _ = trace("initiateDownloadAndVerifyWithExpectedMessage", locator)) {
 
-    // Check required parameters
-    if (locator == null) throw new RuntimeException("locator cannot be null");
-    if (fileName == null) throw new RuntimeException("fileName cannot be null");
-
-    // Optional parameters with default values
-    int effectiveDownloadTimeout = Optional.ofNullable(downloadTimeout).orElse(15);
-    int effectiveElementVisibilityTimeout =
-        Optional.ofNullable(elementVisibilityTimeout).orElse(15);
+      // Check required parameters
+      if (locator == null) throw new RuntimeException("locator cannot be null");
+      var allFileNames = getAllFileNames(fileName, fileNames);
 
-    // Perform file operations
-    FileHelper.deleteFile(fileName);
-    scrollAndClickOn(locator, effectiveElementVisibilityTimeout);
-    return FileHelper.isFileExists(fileName, effectiveDownloadTimeout);
+      // Perform file operations, learned or default timeouts are used for missing parameters
+      allFileNames.forEach(FileHelper::deleteFile);
+      if (Boolean.TRUE.equals(viaHttp))
+        return downloadViaHttp(locator, allFileNames, downloadTimeout, elementVisibilityTimeout);
+      if (elementVisibilityTimeout != null) scrollAndClickOn(locator, elementVisibilityTimeout);
+      else scrollAndClickOn(locator);
+      return waitForDownload(allFileNames, downloadTimeout);
+    }
   }
 
   /**
@@ -745,30 +1055,118 @@ public class SeleniumHelper {
    *
    * @param locator the By locator strategy to find the element to click on
    * @param fileName the name of the file to be downloaded
-   * @param downloadTimeout the time in seconds to wait for the file to be downloaded (default: 15)
+   * @param fileNames the names of the files to be downloaded, when the click downloads several
+   *     (fileName or fileNames is required)
+   * @param downloadTimeout the time in seconds to wait for the file to be downloaded (default:
+   *     learned timeout or 15)
    * @param elementVisibilityTimeout the time in seconds to wait for the element to be visible
-   *     (default: 15)
+   *     (default: learned timeout or 15)
+   * @param viaHttp true to fetch the href of the link with the cookies and user agent of the
+   *     browser session instead of clicking it, for tests which do not cover browser behaviour
+   *     (default: false)
    * @return true if the file exists, false otherwise
    * @throws InterruptedException if the thread is interrupted while waiting for the file to be
    *     downloaded
    */
   @Builder(builderMethodName = "initiateDownloadAndVerifyBuilder")
   private Boolean initiateDownloadAndVerify(
-      By locator, String fileName, Integer downloadTimeout, Integer elementVisibilityTimeout)
+      By locator,
+      String fileName,
+      List<String> fileNames,
+      Integer downloadTimeout,
+      Integer elementVisibilityTimeout,
+      Boolean viaHttp)
       throws InterruptedException {
+    try (var _ = trace("initiateDownloadAndVerify", locator)) {
 
-    // Check required parameters
-    if (locator == null) throw new RuntimeException("locator cannot be null");
-    if (fileName == null) throw new RuntimeException("fileName cannot be null");
+      // Check required parameters
+      if (locator == null) throw new RuntimeException("locator cannot be null");
+      var allFileNames = getAllFileNames(fileName, fileNames);
+
+      // Perform file operations, learned or default timeouts are used for missing parameters
+      allFileNames.forEach(FileHelper::deleteFile);
+      if (Boolean.TRUE.equals(viaHttp))
+        return downloadViaHttp(locator, allFileNames, downloadTimeout, elementVisibilityTimeout)
+            .getLeft();
+      if (elementVisibilityTimeout != null) scrollAndClickOn(locator, elementVisibilityTimeout);
+      else scrollAndClickOn(locator);
+      return waitForDownload(allFileNames, downloadTimeout).getLeft();
+    }
+  }
+
+  /**
+   * Waits for downloads to finish. Without an explicit timeout the timeout learned for the calling
+   * page object method is used, and the time the download took is recorded for it.
+   *
+   * @param fileNames the names of the files to be downloaded
+   * @param downloadTimeout the time in seconds to wait for the files, or null
+   * @return a pair containing a boolean indicating whether all files exist and a string listing the
+   *     files available in the download folder
+   */
+  private Pair<Boolean, String> waitForDownload(List<String> fileNames, Integer downloadTimeout) {
+    var timeout =
+        downloadTimeout != null
+            ? Duration.ofSeconds(downloadTimeout)
+            : AdaptiveTimeoutHelper.getTimeout(
+                pageObjectName, "download", DEFAULT_DOWNLOAD_TIMEOUT);
+    var start = System.nanoTime();
+    var result = FileHelper.areFilesDownloaded(fileNames, timeout);
+    // Downloads which ran into the learned timeout are recorded too, so it can grow again
+    if (result.getLeft() || downloadTimeout == null)
+      AdaptiveTimeoutHelper.record(
+          pageObjectName, "download", Duration.ofNanos(System.nanoTime() - start));
+    return result;
+  }
 
-    // Optional parameters with default values
-    int effectiveDownloadTimeout = Optional.ofNullable(downloadTimeout).orElse(15);
-    int effectiveElementVisibilityTimeout =
-        Optional.ofNullable(elementVisibilityTimeout).orElse(15);
+  /**
+   * Downloads the file behind a link with an HTTP request carrying the cookies and user agent of
+   * the browser session, see {@link HttpDownloadHelper}. The file is written to the download folder
+   * like a browser download.
+   *
+   * @param locator the locator of the link
+   * @param fileNames the name of the file, a link downloads a single file
+   * @param downloadTimeout the time in seconds the download may take, or null
+   * @param elementVisibilityTimeout the time in seconds to wait for the link, or null
+   * @return a pair containing a boolean indicating whether the file was served (not empty) and a
+   *     string with the status, size and SHA-256 of the download
+   * @throws RuntimeException if the response is not 2xx, the existing file is then left untouched
+   */
+  private Pair<Boolean, String> downloadViaHttp(
+      By locator, List<String> fileNames, Integer downloadTimeout, Integer elementVisibilityTimeout)
+      throws InterruptedException {
+    if (fileNames.size() != 1)
+      throw new RuntimeException("viaHttp downloads a single file, use fileName");
+    var element =
+        elementVisibilityTimeout != null
+            ? waitHelper.waitForElementToBeVisible(locator, elementVisibilityTimeout)
+            : waitHelper.waitForElementToBeVisible(locator);
+    var href = element.getDomProperty("href");
+    if (href == null || href.isBlank())
+      throw new RuntimeException("Element located by " + locator + " has no href to download");
+
+    var timeout =
+        downloadTimeout != null ? Duration.ofSeconds(downloadTimeout) : DEFAULT_DOWNLOAD_TIMEOUT;
+    var target = Path.of(FileHelper.getDownloadFolderPath(), fileNames.getFirst());
+    var download = HttpDownloadHelper.download(driver, href, target, timeout);
+    var isServed = download.size() > 0;
+    return Pair.of(
+        isServed,
+        "\nDownloaded "
+            + href
+            + " via HTTP: status "
+            + download.status()
+            + ", "
+            + download.size()
+            + " bytes, SHA-256 "
+            + download.sha256());
+  }
 
-    // Perform file operations
-    FileHelper.deleteFile(fileName);
-    scrollAndClickOn(locator, effectiveElementVisibilityTimeout);
-    return FileHelper.isFileExists(fileName, effectiveDownloadTimeout).getLeft();
+  private static List<String> getAllFileNames(String fileName, List<String> fileNames) {
+    if (fileName == null && (fileNames == null || fileNames.isEmpty()))
+      throw new RuntimeException("fileName or fileNames cannot be null");
+    var allFileNames = new ArrayList<String>();
+    if (fileName != null) allFileNames.add(fileName);
+    if (fileNames != null) allFileNames.addAll(fileNames);
+    return allFileNames;
   }
 }
@@ -0,0 +1,97 @@
+package elementHelper.web;
+
+import static net.bytebuddy.matcher.ElementMatchers.isDeclaredBy;
+import static net.bytebuddy.matcher.ElementMatchers.isPublic;
+import static net.bytebuddy.matcher.ElementMatchers.isStatic;
+import static net.bytebuddy.matcher.ElementMatchers.nameEndsWith;
+import static net.bytebuddy.matcher.ElementMatchers.not;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy;
+import net.bytebuddy.implementation.MethodDelegation;
+import net.bytebuddy.implementation.bind.annotation.AllArguments;
+import net.bytebuddy.implementation.bind.annotation.Origin;
+import net.bytebuddy.implementation.bind.annotation.RuntimeType;
+import net.bytebuddy.implementation.bind.annotation.SuperCall;
+import net.bytebuddy.implementation.bind.annotation.This;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Records every public operation of a {@link SeleniumHelper} as a span of the trace, see {@link
+ * elementHelper.TraceHelper}. The helper is a subclass generated on first use whose public methods
+ * run the operation inside its span, so the operations themselves carry no tracing code. It is only
+ * used when tracing is on, see {@link SeleniumHelper#create}. Lombok builder methods only create a
+ * builder and are not recorded.
+ */
+final class SeleniumHelperTracing {
+
+  private static final Constructor<? extends SeleniumHelper> CONSTRUCTOR = generate();
+
+  private SeleniumHelperTracing() {}
+
+  static SeleniumHelper newInstance(WebDriver driver, String pageObjectName) {
+    try {
+      return CONSTRUCTOR.newInstance(driver, pageObjectName);
+    } catch (ReflectiveOperationException e) {
+      throw new RuntimeException(
+          "SeleniumHelper for " + pageObjectName + " could not be created", e);
+    }
+  }
+
+  // Defined in this package and class loader, so it can call the package-private interceptor
+  private static Constructor<? extends SeleniumHelper> generate() {
+    try {
+      return new ByteBuddy()
+          .subclass(SeleniumHelper.class, ConstructorStrategy.Default.IMITATE_SUPER_CLASS)
+          .method(
+              isPublic()
+                  .and(not(isStatic()))
+                  .and(isDeclaredBy(SeleniumHelper.class))
+                  .and(not(nameEndsWith("Builder"))))
+          .intercept(MethodDelegation.to(SeleniumHelperTracing.class))
+          .make()
+          .load(
+              SeleniumHelper.class.getClassLoader(),
+              ClassLoadingStrategy.UsingLookup.of(
+                  MethodHandles.privateLookupIn(SeleniumHelper.class, MethodHandles.lookup())))
+          .getLoaded()
+          .getConstructor(WebDriver.class, String.class);
+    } catch (ReflectiveOperationException e) {
+      throw new RuntimeException("Traced SeleniumHelper could not be generated", e);
+    }
+  }
+
+  /**
+   * Runs an operation of the helper inside a span named after it, with its first locator.
+   *
+   * @param helper The helper the operation was called on.
+   * @param method The public method of the operation.
+   * @param arguments The arguments of the operation.
+   * @param operation Runs the operation as implemented by SeleniumHelper.
+   * @return The result of the operation.
+   * @throws Exception Whatever the operation throws.
+   */
+  @RuntimeType
+  public static Object intercept(
+      @This SeleniumHelper helper,
+      @Origin Method method,
+      @AllArguments Object[] arguments,
+      @SuperCall Callable<?> operation)
+      throws Exception {
+    By locator = null;
+    for (var argument : arguments)
+      if (argument instanceof By by) {
+        locator = by;
+        break;
+      }
+    try (var _ = helper.trace(method.getName(), locator)) {
+      return operation.call();
+    }
+  }
+}
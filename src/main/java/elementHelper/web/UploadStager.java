@@ -0,0 +1,123 @@
+package elementHelper.web;
+
+import com.selenium.testng.elite.utils.RunMetrics;
+import elementHelper.TraceHelper;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.io.Zip;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.service.DriverCommandExecutor;
+
+/**
+ * Transfers files to be uploaded to a remote browser (Selenium Grid or standalone server) once and
+ * reuses the remote path afterwards. Files are identified by the SHA-256 of their content and their
+ * name, as the page sees the name of the remote copy. The server keeps uploaded files only for the
+ * session, so the remote paths are remembered per driver. Local browsers read the files directly
+ * and get the local paths back unchanged.
+ */
+public class UploadStager {
+
+  public static final String TRANSFERS = "upload transfers";
+  public static final String REUSES = "upload reuses";
+  public static final String BYTES_TRANSFERRED = "upload bytes transferred";
+
+  // Remote path per content hash and file name, per remote driver
+  private static final Map<WebDriver, Map<String, String>> remotePaths = new WeakHashMap<>();
+
+  // Local files are hashed again only when their size or modification time changed
+  private static final Map<String, FileHash> fileHashes = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the paths to send to a file input. For a remote browser, every file not transferred to
+   * the session yet is transferred now.
+   *
+   * @param driver The driver of the test.
+   * @param localPaths The local paths of the files, separated by a new line.
+   * @return The paths of the files as seen by the browser, separated by a new line.
+   */
+  public static String stage(WebDriver driver, String localPaths) {
+    var remoteDriver = getRemoteDriver(driver);
+    if (remoteDriver == null) return localPaths;
+    Map<String, String> sessionPaths;
+    synchronized (remotePaths) {
+      sessionPaths = remotePaths.computeIfAbsent(remoteDriver, _ -> new ConcurrentHashMap<>());
+    }
+    return Arrays.stream(localPaths.split("\n"))
+        .map(localPath -> stage(remoteDriver, sessionPaths, new File(localPath.trim())))
+        .collect(Collectors.joining("\n"));
+  }
+
+  private static String stage(
+      RemoteWebDriver remoteDriver, Map<String, String> sessionPaths, File file) {
+    var key = hash(file) + "/" + file.getName();
+    var remotePath = sessionPaths.get(key);
+    if (remotePath != null) {
+      RunMetrics.increment(REUSES);
+      return remotePath;
+    }
+    try (var _ = TraceHelper.span("UploadStager", "transfer", null, file.getName())) {
+      remotePath = transfer(remoteDriver, file);
+    }
+    RunMetrics.increment(TRANSFERS);
+    RunMetrics.add(BYTES_TRANSFERRED, file.length());
+    sessionPaths.put(key, remotePath);
+    return remotePath;
+  }
+
+  // Same command as RemoteWebElement uses when a LocalFileDetector is set
+  private static String transfer(RemoteWebDriver remoteDriver, File file) {
+    try {
+      var payload = Map.<String, Object>of("file", Zip.zip(file));
+      var command = new Command(remoteDriver.getSessionId(), DriverCommand.UPLOAD_FILE, payload);
+      var response = remoteDriver.getCommandExecutor().execute(command);
+      if (response.getValue() instanceof WebDriverException e) throw e;
+      if (response.getValue() instanceof String remotePath) return remotePath;
+      throw new RuntimeException("Unexpected response to upload of " + file + ": " + response);
+    } catch (IOException e) {
+      throw new RuntimeException("File " + file + " could not be transferred to the browser", e);
+    }
+  }
+
+  // The driver behind the event firing decorator, or null if the browser runs on this machine
+  private static RemoteWebDriver getRemoteDriver(WebDriver driver) {
+    while (driver instanceof WrapsDriver wrapsDriver) driver = wrapsDriver.getWrappedDriver();
+    if (!(driver instanceof RemoteWebDriver remoteDriver)) return null;
+    return remoteDriver.getCommandExecutor() instanceof DriverCommandExecutor ? null : remoteDriver;
+  }
+
+  private static String hash(File file) {
+    var size = file.length();
+    var lastModified = file.lastModified();
+    var fileHash = fileHashes.get(file.getAbsolutePath());
+    if (fileHash != null && fileHash.size() == size && fileHash.lastModified() == lastModified)
+      return fileHash.hash();
+
+    try (InputStream input = Files.newInputStream(file.toPath())) {
+      var digest = MessageDigest.getInstance("SHA-256");
+      var buffer = new byte[64 * 1024];
+      for (int read; (read = input.read(buffer)) != -1; ) digest.update(buffer, 0, read);
+      var hash = HexFormat.of().formatHex(digest.digest());
+      fileHashes.put(file.getAbsolutePath(), new FileHash(size, lastModified, hash));
+      return hash;
+    } catch (IOException | NoSuchAlgorithmException e) {
+      throw new RuntimeException("File " + file + " could not be read for upload", e);
+    }
+  }
+
+  private record FileHash(long size, long lastModified, String hash) {}
+}
@@ -7,6 +7,6 @@ public class BasePageObject {
   protected WaitHelper wait;
 
   protected BasePageObject(WebDriver driver) {
-    wait = new WaitHelper(driver);
+    wait = new WaitHelper(driver, getClass().getSimpleName());
   }
 }
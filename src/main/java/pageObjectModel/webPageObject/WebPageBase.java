@@ -11,7 +11,7 @@ public class WebPageBase extends BasePageObject {
 
   protected WebPageBase(WebDriver driver) {
     super(driver);
-    seleniumHelper = new SeleniumHelper(driver);
+    seleniumHelper = SeleniumHelper.create(driver, getClass().getSimpleName());
   }
 
   // Common Locator
@@ -28,4 +28,13 @@ public class FileDownloadPageInternetHerokuApp extends WebPageBase {
         .fileName(fileName)
         .build();
   }
+
+  public boolean downloadFileViaHttp(String fileName) throws InterruptedException {
+    return seleniumHelper
+        .initiateDownloadAndVerifyBuilder()
+        .locator(downloadFile(fileName))
+        .fileName(fileName)
+        .viaHttp(true)
+        .build();
+  }
 }
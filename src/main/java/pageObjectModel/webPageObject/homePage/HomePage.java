@@ -4,6 +4,7 @@ import pageObjectModel.webPageObject.WebPageBase;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import java.util.List;
+import java.util.regex.Pattern;
 
 public class HomePage extends WebPageBase {
   public HomePage(WebDriver driver) {
@@ -30,6 +31,10 @@ public class HomePage extends WebPageBase {
   private final By alertMessage = By.xpath("//div[contains(@class,'alert-success')]");
   private final By alertMessageCrossButton = By.cssSelector("button.close");
 
+  // Network requests
+  private static final Pattern addToCartRequest = Pattern.compile("route=checkout/cart/add");
+  private static final Pattern addToWishListRequest = Pattern.compile("route=account/wishlist/add");
+
   // Dynamic locator
   private static By currencyOption(String currencyName) {
     return By.xpath("//button[contains(text(),'" + currencyName + "')]");
@@ -70,11 +75,11 @@ public class HomePage extends WebPageBase {
   }
 
   public void clickOnRegisterOption() throws InterruptedException {
-    seleniumHelper.scrollAndClickOn(registrationOption);
+    seleniumHelper.scrollAndClickOnStableElement(registrationOption);
   }
 
   public void clickOnLoginOption() throws InterruptedException {
-    seleniumHelper.scrollAndClickOn(loginOption);
+    seleniumHelper.scrollAndClickOnStableElement(loginOption);
   }
 
   public void clickOnWishListIcon() throws InterruptedException {
@@ -127,7 +132,7 @@ public class HomePage extends WebPageBase {
   }
 
   public void clickOnCurrency(String currency) throws InterruptedException {
-    seleniumHelper.scrollAndClickOn(currencyOption(currency));
+    seleniumHelper.scrollAndClickOnStableElement(currencyOption(currency));
     seleniumHelper.waitTillPageLoadedProperly();
   }
 
@@ -136,7 +141,10 @@ public class HomePage extends WebPageBase {
   }
 
   public void clickOnWishListButton(String productName) throws InterruptedException {
-    seleniumHelper.scrollAndClickOn(wishListButton(productName));
+    wait.waitForResponse(
+        addToWishListRequest,
+        "POST",
+        () -> seleniumHelper.scrollAndClickOn(wishListButton(productName)));
   }
 
   public boolean isAlertMessageDisplayed() {
@@ -152,8 +160,10 @@ public class HomePage extends WebPageBase {
   }
 
   public void clickOnAddToCartButton(String productName) throws InterruptedException {
-    seleniumHelper.scrollAndClickOn(addToCartButton(productName));
-    seleniumHelper.waitTillPageLoadedProperly();
+    wait.waitForResponse(
+        addToCartRequest,
+        "POST",
+        () -> seleniumHelper.scrollAndClickOn(addToCartButton(productName)));
   }
 
   public void clickOnCrossIcon() throws InterruptedException {
@@ -1,5 +1,6 @@
 package pageObjectModel.webPageObject.registrationPage;
 
+import com.selenium.testng.elite.enums.FillMode;
 import dataObject.registerUser.RegisterUserDataObject;
 import pageObjectModel.webPageObject.WebPageBase;
 import org.openqa.selenium.By;
@@ -210,12 +211,11 @@ public class RegistrationPage extends WebPageBase {
     seleniumHelper.scrollAndClickOn(privacyPolicyCheckbox);
   }
 
-  public void fillTheForm(RegisterUserDataObject registerUserData) throws InterruptedException {
-    enterFirstName(registerUserData.getFirstName());
-    enterLastName(registerUserData.getLastName());
-    enterTelephone(registerUserData.getTelephone());
-    enterEmail(registerUserData.getEmail());
-    enterPassword(registerUserData.getPassword());
-    enterConfirmPassword(registerUserData.getConfirmPassword());
+  public void fillTheForm(RegisterUserDataObject registerUserData) {
+    seleniumHelper.fillForm(registerUserData);
+  }
+
+  public void fillTheForm(RegisterUserDataObject registerUserData, FillMode fillMode) {
+    seleniumHelper.fillForm(registerUserData, fillMode);
   }
 }
@@ -0,0 +1,28 @@
+package pageObjectModel.webPageObject.standInPage;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import pageObjectModel.webPageObject.WebPageBase;
+
+public class AnimatedMenuStandInPage extends WebPageBase {
+  public AnimatedMenuStandInPage(WebDriver driver) {
+    super(driver);
+  }
+
+  // Locators
+  private final By myAccountDropdown = By.id("my-account");
+  private final By registrationOption = By.id("register");
+  private final By selectedOptionText = By.id("selected-option");
+
+  public void clickOnMyAccountDropdown() throws InterruptedException {
+    seleniumHelper.scrollAndClickOn(myAccountDropdown);
+  }
+
+  public void clickOnRegisterOption() throws InterruptedException {
+    seleniumHelper.scrollAndClickOnStableElement(registrationOption);
+  }
+
+  public String getSelectedOptionText() throws InterruptedException {
+    return seleniumHelper.getText(selectedOptionText);
+  }
+}
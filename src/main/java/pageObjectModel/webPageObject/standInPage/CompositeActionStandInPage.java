@@ -0,0 +1,62 @@
+package pageObjectModel.webPageObject.standInPage;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import pageObjectModel.webPageObject.WebPageBase;
+
+public class CompositeActionStandInPage extends WebPageBase {
+
+  private final JavascriptExecutor js;
+
+  public CompositeActionStandInPage(WebDriver driver) {
+    super(driver);
+    js = (JavascriptExecutor) driver;
+  }
+
+  // Locators
+  private final By emailTextBox = By.id("email");
+  private final By submitButton = By.id("submit");
+  private final By resultText = By.id("result");
+
+  public void enterEmail(String email) throws InterruptedException {
+    seleniumHelper.scrollAndEnterText(emailTextBox, email);
+  }
+
+  public void clickOnSubmitButton() throws InterruptedException {
+    seleniumHelper.scrollAndClickOn(submitButton);
+  }
+
+  // Same commands as scrollAndEnterText used before the composite action, kept as the baseline
+  public void enterEmailStepByStep(String email) {
+    var element = wait.waitForElementToBeClickable(emailTextBox);
+    scrollToElementIfNotInViewStepByStep(element);
+    element.clear();
+    element.sendKeys(email);
+  }
+
+  // Same commands as scrollAndClickOn used before the composite action, kept as the baseline
+  public void clickOnSubmitButtonStepByStep() {
+    var element = wait.waitForElementToBeClickable(submitButton);
+    scrollToElementIfNotInViewStepByStep(element);
+    element.click();
+  }
+
+  public String getResultText() throws InterruptedException {
+    return seleniumHelper.getText(resultText);
+  }
+
+  private void scrollToElementIfNotInViewStepByStep(WebElement element) {
+    var isInViewport =
+        (Boolean)
+            js.executeScript(
+                """
+                var rect = arguments[0].getBoundingClientRect();
+                return rect.top >= 0 && rect.left >= 0
+                    && rect.bottom <= window.innerHeight && rect.right <= window.innerWidth;
+                """,
+                element);
+    if (!isInViewport) js.executeScript("arguments[0].scrollIntoView({block: 'center'});", element);
+  }
+}
@@ -0,0 +1,28 @@
+package pageObjectModel.webPageObject.standInPage;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import pageObjectModel.webPageObject.WebPageBase;
+
+public class DelayedEnableStandInPage extends WebPageBase {
+  public DelayedEnableStandInPage(WebDriver driver) {
+    super(driver);
+  }
+
+  // Locators
+  private final By emailTextBox = By.id("email");
+  private final By submitButton = By.id("submit");
+  private final By resultText = By.id("result");
+
+  public void enterEmail(String email) throws InterruptedException {
+    seleniumHelper.enterText(emailTextBox, email);
+  }
+
+  public void clickOnSubmitButton() throws InterruptedException {
+    seleniumHelper.clickOn(submitButton);
+  }
+
+  public String getResultText() throws InterruptedException {
+    return seleniumHelper.getText(resultText);
+  }
+}
@@ -0,0 +1,45 @@
+package pageObjectModel.webPageObject.standInPage;
+
+import java.util.List;
+import org.apache.commons.lang3.tuple.Pair;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import pageObjectModel.webPageObject.WebPageBase;
+
+public class DownloadStandInPage extends WebPageBase {
+  public DownloadStandInPage(WebDriver driver) {
+    super(driver);
+  }
+
+  // Locators
+  private final By downloadReportLink = By.id("download-report");
+  private final By downloadAllButton = By.id("download-all");
+  private final By downloadProtectedLink = By.id("download-protected");
+
+  public Pair<Boolean, String> clickOnDownloadReportLink() throws InterruptedException {
+    return seleniumHelper
+        .initiateDownloadAndVerifyWithExpectedMessageBuilder()
+        .locator(downloadReportLink)
+        .fileName("standInReport.csv")
+        .downloadTimeout(10)
+        .build();
+  }
+
+  public Pair<Boolean, String> clickOnDownloadAllButton() throws InterruptedException {
+    return seleniumHelper
+        .initiateDownloadAndVerifyWithExpectedMessageBuilder()
+        .locator(downloadAllButton)
+        .fileNames(List.of("standInReport.csv", "standInNotes.txt"))
+        .downloadTimeout(10)
+        .build();
+  }
+
+  public Pair<Boolean, String> downloadProtectedReportViaHttp() throws InterruptedException {
+    return seleniumHelper
+        .initiateDownloadAndVerifyWithExpectedMessageBuilder()
+        .locator(downloadProtectedLink)
+        .fileName("standInReport.csv")
+        .viaHttp(true)
+        .build();
+  }
+}
@@ -0,0 +1,64 @@
+package pageObjectModel.webPageObject.standInPage;
+
+import java.util.List;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.Select;
+import pageObjectModel.webPageObject.WebPageBase;
+
+public class DropdownStandInPage extends WebPageBase {
+  public DropdownStandInPage(WebDriver driver) {
+    super(driver);
+  }
+
+  // Locators, same as on the checkout address form
+  private final By countryDropdown = By.id("input-country");
+  private final By zoneDropdown = By.id("input-zone");
+  private final By changeEventsText = By.id("change-events");
+  private final By inputEventsText = By.id("input-events");
+
+  public void selectCountry(String country) throws InterruptedException {
+    seleniumHelper.selectOptionByText(countryDropdown, country);
+  }
+
+  public void selectCountryByValue(String value) throws InterruptedException {
+    seleniumHelper.selectOptionByValue(countryDropdown, value);
+  }
+
+  public void selectZoneByIndex(int index) throws InterruptedException {
+    seleniumHelper.selectOptionByIndex(zoneDropdown, index);
+  }
+
+  public List<String> getAllCountries() throws InterruptedException {
+    return seleniumHelper.getAllOptionText(countryDropdown);
+  }
+
+  public List<String> getAllZones() throws InterruptedException {
+    return seleniumHelper.getAllOptionText(zoneDropdown);
+  }
+
+  public String getSelectedZoneValue() {
+    return seleniumHelper.getAllElementsAttributes(zoneDropdown, "value").getFirst().get("value");
+  }
+
+  public String getChangeEventsText() throws InterruptedException {
+    return seleniumHelper.getText(changeEventsText);
+  }
+
+  public String getInputEventsText() throws InterruptedException {
+    return seleniumHelper.getText(inputEventsText);
+  }
+
+  // Same commands as selectOptionByText used before selecting in the browser, kept as the baseline
+  public void selectCountryWithSelect(String country) {
+    new Select(wait.waitForElementToBeVisible(countryDropdown)).selectByVisibleText(country);
+  }
+
+  // Same commands as getAllOptionText used before reading in the browser, kept as the baseline
+  public List<String> getAllCountriesWithSelect() {
+    return new Select(wait.waitForElementToBeVisible(countryDropdown)).getOptions().stream()
+        .map(WebElement::getText)
+        .toList();
+  }
+}
@@ -0,0 +1,48 @@
+package pageObjectModel.webPageObject.standInPage;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import pageObjectModel.webPageObject.WebPageBase;
+
+public class ElementCacheStandInPage extends WebPageBase {
+  public ElementCacheStandInPage(WebDriver driver) {
+    super(driver);
+  }
+
+  // Locators
+  private final By pageText = By.id("page");
+  private final By counterText = By.id("counter");
+  private final By incrementButton = By.id("increment");
+  private final By reRenderButton = By.id("re-render");
+  private final By nextPageLink = By.id("next-page");
+  private final By nameTextBox = By.id("name");
+
+  public String getPageText() throws InterruptedException {
+    return seleniumHelper.getText(pageText);
+  }
+
+  public String getCounterText() throws InterruptedException {
+    return seleniumHelper.getText(counterText);
+  }
+
+  public void clickOnIncrementButton() throws InterruptedException {
+    seleniumHelper.clickOn(incrementButton);
+  }
+
+  public void scrollAndClickOnIncrementButton() throws InterruptedException {
+    seleniumHelper.scrollAndClickOn(incrementButton);
+  }
+
+  public void enterName(String name) throws InterruptedException {
+    seleniumHelper.scrollAndEnterText(nameTextBox, name);
+  }
+
+  public void clickOnReRenderButton() throws InterruptedException {
+    seleniumHelper.clickOn(reRenderButton);
+  }
+
+  public void clickOnNextPageLink() throws InterruptedException {
+    seleniumHelper.clickOn(nextPageLink);
+    seleniumHelper.waitTillPageLoadedProperly();
+  }
+}
@@ -0,0 +1,65 @@
+package pageObjectModel.webPageObject.standInPage;
+
+import com.selenium.testng.elite.enums.FillMode;
+import dataObject.registerUser.RegisterUserDataObject;
+import java.util.LinkedHashMap;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import pageObjectModel.webPageObject.WebPageBase;
+
+public class FormFillStandInPage extends WebPageBase {
+  public FormFillStandInPage(WebDriver driver) {
+    super(driver);
+  }
+
+  // Locators
+  private final By firstNameField = By.id("input-firstname");
+  private final By lastNameField = By.id("input-lastname");
+  private final By emailField = By.id("input-email");
+  private final By privacyPolicyCheckbox = By.id("input-agree");
+  private final By changeEventsText = By.id("change-events");
+  private final By keyEventsText = By.id("key-events");
+
+  public void fillTheForm(RegisterUserDataObject registerUserData, FillMode fillMode) {
+    seleniumHelper.fillForm(registerUserData, fillMode);
+  }
+
+  public void fillNameAndEmail(String firstName, String lastName, String email) {
+    var values = new LinkedHashMap<By, String>();
+    values.put(firstNameField, firstName);
+    values.put(lastNameField, lastName);
+    values.put(emailField, email);
+    seleniumHelper.fillForm(values);
+  }
+
+  public void fillNameAndEmail(
+      String firstName, String lastName, String email, FillMode fillMode) {
+    var values = new LinkedHashMap<By, String>();
+    values.put(firstNameField, firstName);
+    values.put(lastNameField, lastName);
+    values.put(emailField, email);
+    seleniumHelper.fillForm(values, fillMode);
+  }
+
+  public void acceptPrivacyPolicy() {
+    var values = new LinkedHashMap<By, String>();
+    values.put(privacyPolicyCheckbox, "true");
+    seleniumHelper.fillForm(values, FillMode.SCRIPT);
+  }
+
+  public boolean isPrivacyPolicyAccepted() {
+    return seleniumHelper.isCheckBoxButtonSelected(privacyPolicyCheckbox);
+  }
+
+  public String getFirstName() {
+    return seleniumHelper.getAllElementsAttributes(firstNameField, "value").getFirst().get("value");
+  }
+
+  public int getChangeEventCount() throws InterruptedException {
+    return Integer.parseInt(seleniumHelper.getText(changeEventsText));
+  }
+
+  public int getKeyEventCount() throws InterruptedException {
+    return Integer.parseInt(seleniumHelper.getText(keyEventsText));
+  }
+}
@@ -0,0 +1,34 @@
+package pageObjectModel.webPageObject.standInPage;
+
+import elementHelper.NetworkResponse;
+import java.util.regex.Pattern;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import pageObjectModel.webPageObject.WebPageBase;
+
+public class NetworkStandInPage extends WebPageBase {
+  public NetworkStandInPage(WebDriver driver) {
+    super(driver);
+  }
+
+  // Locators
+  private final By addToCartButton = By.id("add-to-cart");
+  private final By cartTotalText = By.id("cart-total");
+
+  // Network requests
+  private static final Pattern addToCartRequest = Pattern.compile("/api/cart/add");
+
+  public NetworkResponse clickOnAddToCartButtonAndWaitForResponse() throws InterruptedException {
+    return wait.waitForResponse(
+        addToCartRequest, "POST", () -> seleniumHelper.clickOn(addToCartButton));
+  }
+
+  public NetworkResponse clickOnAddToCartButtonAndWaitForRequest() throws InterruptedException {
+    return wait.waitForRequest(
+        addToCartRequest, "POST", () -> seleniumHelper.clickOn(addToCartButton));
+  }
+
+  public boolean isCartTotalTextUpdatedTo(String text) {
+    return wait.waitForTextToBe(cartTotalText, text);
+  }
+}
@@ -0,0 +1,37 @@
+package pageObjectModel.webPageObject.standInPage;
+
+import java.util.List;
+import java.util.Map;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import pageObjectModel.webPageObject.WebPageBase;
+
+public class ProductCardsStandInPage extends WebPageBase {
+  public ProductCardsStandInPage(WebDriver driver) {
+    super(driver);
+  }
+
+  // Locators, same as on the home page
+  private final By allProductPrice = By.className("price");
+  private final By allProductNames = By.xpath("//div[contains(@class,'product-thumb')]//h4/a");
+  private final By allProducts = By.className("product-thumb");
+
+  public List<String> getAllProductNamesList() {
+    return seleniumHelper.getAllElementsText(allProductNames);
+  }
+
+  public List<String> getAllProductPrice() {
+    return seleniumHelper.getAllElementsText(allProductPrice);
+  }
+
+  public List<Map<String, String>> getAllProductIds() {
+    return seleniumHelper.getAllElementsAttributes(allProducts, "data-product-id");
+  }
+
+  // Same commands as getAllElementsText used before the bulk extraction, kept as the baseline
+  public List<String> getAllProductNamesListOneByOne() {
+    return wait.waitForAllElementToBeVisible(allProductNames).stream()
+        .map(x -> x.getText().trim().replace("\n", ""))
+        .toList();
+  }
+}
@@ -0,0 +1,23 @@
+package pageObjectModel.webPageObject.standInPage;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import pageObjectModel.webPageObject.WebPageBase;
+
+public class StaleElementStandInPage extends WebPageBase {
+  public StaleElementStandInPage(WebDriver driver) {
+    super(driver);
+  }
+
+  // Locators
+  private final By incrementButton = By.id("increment");
+  private final By counterText = By.id("counter");
+
+  public void clickOnIncrementButton() throws InterruptedException {
+    seleniumHelper.clickOn(incrementButton);
+  }
+
+  public String getCounterText() throws InterruptedException {
+    return seleniumHelper.getText(counterText);
+  }
+}
@@ -0,0 +1,23 @@
+package pageObjectModel.webPageObject.standInPage;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import pageObjectModel.webPageObject.WebPageBase;
+
+public class UploadStandInPage extends WebPageBase {
+  public UploadStandInPage(WebDriver driver) {
+    super(driver);
+  }
+
+  // Locators
+  private final By chooseFile = By.id("file-upload");
+  private final By uploadedFiles = By.id("uploaded-files");
+
+  public void uploadFile(String fileName) throws InterruptedException {
+    seleniumHelper.uploadFile(chooseFile, fileName);
+  }
+
+  public String getUploadedFilesText() throws InterruptedException {
+    return seleniumHelper.getText(uploadedFiles);
+  }
+}
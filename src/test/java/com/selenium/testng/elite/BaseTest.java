@@ -2,17 +2,23 @@ package com.selenium.testng.elite;
 
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
-import com.aventstack.extentreports.MediaEntityBuilder;
 import com.selenium.testng.elite.utils.*;
 import com.selenium.utils.DriverFactory;
 import com.selenium.utils.EnvironmentConfig;
+import com.selenium.utils.TestDeadline;
+import elementHelper.AdaptiveTimeoutHelper;
+import elementHelper.DeadlineHelper;
+import elementHelper.ElementCache;
+import elementHelper.StepScreenshots;
+import elementHelper.TraceHelper;
 import elementHelper.web.FileHelper;
 import java.awt.*;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
-import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
@@ -41,7 +47,10 @@ public class BaseTest {
 
   @BeforeMethod
   public void setUp(ITestResult result) throws Exception {
+    DeadlineHelper.start(result.getMethod().getMethodName(), getTestDeadline(result));
+    RunMetrics.start(result.getMethod().getMethodName());
     setUpReportAndLogger(result);
+    FileHelper.createDownloadFolder(result.getMethod().getMethodName());
     driver = DriverFactory.getDriver(environmentConfig);
     log.get().info("Browser opened: " + environmentConfig.getBrowser().toString());
 
@@ -51,21 +60,40 @@ public class BaseTest {
 
   @AfterMethod
   public void tearDown(ITestResult result) throws IOException {
-    if (result.getStatus() == ITestResult.FAILURE) {
-      log.get().error(result.getThrowable());
-      captureScreenshotAndAttachScreenshotToReport(result);
-      failedTests.add(result.getName());
-    } else {
-      log.get().info();
-      passedTests.add(result.getName());
+    try {
+      if (result.getStatus() == ITestResult.FAILURE) {
+        log.get().error(result.getThrowable());
+        captureScreenshotAndAttachScreenshotToReport(result);
+        failedTests.add(result.getName());
+      } else {
+        log.get().info();
+        passedTests.add(result.getName());
+      }
+      // Every step has to be in the report before it is saved, also with ASYNC_LOGGING
+      log.get().flush();
+      extentTest.info("Run metrics: " + RunMetrics.finish());
+      ExtentManager.testFinished(extentTest);
+      driver.quit();
+      FileHelper.deleteDownloadFolder();
+    } finally {
+      // Thread state must not leak into the next test on this thread, also when tear down failed.
+      // Closing the log also empties its console buffer, whatever the console output mode
+      if (log.get() != null) log.get().close();
+      log.remove();
+      DeadlineHelper.clear();
+      StepScreenshots.clear();
+      ElementCache.remove(driver);
     }
-    extent.flush();
-    driver.quit();
   }
 
   @AfterSuite
   public void afterSuite() {
     FileHelper.deleteAllFiles();
+    AdaptiveTimeoutHelper.save();
+    RunMetrics.save();
+    StepLog.save();
+    TraceHelper.save();
+    ExtentManager.finishRun();
     ResultMaker.CreateFileForResult(failedTests, passedTests);
     openExtentReport(environmentConfig.isWantToOpenReports());
   }
@@ -77,16 +105,30 @@ public class BaseTest {
     log.set(new Log(testCaseName, extentTest));
   }
 
-  private void captureScreenshotAndAttachScreenshotToReport(ITestResult result) throws IOException {
-    var screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-    String screenshotBase64 = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64);
+  private Duration getTestDeadline(ITestResult result) {
+    var testDeadline =
+        result.getMethod().getConstructorOrMethod().getMethod().getAnnotation(TestDeadline.class);
+    return Duration.ofSeconds(
+        testDeadline != null
+            ? testDeadline.seconds()
+            : environmentConfig.getTestDeadlineInSeconds());
+  }
+
+  private void captureScreenshotAndAttachScreenshotToReport(ITestResult result) {
+    var screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
     var screenShotPath = PathHelper.screenShotFilePath(result.getName());
 
-    FileUtils.copyFile(screenshot, new File(screenShotPath));
-    extentTest.fail(
-        MediaEntityBuilder.createScreenCaptureFromBase64String(screenshotBase64).build());
+    ReportScreenshot.attach(extentTest, screenshot, Path.of(screenShotPath));
     System.out.println(
         "Screenshot: file://" + PathHelper.getEncodedPathForScreenShot(screenShotPath));
+
+    // Screenshots of the last steps before the failure, if STEP_SCREENSHOTS is set
+    var stepsFolder = PathHelper.stepScreenShotsFolderPath(result.getName());
+    if (!StepScreenshots.dump(Path.of(stepsFolder)).isEmpty()) {
+      extentTest.info("Step screenshots: " + stepsFolder);
+      System.out.println(
+          "Step screenshots: file://" + PathHelper.getEncodedPathForScreenShot(stepsFolder));
+    }
   }
 
   private void openExtentReport(boolean wantToOpenReports) {
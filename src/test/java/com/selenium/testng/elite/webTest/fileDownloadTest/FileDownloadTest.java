@@ -3,6 +3,7 @@ package com.selenium.testng.elite.webTest.fileDownloadTest;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
 import com.selenium.testng.elite.BaseTest;
+import com.selenium.utils.TestDeadline;
 import org.testng.annotations.Test;
 import pageObjectModel.webPageObject.fileDownloadPage.FileDownloadPageInternetHerokuApp;
 import pageObjectModel.webPageObject.fileDownloadPage.PrinceSampleDocumentsPage;
@@ -34,14 +35,15 @@ public class FileDownloadTest extends BaseTest {
     log.get().info("Verify page header is displayed");
     assertThat(fileDownload.getPageHeader()).isEqualTo("File Downloader");
 
-    log.get().info("Click on 'File Download' link");
-    var fileExists = fileDownload.clickOnDownloadFile(fileName);
+    log.get().info("Download the file behind the 'File Download' link via HTTP");
+    var fileExists = fileDownload.downloadFileViaHttp(fileName);
 
     log.get().info("Verify that downloaded file name is correct");
     assertThat(fileExists).isTrue();
   }
 
   @Test
+  @TestDeadline(seconds = 120)
   public void verifyThatUserCanDownloadPDFWhichIsRenderedAtBrowser() throws InterruptedException {
 
     // Page object for download file page (Internet HerokuApp)
@@ -0,0 +1,58 @@
+package com.selenium.testng.elite.webTest.standInPageTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.selenium.testng.elite.BaseTest;
+import com.selenium.testng.elite.utils.RunMetrics;
+import com.selenium.utils.StandInServer;
+import org.testng.annotations.Test;
+import pageObjectModel.webPageObject.standInPage.ProductCardsStandInPage;
+
+public class BulkTextBenchmarkTest extends BaseTest {
+
+  @Test
+  public void verifyThatBulkTextExtractionCostsTheSameForAnyNumberOfProducts() {
+
+    // Page object for product cards stand-in page
+    var standInPage = new ProductCardsStandInPage(driver);
+
+    for (int productCount : new int[] {10, 100, 1000}) {
+      log.get().info("Navigate to product cards stand-in page with " + productCount + " products");
+      driver.get(StandInServer.getUrl("productCards.html?count=" + productCount));
+
+      log.get().info("Get all product names one by one");
+      var commands = RunMetrics.get(RunMetrics.WEBDRIVER_COMMANDS);
+      var start = System.nanoTime();
+      var namesOneByOne = standInPage.getAllProductNamesListOneByOne();
+      var oneByOneMillis = (System.nanoTime() - start) / 1_000_000;
+      var oneByOneCommands = RunMetrics.get(RunMetrics.WEBDRIVER_COMMANDS) - commands;
+
+      log.get().info("Get all product names in bulk");
+      commands = RunMetrics.get(RunMetrics.WEBDRIVER_COMMANDS);
+      start = System.nanoTime();
+      var names = standInPage.getAllProductNamesList();
+      var bulkMillis = (System.nanoTime() - start) / 1_000_000;
+      var bulkCommands = RunMetrics.get(RunMetrics.WEBDRIVER_COMMANDS) - commands;
+      log.get()
+          .info(
+              productCount
+                  + " products: one by one "
+                  + oneByOneCommands
+                  + " commands in "
+                  + oneByOneMillis
+                  + " ms, bulk "
+                  + bulkCommands
+                  + " commands in "
+                  + bulkMillis
+                  + " ms");
+
+      log.get().info("Verify that both return the same names and bulk needs a single command");
+      assertThat(names).hasSize(productCount).isEqualTo(namesOneByOne);
+      assertThat(bulkCommands).isEqualTo(1);
+    }
+
+    log.get().info("Verify that prices and attributes are read in bulk as well");
+    assertThat(standInPage.getAllProductPrice().getFirst()).startsWith("$1.25");
+    assertThat(standInPage.getAllProductIds().getFirst()).containsEntry("data-product-id", "1");
+  }
+}
@@ -0,0 +1,47 @@
+package com.selenium.testng.elite.webTest.standInPageTest;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+import com.selenium.testng.elite.BaseTest;
+import com.selenium.testng.elite.utils.RunMetrics;
+import com.selenium.utils.StandInServer;
+import org.testng.annotations.Test;
+import pageObjectModel.webPageObject.standInPage.CompositeActionStandInPage;
+
+public class CompositeActionBenchmarkTest extends BaseTest {
+
+  @Test
+  public void verifyThatCompositeActionsSendFewerCommandsThanStepByStepActions()
+      throws InterruptedException {
+
+    // Page object for composite action stand-in page
+    var standInPage = new CompositeActionStandInPage(driver);
+
+    log.get().info("Navigate to composite action stand-in page");
+    driver.get(StandInServer.getUrl("compositeAction.html"));
+
+    log.get().info("Enter email and click on 'Submit' with the step by step commands");
+    var start = RunMetrics.get(RunMetrics.WEBDRIVER_COMMANDS);
+    standInPage.enterEmailStepByStep("step@example.com");
+    standInPage.clickOnSubmitButtonStepByStep();
+    var stepByStepCommands = RunMetrics.get(RunMetrics.WEBDRIVER_COMMANDS) - start;
+    assertThat(standInPage.getResultText()).isEqualTo("step@example.com");
+
+    log.get().info("Reload the page, enter email and click on 'Submit' with composite actions");
+    driver.navigate().refresh();
+    start = RunMetrics.get(RunMetrics.WEBDRIVER_COMMANDS);
+    standInPage.enterEmail("composite@example.com");
+    standInPage.clickOnSubmitButton();
+    var compositeCommands = RunMetrics.get(RunMetrics.WEBDRIVER_COMMANDS) - start;
+    log.get()
+        .info(
+            "Step by step actions sent "
+                + stepByStepCommands
+                + " commands, composite actions sent "
+                + compositeCommands);
+
+    log.get().info("Verify that the email was submitted with fewer commands");
+    assertThat(standInPage.getResultText()).isEqualTo("composite@example.com");
+    assertThat(compositeCommands).isLessThan(stepByStepCommands);
+  }
+}
@@ -0,0 +1,106 @@
+package com.selenium.testng.elite.webTest.standInPageTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.selenium.testng.elite.BaseTest;
+import com.selenium.testng.elite.utils.ConsoleBuffer;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import org.testng.annotations.Test;
+
+public class ConsoleBufferTest extends BaseTest {
+
+  private static final int MEMORY_LIMIT = 1024;
+  private static final int LINES = 500;
+
+  @Test
+  public void verifyThatSpilledLinesArePrintedInOrderAndTheSpillFileIsDeleted() {
+
+    log.get().info("Append " + LINES + " lines to a buffer keeping " + MEMORY_LIMIT + " in memory");
+    var buffer = new ConsoleBuffer("spilledTest", MEMORY_LIMIT);
+    for (int i = 0; i < LINES; i++) buffer.append(line("spilledTest", i));
+    var spillFile = buffer.getSpillFile();
+    assertThat(spillFile).isNotNull().exists();
+
+    log.get().info("Verify that the spilled and the kept lines are printed as one block in order");
+    var output = new ByteArrayOutputStream();
+    buffer.printTo(new PrintStream(output, true, StandardCharsets.UTF_8));
+    var printedLines = output.toString(StandardCharsets.UTF_8).lines().toList();
+    assertThat(printedLines).hasSize(LINES + 2);
+    assertThat(printedLines.getFirst()).isEqualTo("===== spilledTest =====");
+    assertThat(printedLines.getLast()).isEqualTo("===== end of spilledTest =====");
+    for (int i = 0; i < LINES; i++)
+      assertThat(printedLines.get(i + 1)).isEqualTo(line("spilledTest", i).strip());
+
+    log.get().info("Verify that closing the buffer deletes the spill file");
+    buffer.close();
+    assertThat(spillFile).doesNotExist();
+    assertThat(buffer.getSpillFile()).isNull();
+  }
+
+  @Test
+  public void verifyThatUnprintedBufferIsCleanedUp() {
+
+    log.get().info("Spill the lines of a passing test, which the ticker does not print");
+    var buffer = new ConsoleBuffer("passingTest", MEMORY_LIMIT);
+    for (int i = 0; i < LINES; i++) buffer.append(line("passingTest", i));
+    var spillFile = buffer.getSpillFile();
+    assertThat(spillFile).exists();
+
+    log.get().info("Verify that closing the buffer without printing it deletes the spill file");
+    buffer.close();
+    assertThat(spillFile).doesNotExist();
+    var output = new ByteArrayOutputStream();
+    buffer.printTo(new PrintStream(output, true, StandardCharsets.UTF_8));
+    assertThat(output.toString(StandardCharsets.UTF_8).lines()).hasSize(2);
+  }
+
+  @Test
+  public void verifyThatBlocksOfParallelTestsDoNotInterleave() throws Exception {
+
+    log.get().info("Print the spilled buffers of 8 tests to one stream at the same time");
+    var output = new ByteArrayOutputStream();
+    var console = new PrintStream(output, true, StandardCharsets.UTF_8);
+    var start = new CountDownLatch(1);
+    var threads = new ArrayList<Thread>();
+    for (int t = 0; t < 8; t++) {
+      var testCaseName = "parallelTest" + t;
+      var buffer = new ConsoleBuffer(testCaseName, MEMORY_LIMIT);
+      for (int i = 0; i < LINES; i++) buffer.append(line(testCaseName, i));
+      threads.add(
+          Thread.ofPlatform()
+              .start(
+                  () -> {
+                    try {
+                      start.await();
+                    } catch (InterruptedException e) {
+                      throw new RuntimeException(e);
+                    }
+                    buffer.printTo(console);
+                    buffer.close();
+                  }));
+    }
+    start.countDown();
+    for (var thread : threads) thread.join();
+
+    log.get().info("Verify that every block holds only its own lines, in order");
+    var printedLines = output.toString(StandardCharsets.UTF_8).lines().toList();
+    assertThat(printedLines).hasSize(8 * (LINES + 2));
+    for (int block = 0; block < 8; block++) {
+      var header = printedLines.get(block * (LINES + 2));
+      var testCaseName = header.replace("=====", "").strip();
+      for (int i = 0; i < LINES; i++)
+        assertThat(printedLines.get(block * (LINES + 2) + 1 + i))
+            .isEqualTo(line(testCaseName, i).strip());
+      assertThat(printedLines.get(block * (LINES + 2) + LINES + 1))
+          .isEqualTo("===== end of " + testCaseName + " =====");
+    }
+  }
+
+  private static String line(String testCaseName, int number) {
+    return testCaseName + " line " + number + System.lineSeparator();
+  }
+}
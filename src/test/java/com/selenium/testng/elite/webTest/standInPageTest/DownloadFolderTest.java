@@ -0,0 +1,38 @@
+package com.selenium.testng.elite.webTest.standInPageTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.selenium.testng.elite.BaseTest;
+import com.selenium.testng.elite.utils.PathHelper;
+import com.selenium.utils.StandInServer;
+import elementHelper.web.FileHelper;
+import java.io.File;
+import org.testng.annotations.Test;
+import pageObjectModel.webPageObject.standInPage.DownloadStandInPage;
+
+public class DownloadFolderTest extends BaseTest {
+
+  @Test
+  public void verifyThatEachTestDownloadsToItsOwnFolder() throws InterruptedException {
+
+    // Page object for download stand-in page
+    var standInPage = new DownloadStandInPage(driver);
+    var downloadFolder = FileHelper.getDownloadFolderPath();
+    log.get().info("Download folder of this test: " + downloadFolder);
+
+    log.get().info("Verify that the test has a download folder of its own");
+    assertThat(downloadFolder)
+        .startsWith(PathHelper.getDownloadFolderPath())
+        .contains("verifyThatEachTestDownloadsToItsOwnFolder");
+
+    log.get().info("Navigate to download stand-in page and download 'standInReport.csv'");
+    driver.get(StandInServer.getUrl("download.html"));
+    var reportDownload = standInPage.clickOnDownloadReportLink();
+
+    // DownloadWatchTest downloads the same file at the same time, in parallel classes
+    log.get().info("Verify that the file is in the folder of this test only");
+    assertThat(reportDownload.getLeft()).withFailMessage(reportDownload.getRight()).isTrue();
+    assertThat(new File(downloadFolder, "standInReport.csv")).isFile();
+    assertThat(new File(PathHelper.getDownloadFolderPath(), "standInReport.csv")).doesNotExist();
+  }
+}
@@ -0,0 +1,139 @@
+package com.selenium.testng.elite.webTest.standInPageTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.selenium.testng.elite.BaseTest;
+import com.selenium.utils.StandInServer;
+import elementHelper.web.FileHelper;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.zip.CRC32C;
+import org.testng.annotations.Test;
+import pageObjectModel.webPageObject.standInPage.DownloadStandInPage;
+
+public class DownloadVerificationTest extends BaseTest {
+
+  private static final int LARGE_FILE_SIZE = 256 * 1024 * 1024;
+
+  @Test
+  public void verifyThatDownloadedFileMatchesItsChecksumsTypeAndLineCount() throws Exception {
+
+    // Page object for download stand-in page
+    var standInPage = new DownloadStandInPage(driver);
+    byte[] expectedContent;
+    try (var report = getClass().getResourceAsStream("/standInPages/downloads/standInReport.csv")) {
+      expectedContent = report.readAllBytes();
+    }
+
+    log.get().info("Navigate to download stand-in page and download 'standInReport.csv'");
+    driver.get(StandInServer.getUrl("download.html"));
+    var download = standInPage.clickOnDownloadReportLink();
+    assertThat(download.getLeft()).withFailMessage(download.getRight()).isTrue();
+
+    log.get().info("Verify the downloaded file on a background thread");
+    var verification =
+        FileHelper.verifyDownloadBuilder()
+            .fileName("standInReport.csv")
+            .expectedSize((long) expectedContent.length)
+            .expectedSha256(sha256(expectedContent))
+            .expectedCrc32c(crc32c(expectedContent))
+            .expectedMimeType("text/csv")
+            .expectedLineCount(201L)
+            .expectedRecordCount(201L)
+            .async(true)
+            .build()
+            .join();
+    log.get().info(verification.getMessage());
+    assertThat(verification.isValid()).withFailMessage(verification.getMessage()).isTrue();
+
+    log.get().info("Verify that a truncated copy of the file fails the verification");
+    var truncatedContent = Arrays.copyOf(expectedContent, expectedContent.length / 2);
+    Files.write(Path.of(FileHelper.getDownloadFolderPath(), "truncated.csv"), truncatedContent);
+    var truncatedVerification =
+        FileHelper.verifyDownloadBuilder()
+            .fileName("truncated.csv")
+            .expectedSize((long) expectedContent.length)
+            .expectedSha256(sha256(expectedContent))
+            .build()
+            .join();
+    assertThat(truncatedVerification.isValid()).isFalse();
+    assertThat(truncatedVerification.mismatches())
+        .anyMatch(mismatch -> mismatch.startsWith("Size is"))
+        .anyMatch(mismatch -> mismatch.startsWith("SHA-256 is"));
+  }
+
+  @Test
+  public void verifyThatCsvRecordsWithQuotedLineBreaksAreCountedOnce() throws Exception {
+
+    log.get().info("Write a CSV file whose quoted values contain line breaks and quotes");
+    var content =
+        """
+        id,comment
+        1,"first line
+        second line"
+        2,"say ""hello""
+        "
+        3,plain""";
+    Files.writeString(Path.of(FileHelper.getDownloadFolderPath(), "comments.csv"), content);
+
+    log.get().info("Verify that the lines and the records are counted separately");
+    var verification =
+        FileHelper.verifyDownloadBuilder()
+            .fileName("comments.csv")
+            .expectedMimeType("text/csv")
+            .expectedLineCount(6L)
+            .expectedRecordCount(4L)
+            .build()
+            .join();
+    log.get().info(verification.getMessage());
+    assertThat(verification.isValid()).withFailMessage(verification.getMessage()).isTrue();
+
+    log.get().info("Verify that a file without an extension is not typed by its name");
+    Files.writeString(Path.of(FileHelper.getDownloadFolderPath(), "csv"), content);
+    var withoutExtension = FileHelper.verifyDownloadBuilder().fileName("csv").build().join();
+    assertThat(withoutExtension.mimeType()).isEqualTo("text/plain");
+  }
+
+  @Test
+  public void verifyThatLargeFileIsVerifiedWithoutReadingItIntoMemory() throws Exception {
+
+    log.get().info("Write a " + LARGE_FILE_SIZE / 1024 / 1024 + " MB file to the download folder");
+    var chunk = new byte[1024 * 1024];
+    Arrays.fill(chunk, (byte) 'x');
+    chunk[chunk.length - 1] = '\n';
+    try (var output =
+        Files.newOutputStream(Path.of(FileHelper.getDownloadFolderPath(), "large.txt"))) {
+      for (int i = 0; i < LARGE_FILE_SIZE / chunk.length; i++) output.write(chunk);
+    }
+
+    log.get().info("Verify the size, type and line count of the file");
+    var verification =
+        FileHelper.verifyDownloadBuilder()
+            .fileName("large.txt")
+            .expectedSize((long) LARGE_FILE_SIZE)
+            .expectedMimeType("text/plain")
+            .expectedLineCount((long) LARGE_FILE_SIZE / chunk.length)
+            .expectedCrc32c("00000000")
+            .async(true)
+            .build()
+            .join();
+    log.get().info(verification.getMessage());
+
+    log.get().info("Verify that only the CRC32C, which was given a wrong value, mismatches");
+    assertThat(verification.mismatches()).singleElement().asString().startsWith("CRC32C is");
+    assertThat(verification.megabytesPerSecond()).isPositive();
+  }
+
+  private static String sha256(byte[] content) throws Exception {
+    return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+  }
+
+  private static String crc32c(byte[] content) {
+    var crc32c = new CRC32C();
+    crc32c.update(content);
+    return String.format("%08x", crc32c.getValue());
+  }
+}
@@ -0,0 +1,39 @@
+package com.selenium.testng.elite.webTest.standInPageTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.selenium.testng.elite.BaseTest;
+import com.selenium.utils.StandInServer;
+import org.testng.annotations.Test;
+import pageObjectModel.webPageObject.standInPage.DownloadStandInPage;
+
+public class DownloadWatchTest extends BaseTest {
+
+  @Test
+  public void verifyThatDownloadsAreDetectedAsSoonAsTheyAreComplete()
+      throws InterruptedException {
+
+    // Page object for download stand-in page
+    var standInPage = new DownloadStandInPage(driver);
+
+    log.get().info("Navigate to download stand-in page");
+    driver.get(StandInServer.getUrl("download.html"));
+
+    log.get().info("Click on 'standInReport.csv' and wait for the download");
+    var start = System.nanoTime();
+    var reportDownload = standInPage.clickOnDownloadReportLink();
+    var elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+    log.get().info("Download detected after " + elapsedMillis + " ms");
+
+    log.get().info("Verify that the download was detected before the old 2 second poll");
+    assertThat(reportDownload.getLeft()).withFailMessage(reportDownload.getRight()).isTrue();
+    assertThat(elapsedMillis).isLessThan(2000);
+
+    log.get().info("Click on 'Download all' and wait for both files");
+    var allDownloads = standInPage.clickOnDownloadAllButton();
+
+    log.get().info("Verify that both files were downloaded and are listed in the message");
+    assertThat(allDownloads.getLeft()).withFailMessage(allDownloads.getRight()).isTrue();
+    assertThat(allDownloads.getRight()).contains("standInReport.csv", "standInNotes.txt");
+  }
+}
@@ -0,0 +1,69 @@
+package com.selenium.testng.elite.webTest.standInPageTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.selenium.testng.elite.BaseTest;
+import com.selenium.testng.elite.utils.RunMetrics;
+import com.selenium.utils.StandInServer;
+import org.openqa.selenium.NoSuchElementException;
+import org.testng.annotations.Test;
+import pageObjectModel.webPageObject.standInPage.DropdownStandInPage;
+
+public class DropdownBenchmarkTest extends BaseTest {
+
+  @Test
+  public void verifyThatDropdownsAreReadAndSelectedWithFewCommandsAndFireTheSameEvents()
+      throws InterruptedException {
+
+    // Page object for dropdown stand-in page
+    var standInPage = new DropdownStandInPage(driver);
+
+    log.get().info("Navigate to dropdown stand-in page");
+    driver.get(StandInServer.getUrl("dropdown.html"));
+
+    log.get().info("Get all countries and select one with Select");
+    var start = RunMetrics.get(RunMetrics.WEBDRIVER_COMMANDS);
+    var countriesWithSelect = standInPage.getAllCountriesWithSelect();
+    standInPage.selectCountryWithSelect("Country 200");
+    var selectCommands = RunMetrics.get(RunMetrics.WEBDRIVER_COMMANDS) - start;
+    var changeEventsWithSelect = standInPage.getChangeEventsText();
+    var inputEventsWithSelect = standInPage.getInputEventsText();
+
+    log.get().info("Reload the page, get all countries and select one in the browser");
+    driver.navigate().refresh();
+    start = RunMetrics.get(RunMetrics.WEBDRIVER_COMMANDS);
+    var countries = standInPage.getAllCountries();
+    standInPage.selectCountry("Country 200");
+    var inBrowserCommands = RunMetrics.get(RunMetrics.WEBDRIVER_COMMANDS) - start;
+    log.get()
+        .info(
+            "Select sent "
+                + selectCommands
+                + " commands, selecting in the browser sent "
+                + inBrowserCommands);
+
+    log.get().info("Verify that both read the same options and fired the same events");
+    assertThat(countries).hasSize(252).isEqualTo(countriesWithSelect);
+    assertThat(standInPage.getChangeEventsText()).isEqualTo(changeEventsWithSelect);
+    assertThat(standInPage.getInputEventsText()).isEqualTo(inputEventsWithSelect);
+    assertThat(inBrowserCommands).isLessThan(selectCommands / 10);
+
+    log.get().info("Verify that the page reacted to the change by loading the zones");
+    assertThat(standInPage.getAllZones()).hasSize(20).startsWith("Zone 1 of 200");
+
+    log.get().info("Select the same country again and verify that no change event is fired");
+    standInPage.selectCountryByValue("200");
+    assertThat(standInPage.getChangeEventsText()).isEqualTo(changeEventsWithSelect);
+
+    log.get().info("Select the third zone by index");
+    standInPage.selectZoneByIndex(2);
+    assertThat(standInPage.getSelectedZoneValue()).isEqualTo("200-3");
+
+    log.get().info("Verify that missing and disabled options fail like Select");
+    assertThatThrownBy(() -> standInPage.selectCountry("Atlantis"))
+        .isInstanceOf(NoSuchElementException.class);
+    assertThatThrownBy(() -> standInPage.selectCountry("Closed Country"))
+        .isInstanceOf(UnsupportedOperationException.class);
+  }
+}
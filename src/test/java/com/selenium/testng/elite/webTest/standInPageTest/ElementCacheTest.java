@@ -0,0 +1,83 @@
+package com.selenium.testng.elite.webTest.standInPageTest;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+import com.selenium.testng.elite.BaseTest;
+import com.selenium.testng.elite.utils.RunMetrics;
+import com.selenium.utils.StandInServer;
+import elementHelper.ElementCache;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+import pageObjectModel.webPageObject.standInPage.ElementCacheStandInPage;
+
+public class ElementCacheTest extends BaseTest {
+
+  @Test
+  public void verifyThatCachedElementsAreReusedAndReResolvedWhenStale()
+      throws InterruptedException {
+    skipWhenElementCacheIsDisabled();
+
+    // Page object for element cache stand-in page
+    var standInPage = new ElementCacheStandInPage(driver);
+
+    log.get().info("Navigate to element cache stand-in page");
+    driver.get(StandInServer.getUrl("elementCache.html"));
+
+    log.get().info("Click on 'Increment' twice and read the counter each time");
+    standInPage.clickOnIncrementButton();
+    assertThat(standInPage.getCounterText()).isEqualTo("1");
+    standInPage.clickOnIncrementButton();
+    assertThat(standInPage.getCounterText()).isEqualTo("2");
+
+    log.get().info("Verify that the second round reused the cached elements");
+    assertThat(RunMetrics.get(ElementCache.HITS)).isEqualTo(2);
+
+    log.get().info("Re-render the counter and verify that the new node is read");
+    standInPage.clickOnReRenderButton();
+    assertThat(standInPage.getCounterText()).isEqualTo("Re-rendered");
+    assertThat(RunMetrics.get(ElementCache.STALE)).isEqualTo(1);
+
+    log.get()
+        .info(
+            "Navigate to the next page and verify that its elements are read, not the cached"
+                + " ones");
+    standInPage.clickOnNextPageLink();
+    assertThat(standInPage.getPageText()).isEqualTo("Page 2");
+    assertThat(standInPage.getCounterText()).isEqualTo("0");
+  }
+
+  @Test
+  public void verifyThatClicksAndTextEntryReuseCachedElementsUntilNavigation()
+      throws InterruptedException {
+    skipWhenElementCacheIsDisabled();
+
+    // Page object for element cache stand-in page
+    var standInPage = new ElementCacheStandInPage(driver);
+
+    log.get().info("Navigate to element cache stand-in page");
+    driver.get(StandInServer.getUrl("elementCache.html"));
+
+    log.get().info("Scroll to and click on 'Increment' twice and enter a name twice");
+    standInPage.scrollAndClickOnIncrementButton();
+    standInPage.scrollAndClickOnIncrementButton();
+    standInPage.enterName("First name");
+    standInPage.enterName("Second name");
+
+    log.get().info("Verify that the second click and text entry reused the cached elements");
+    assertThat(RunMetrics.get(ElementCache.HITS)).isEqualTo(2);
+    assertThat(RunMetrics.get(ElementCache.MISSES)).isEqualTo(2);
+    assertThat(standInPage.getCounterText()).isEqualTo("2");
+
+    log.get().info("Reload the page and verify that the cache was cleared, not found stale");
+    driver.get(StandInServer.getUrl("elementCache.html"));
+    standInPage.scrollAndClickOnIncrementButton();
+    assertThat(RunMetrics.get(ElementCache.HITS)).isEqualTo(2);
+    assertThat(RunMetrics.get(ElementCache.STALE)).isEqualTo(0);
+    assertThat(standInPage.getCounterText()).isEqualTo("1");
+  }
+
+  private void skipWhenElementCacheIsDisabled() {
+    if (!ElementCache.isEnabled())
+      throw new SkipException("Element cache needs ELEMENT_CACHE=true");
+  }
+}
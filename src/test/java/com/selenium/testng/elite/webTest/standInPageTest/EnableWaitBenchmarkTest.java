@@ -0,0 +1,43 @@
+package com.selenium.testng.elite.webTest.standInPageTest;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+import com.selenium.testng.elite.BaseTest;
+import com.selenium.utils.StandInServer;
+import org.testng.annotations.Test;
+import pageObjectModel.webPageObject.standInPage.DelayedEnableStandInPage;
+
+public class EnableWaitBenchmarkTest extends BaseTest {
+
+  // The controls enable after this delay, the waits should notice within one fast poll
+  private static final long ENABLE_DELAY_IN_MILLIS = 3000;
+  private static final long ALLOWED_OVERHEAD_IN_MILLIS = 1000;
+
+  @Test
+  public void verifyThatDisabledControlsAreUsedAsSoonAsTheyAreEnabled()
+      throws InterruptedException {
+
+    // Page object for delayed enable stand-in page
+    var standInPage = new DelayedEnableStandInPage(driver);
+
+    log.get().info("Navigate to delayed enable stand-in page");
+    driver.get(StandInServer.getUrl("delayedEnable.html?delay=" + ENABLE_DELAY_IN_MILLIS));
+    var start = System.nanoTime();
+
+    log.get().info("Enter email and click on 'Submit' once they are enabled");
+    standInPage.enterEmail("stand-in@example.com");
+    standInPage.clickOnSubmitButton();
+    var elapsedInMillis = (System.nanoTime() - start) / 1_000_000;
+    log.get()
+        .info(
+            "Controls enabled after "
+                + ENABLE_DELAY_IN_MILLIS
+                + " ms, used after "
+                + elapsedInMillis
+                + " ms");
+
+    log.get().info("Verify that the email was submitted without sleeping past the enable delay");
+    assertThat(standInPage.getResultText()).isEqualTo("stand-in@example.com");
+    assertThat(elapsedInMillis).isLessThan(ENABLE_DELAY_IN_MILLIS + ALLOWED_OVERHEAD_IN_MILLIS);
+  }
+}
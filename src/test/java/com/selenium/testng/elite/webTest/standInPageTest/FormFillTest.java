@@ -0,0 +1,59 @@
+package com.selenium.testng.elite.webTest.standInPageTest;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+import com.selenium.testng.elite.BaseTest;
+import com.selenium.testng.elite.enums.FillMode;
+import com.selenium.testng.elite.utils.RunMetrics;
+import com.selenium.utils.StandInServer;
+import dataFactory.registerUserDataFactory.RegisterUserDataFactory;
+import org.testng.annotations.Test;
+import pageObjectModel.webPageObject.standInPage.FormFillStandInPage;
+
+public class FormFillTest extends BaseTest {
+
+  @Test
+  public void verifyThatRegistrationFormIsFilledFromDataObjectWithFewCommands()
+      throws InterruptedException {
+
+    // Page object for form fill stand-in page
+    var standInPage = new FormFillStandInPage(driver);
+    var registerUserData = RegisterUserDataFactory.getRegisterUserData();
+
+    log.get().info("Navigate to form fill stand-in page");
+    driver.get(StandInServer.getUrl("formFill.html"));
+
+    log.get().info("Fill the registration form from the data object with one script");
+    var commands = RunMetrics.get(RunMetrics.WEBDRIVER_COMMANDS);
+    standInPage.fillTheForm(registerUserData, FillMode.SCRIPT);
+    var fillCommands = RunMetrics.get(RunMetrics.WEBDRIVER_COMMANDS) - commands;
+    log.get().info("Six fields filled and verified with " + fillCommands + " commands");
+
+    log.get().info("Verify that the values are set and change events were fired");
+    assertThat(standInPage.getFirstName()).isEqualTo(registerUserData.getFirstName());
+    assertThat(standInPage.getChangeEventCount()).isEqualTo(6);
+    assertThat(fillCommands).isLessThanOrEqualTo(3);
+
+    log.get().info("Accept privacy policy and verify that the checkbox is checked");
+    standInPage.acceptPrivacyPolicy();
+    assertThat(standInPage.isPrivacyPolicyAccepted()).isTrue();
+  }
+
+  @Test
+  public void verifyThatFormIsTypedWithRealKeyEventsByDefault() throws InterruptedException {
+
+    // Page object for form fill stand-in page
+    var standInPage = new FormFillStandInPage(driver);
+
+    log.get().info("Navigate to form fill stand-in page");
+    driver.get(StandInServer.getUrl("formFill.html"));
+
+    log.get().info("Fill first name, last name and email without choosing a fill mode");
+    standInPage.fillNameAndEmail("Jane", "Doe", "jane@example.com");
+
+    log.get().info("Verify that the values are set and every character fired a key event");
+    assertThat(standInPage.getFirstName()).isEqualTo("Jane");
+    assertThat(standInPage.getKeyEventCount())
+        .isGreaterThanOrEqualTo("JaneDoejane@example.com".length());
+  }
+}
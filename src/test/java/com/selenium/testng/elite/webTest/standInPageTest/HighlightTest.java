@@ -0,0 +1,44 @@
+package com.selenium.testng.elite.webTest.standInPageTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.selenium.testng.elite.BaseTest;
+import com.selenium.utils.StandInServer;
+import elementHelper.web.JavaScriptHelper;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.testng.annotations.Test;
+
+public class HighlightTest extends BaseTest {
+
+  // Overlays drawn by the highlight script, direct children of the html element
+  private static final String COUNT_OVERLAYS_SCRIPT =
+      "return Array.from(document.documentElement.children).filter(element =>"
+          + " element.style.pointerEvents === 'none'"
+          + " && element.style.borderColor === 'red').length";
+
+  @Test
+  public void verifyThatHighlightReturnsBeforeTheBrowserRemovesTheOverlay() throws Exception {
+
+    log.get().info("Navigate to element cache stand-in page");
+    driver.get(StandInServer.getUrl("elementCache.html"));
+
+    log.get().info("Highlight both buttons and measure how long the call takes");
+    var start = System.nanoTime();
+    new JavaScriptHelper(driver).javaScriptHighlightElements(By.tagName("button"));
+    var elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+    log.get().info("Highlight returned after " + elapsedMillis + " ms");
+
+    log.get().info("Verify that the call did not wait for the 2 s fade out");
+    assertThat(elapsedMillis).isLessThan(1_000);
+    assertThat(countOverlays()).isEqualTo(2);
+
+    log.get().info("Verify that the browser removes the overlays on its own");
+    Thread.sleep(2_500);
+    assertThat(countOverlays()).isZero();
+  }
+
+  private long countOverlays() {
+    return (Long) ((JavascriptExecutor) driver).executeScript(COUNT_OVERLAYS_SCRIPT);
+  }
+}
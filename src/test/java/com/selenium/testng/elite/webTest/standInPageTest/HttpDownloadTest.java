@@ -0,0 +1,47 @@
+package com.selenium.testng.elite.webTest.standInPageTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.selenium.testng.elite.BaseTest;
+import com.selenium.utils.StandInServer;
+import elementHelper.web.FileHelper;
+import java.io.File;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import org.testng.annotations.Test;
+import pageObjectModel.webPageObject.standInPage.DownloadStandInPage;
+
+public class HttpDownloadTest extends BaseTest {
+
+  @Test
+  public void verifyThatProtectedFileIsDownloadedViaHttpWithTheSessionCookies() throws Exception {
+
+    // Page object for download stand-in page
+    var standInPage = new DownloadStandInPage(driver);
+    byte[] expectedContent;
+    try (var report = getClass().getResourceAsStream("/standInPages/downloads/standInReport.csv")) {
+      expectedContent = report.readAllBytes();
+    }
+    var expectedHash =
+        HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(expectedContent));
+
+    log.get().info("Navigate to download stand-in page, which sets the session cookie");
+    driver.get(StandInServer.getUrl("download.html"));
+
+    log.get().info("Download the protected report via HTTP");
+    var download = standInPage.downloadProtectedReportViaHttp();
+    log.get().info(download.getRight());
+
+    log.get().info("Verify that the whole file was written to the download folder");
+    assertThat(download.getLeft()).withFailMessage(download.getRight()).isTrue();
+    assertThat(download.getRight()).contains("status 200", "SHA-256 " + expectedHash);
+    assertThat(new File(FileHelper.getDownloadFolderPath(), "standInReport.csv"))
+        .hasSize(expectedContent.length);
+
+    log.get().info("Delete the cookies and verify that the download is refused");
+    driver.manage().deleteAllCookies();
+    var refusedDownload = standInPage.downloadProtectedReportViaHttp();
+    assertThat(refusedDownload.getLeft()).isFalse();
+    assertThat(refusedDownload.getRight()).contains("status 403");
+  }
+}
@@ -0,0 +1,74 @@
+package com.selenium.testng.elite.webTest.standInPageTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.selenium.testng.elite.BaseTest;
+import com.selenium.utils.LocatorCostBenchmark;
+import com.selenium.utils.LocatorCostBenchmark.LocatorCost;
+import com.selenium.utils.StandInServer;
+import java.util.List;
+import java.util.Map;
+import org.testng.annotations.Test;
+import pageObjectModel.webPageObject.homePage.HomePage;
+import pageObjectModel.webPageObject.registrationPage.RegistrationPage;
+
+public class LocatorCostBenchmarkTest extends BaseTest {
+
+  private static final int ITERATIONS = 20;
+  private static final int SLOWEST_LOCATORS = 5;
+
+  @Test
+  public void verifyThatLocatorsRewrittenToCssMatchTheSameElementsAndFlagTheSlowest() {
+
+    // Stand-in page for each page object, the home page with a large product listing, and the
+    // arguments to build its dynamic locators with
+    var standInPages =
+        List.of(
+            new StandInPage(
+                new HomePage(driver),
+                "homePage.html?count=1000",
+                Map.of(
+                    "currencyOption", new Object[] {"Euro"},
+                    "wishListButton", new Object[] {"Product 500"},
+                    "addToCartButton", new Object[] {"Product 500"},
+                    "productName", new Object[] {"Product 500"})),
+            new StandInPage(
+                new RegistrationPage(driver),
+                "formFill.html",
+                Map.of(
+                    "validationMessageUsingFieldName", new Object[] {"firstname"},
+                    "getLabelTextElement", new Object[] {"First Name"})));
+
+    for (var standInPage : standInPages) {
+      var pageObjectName = standInPage.pageObject().getClass().getSimpleName();
+      log.get().info("Navigate to " + standInPage.page() + " for " + pageObjectName);
+      driver.get(StandInServer.getUrl(standInPage.page()));
+
+      log.get().info("Measure the locators declared in " + pageObjectName);
+      var costs =
+          LocatorCostBenchmark.measure(
+              driver, standInPage.pageObject(), standInPage.sampleArguments(), ITERATIONS);
+      for (int i = 0; i < costs.size(); i++)
+        log.get().info((i < SLOWEST_LOCATORS ? "SLOW " : "") + describe(costs.get(i)));
+
+      log.get().info("Verify that every locator rewritten to CSS matches the same elements");
+      assertThat(costs).isNotEmpty();
+      assertThat(costs)
+          .filteredOn(cost -> cost.css() != null)
+          .allSatisfy(cost -> assertThat(cost.isEquivalent()).as(cost.field()).isTrue());
+    }
+  }
+
+  private record StandInPage(
+      Object pageObject, String page, Map<String, Object[]> sampleArguments) {}
+
+  private static String describe(LocatorCost cost) {
+    var description =
+        String.format(
+            "%8.1f µs  %5d matches  %s  %s",
+            cost.micros(), cost.matches(), cost.field(), cost.locator());
+    if (cost.css() != null)
+      description += String.format("  -> %.1f µs as CSS: %s", cost.cssMicros(), cost.css());
+    return description;
+  }
+}
@@ -0,0 +1,104 @@
+package com.selenium.testng.elite.webTest.standInPageTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.selenium.testng.elite.BaseTest;
+import com.selenium.testng.elite.utils.Log;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.routing.RoutingAppender;
+import org.testng.annotations.Test;
+
+public class LogRoutingTest extends BaseTest {
+
+  private static final int TESTS = 640;
+  private static final int THREADS = 32;
+  private static final int TEST_NAMES = 20;
+  private static final int STEPS = 50;
+  private static final Pattern INVOCATION = Pattern.compile("invocation (\\d+) line \\d+$");
+
+  @Test
+  public void verifyThatParallelTestsOfTheSameNameKeepSeparateCompleteLogFiles() throws Exception {
+
+    // Separate report and no step recording, so the routing steps end up neither in the extent
+    // report nor in the step log of the run
+    var extentReports = new ExtentReports();
+    for (int i = 0; i < TEST_NAMES; i++) deleteLogFolder("logRouting" + i);
+
+    log.get()
+        .info("Log " + TESTS + " tests on " + THREADS + " threads with " + TEST_NAMES + " names");
+    var executor = Executors.newFixedThreadPool(THREADS);
+    for (int i = 0; i < TESTS; i++) {
+      var invocation = i;
+      executor.execute(
+          () -> {
+            var testLog =
+                new Log(
+                    "logRouting" + invocation % TEST_NAMES,
+                    extentReports.createTest("t"),
+                    false,
+                    false);
+            for (int line = 0; line < STEPS; line++)
+              testLog.info("invocation " + invocation + " line " + line);
+            testLog.close();
+          });
+    }
+    executor.shutdown();
+    assertThat(executor.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+
+    log.get().info("Verify that every test has all of its lines as one block in one file");
+    var filesByInvocation = new HashMap<Integer, Path>();
+    var linesByInvocation = new HashMap<Integer, List<Integer>>();
+    for (var file : getLogFiles()) {
+      var lines = Files.readAllLines(file);
+      for (int i = 0; i < lines.size(); i++) {
+        var matcher = INVOCATION.matcher(lines.get(i));
+        if (!matcher.find()) continue;
+        var invocation = Integer.parseInt(matcher.group(1));
+        assertThat(filesByInvocation.computeIfAbsent(invocation, _ -> file)).isEqualTo(file);
+        linesByInvocation.computeIfAbsent(invocation, _ -> new ArrayList<>()).add(i);
+      }
+    }
+    assertThat(linesByInvocation).hasSize(TESTS);
+    assertThat(linesByInvocation.values())
+        .allSatisfy(
+            lineNumbers -> {
+              assertThat(lineNumbers).hasSize(STEPS);
+              assertThat(lineNumbers.getLast() - lineNumbers.getFirst()).isEqualTo(STEPS - 1);
+            });
+
+    log.get().info("Verify that no file appender of the routed tests is left open");
+    var context = (LoggerContext) LogManager.getContext(false);
+    RoutingAppender routingAppender =
+        context.getConfiguration().getAppender("TestLogRoutingAppender");
+    assertThat(routingAppender.getAppenders().keySet())
+        .noneMatch(route -> route.startsWith("logRouting"));
+  }
+
+  private static List<Path> getLogFiles() throws Exception {
+    var files = new ArrayList<Path>();
+    for (int i = 0; i < TEST_NAMES; i++)
+      try (var folder = Files.list(Path.of("target", "test-results", "logRouting" + i))) {
+        files.addAll(folder.filter(file -> file.toString().endsWith(".log")).toList());
+      }
+    return files;
+  }
+
+  // Log files are appended to, the ones of the previous run are deleted first
+  private static void deleteLogFolder(String testCaseName) throws Exception {
+    var folder = Path.of("target", "test-results", testCaseName);
+    if (!Files.isDirectory(folder)) return;
+    try (var files = Files.list(folder)) {
+      for (var file : files.toList()) Files.delete(file);
+    }
+  }
+}
@@ -0,0 +1,66 @@
+package com.selenium.testng.elite.webTest.standInPageTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.selenium.testng.elite.BaseTest;
+import com.selenium.testng.elite.utils.Log;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.testng.annotations.Test;
+
+public class LoggingBenchmarkTest extends BaseTest {
+
+  private static final int STEPS = 2000;
+
+  @Test
+  public void verifyThatAsyncLoggingIsCheaperPerStepAndLosesNoLines() throws Exception {
+
+    // Separate report and no step recording, so the benchmark steps end up neither in the extent
+    // report nor in the step log of the run
+    var extentReports = new ExtentReports();
+    Files.deleteIfExists(getLogFile("loggingBenchmarkSync"));
+    Files.deleteIfExists(getLogFile("loggingBenchmarkAsync"));
+
+    log.get().info("Log " + STEPS + " steps synchronously");
+    var syncNanos =
+        logSteps(new Log("loggingBenchmarkSync", extentReports.createTest("sync"), false, false));
+
+    log.get().info("Log " + STEPS + " steps through the background writer");
+    var asyncNanos =
+        logSteps(new Log("loggingBenchmarkAsync", extentReports.createTest("async"), true, false));
+
+    log.get()
+        .info(
+            String.format(
+                "Per step on the test thread: %.1f µs synchronously, %.1f µs asynchronously",
+                syncNanos / 1000.0 / STEPS, asyncNanos / 1000.0 / STEPS));
+
+    log.get().info("Verify that both log files have every step and async logging was cheaper");
+    assertThat(countLogLines("loggingBenchmarkSync")).isEqualTo(STEPS + 1);
+    assertThat(countLogLines("loggingBenchmarkAsync")).isEqualTo(STEPS + 1);
+    assertThat(extentReports.getReport().getTestList())
+        .allSatisfy(test -> assertThat(test.getLogs()).hasSize(STEPS + 1));
+    assertThat(asyncNanos).isLessThan(syncNanos);
+  }
+
+  // Time spent on the test thread for the steps, the flush barrier and closing are not included
+  private static long logSteps(Log benchmarkLog) {
+    var start = System.nanoTime();
+    for (int i = 0; i < STEPS; i++) benchmarkLog.info("Benchmark step " + i);
+    var elapsedNanos = System.nanoTime() - start;
+    benchmarkLog.close();
+    return elapsedNanos;
+  }
+
+  private static long countLogLines(String testCaseName) throws Exception {
+    try (var lines = Files.lines(getLogFile(testCaseName))) {
+      return lines.count();
+    }
+  }
+
+  // Log files are appended to, the ones of the previous run are deleted first
+  private static Path getLogFile(String testCaseName) {
+    return Path.of("target", "test-results", testCaseName, "logfile.log");
+  }
+}
@@ -0,0 +1,61 @@
+package com.selenium.testng.elite.webTest.standInPageTest;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+import com.selenium.testng.elite.BaseTest;
+import com.selenium.utils.StandInServer;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+import pageObjectModel.webPageObject.standInPage.NetworkStandInPage;
+
+public class NetworkWaitTest extends BaseTest {
+
+  @Test
+  public void verifyThatWaitForResponseReturnsStatusAndTimingOfMatchingRequest()
+      throws InterruptedException {
+
+    // Page object for network stand-in page
+    var standInPage = new NetworkStandInPage(driver);
+    skipWhenBiDiIsDisabled();
+
+    log.get().info("Navigate to network stand-in page");
+    driver.get(StandInServer.getUrl("networkWait.html"));
+
+    log.get().info("Click on 'Add to Cart' button and wait for the cart response");
+    var response = standInPage.clickOnAddToCartButtonAndWaitForResponse();
+
+    log.get().info("Verify that status and method of the response are returned");
+    assertThat(response).isNotNull();
+    assertThat(response.status()).isEqualTo(200);
+    assertThat(response.method()).isEqualTo("POST");
+    assertThat(response.url()).contains("/api/cart/add");
+
+    log.get().info("Verify that cart total is updated once the response is received");
+    assertThat(standInPage.isCartTotalTextUpdatedTo("1 item(s)")).isTrue();
+  }
+
+  @Test
+  public void verifyThatWaitForRequestReturnsBeforeResponseIsReceived()
+      throws InterruptedException {
+
+    // Page object for network stand-in page
+    var standInPage = new NetworkStandInPage(driver);
+    skipWhenBiDiIsDisabled();
+
+    log.get().info("Navigate to network stand-in page");
+    driver.get(StandInServer.getUrl("networkWait.html"));
+
+    log.get().info("Click on 'Add to Cart' button and wait for the cart request");
+    var request = standInPage.clickOnAddToCartButtonAndWaitForRequest();
+
+    log.get().info("Verify that request is returned without a status");
+    assertThat(request).isNotNull();
+    assertThat(request.method()).isEqualTo("POST");
+    assertThat(request.status()).isEqualTo(-1);
+  }
+
+  private void skipWhenBiDiIsDisabled() {
+    if (!environmentConfig.isEnableBiDi())
+      throw new SkipException("Network waits need ENABLE_BIDI=true");
+  }
+}
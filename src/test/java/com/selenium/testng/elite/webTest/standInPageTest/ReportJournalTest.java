@@ -0,0 +1,48 @@
+package com.selenium.testng.elite.webTest.standInPageTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.MediaEntityBuilder;
+import com.aventstack.extentreports.Status;
+import com.selenium.testng.elite.BaseTest;
+import com.selenium.testng.elite.utils.ReportJournal;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import org.testng.annotations.Test;
+
+public class ReportJournalTest extends BaseTest {
+
+  @Test
+  public void verifyThatJournaledTestsAreRenderedToTheReportAfterACrash() throws Exception {
+
+    log.get().info("Journal a passed and a failed test");
+    var folder = Files.createTempDirectory("report-journal");
+    var journal = folder.resolve("report-journal.ndjson");
+    var extentReports = new ExtentReports();
+    var passedTest = extentReports.createTest("journaledPassedTest", "Passes");
+    passedTest.info("Step 1: Open the page");
+    passedTest.pass("Test Passed!!!");
+    var failedTest = extentReports.createTest("journaledFailedTest", "Fails");
+    failedTest.log(Status.FAIL, new IllegalStateException("Journaled failure"));
+    failedTest.fail(
+        MediaEntityBuilder.createScreenCaptureFromBase64String("iVBORw0KGgo=").build());
+    ReportJournal.append(journal, passedTest);
+    ReportJournal.append(journal, failedTest);
+
+    log.get().info("Cut off a third test as a crash would");
+    Files.writeString(journal, "{\"name\": \"journaledCutOffTest", StandardOpenOption.APPEND);
+
+    log.get().info("Render the journal to a report");
+    var report = folder.resolve("Report.html");
+    var renderedTests = ReportJournal.render(journal, report);
+
+    log.get().info("Verify that both finished tests are in the report with their failure");
+    assertThat(renderedTests).isEqualTo(2);
+    assertThat(Files.readString(report))
+        .contains("journaledPassedTest", "journaledFailedTest")
+        .contains("java.lang.IllegalStateException", "Journaled failure")
+        .contains("iVBORw0KGgo=")
+        .doesNotContain("journaledCutOffTest");
+  }
+}
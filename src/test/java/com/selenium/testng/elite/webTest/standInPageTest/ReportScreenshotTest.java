@@ -0,0 +1,49 @@
+package com.selenium.testng.elite.webTest.standInPageTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.selenium.testng.elite.BaseTest;
+import com.selenium.testng.elite.utils.ReportScreenshot;
+import com.selenium.testng.elite.utils.RunMetrics;
+import com.selenium.utils.StandInServer;
+import java.nio.file.Files;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.testng.annotations.Test;
+
+public class ReportScreenshotTest extends BaseTest {
+
+  @Test
+  public void verifyThatScreenshotsAreWrittenAsFilesWithAThumbnailInTheReport() throws Exception {
+
+    log.get().info("Navigate to dropdown stand-in page");
+    driver.get(StandInServer.getUrl("dropdown.html"));
+
+    log.get().info("Take a screenshot and attach it as JPEG to a separate report test");
+    var png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+    var folder = Files.createTempDirectory("screenshots");
+    var file = folder.resolve("screenshot.jpg");
+    var extentTest = new ExtentReports().createTest("failedTest");
+    ReportScreenshot.attach(extentTest, png, file, true);
+
+    log.get().info("Verify that the full screenshot is a compressed file");
+    var fullImage = Files.readAllBytes(file);
+    assertThat(fullImage).startsWith((byte) 0xFF, (byte) 0xD8);
+    assertThat(RunMetrics.get(ReportScreenshot.FILE_BYTES)).isEqualTo(fullImage.length);
+
+    log.get().info("Verify that the report only holds a thumbnail linked to the file");
+    var details = extentTest.getModel().getLogs().getFirst().getDetails();
+    assertThat(details)
+        .startsWith("<a href=\"")
+        .contains("screenshot.jpg", "<img src=\"data:image/jpeg;base64,");
+    assertThat(RunMetrics.get(ReportScreenshot.REPORT_BYTES))
+        .isEqualTo(details.length())
+        .isLessThan(png.length / 4);
+
+    log.get().info("Verify that a screenshot attached as PNG is written as the driver took it");
+    var pngFile = folder.resolve("screenshot.png");
+    ReportScreenshot.attach(new ExtentReports().createTest("failedTest"), png, pngFile, false);
+    assertThat(Files.readAllBytes(pngFile)).isEqualTo(png);
+  }
+}
@@ -0,0 +1,33 @@
+package com.selenium.testng.elite.webTest.standInPageTest;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+import com.selenium.testng.elite.BaseTest;
+import com.selenium.testng.elite.utils.RunMetrics;
+import com.selenium.utils.StandInServer;
+import elementHelper.web.SeleniumHelper;
+import org.testng.annotations.Test;
+import pageObjectModel.webPageObject.standInPage.StaleElementStandInPage;
+
+public class StaleElementTest extends BaseTest {
+
+  @Test
+  public void verifyThatEveryClickLandsOnAnElementWhichKeepsGoingStale()
+      throws InterruptedException {
+
+    // Page object for stale element stand-in page
+    var standInPage = new StaleElementStandInPage(driver);
+
+    log.get().info("Navigate to stale element stand-in page");
+    driver.get(StandInServer.getUrl("staleElement.html"));
+
+    log.get().info("Click on 'Increment' 10 times while the button is re-rendered every 20 ms");
+    for (int i = 0; i < 10; i++) standInPage.clickOnIncrementButton();
+    var staleRecoveries = RunMetrics.get(SeleniumHelper.STALE_RECOVERIES);
+    log.get().info("Recovered from " + staleRecoveries + " stale elements");
+
+    log.get().info("Verify that no click was lost and the stale retry path ran");
+    assertThat(standInPage.getCounterText()).isEqualTo("10");
+    assertThat(staleRecoveries).isPositive();
+  }
+}
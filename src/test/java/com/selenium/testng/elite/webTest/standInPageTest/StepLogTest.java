@@ -0,0 +1,55 @@
+package com.selenium.testng.elite.webTest.standInPageTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.selenium.testng.elite.BaseTest;
+import com.selenium.testng.elite.utils.PathHelper;
+import com.selenium.testng.elite.utils.RunMetrics;
+import com.selenium.utils.StandInServer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import org.openqa.selenium.json.Json;
+import org.testng.annotations.Test;
+
+public class StepLogTest extends BaseTest {
+
+  @Test
+  public void verifyThatEveryStepIsWrittenWithItsDurationAndDriverCommands() throws Exception {
+
+    log.get().info("Navigate to dropdown stand-in page");
+    driver.get(StandInServer.getUrl("dropdown.html"));
+
+    log.get().info("Wait for 300 ms");
+    Thread.sleep(300);
+
+    log.get().info("Read the steps of this test from the step log");
+    log.get().flush();
+    var testName = RunMetrics.getTestName();
+    var json = new Json();
+    try (var lines = Files.lines(Path.of(PathHelper.getStepLogFilePath()))) {
+      var steps =
+          lines
+              .map(line -> json.<Map<String, Object>>toType(line, Json.MAP_TYPE))
+              .filter(step -> testName.equals(step.get("test")))
+              .toList();
+      log.get().info("Found " + steps.size() + " finished steps");
+
+      log.get().info("Verify that the steps are numbered in order and timed");
+      assertThat(steps).hasSizeGreaterThanOrEqualTo(4);
+      for (int i = 0; i < steps.size(); i++) {
+        assertThat(steps.get(i).get("step")).isEqualTo((long) i + 1);
+        assertThat(steps.get(i))
+            .containsEntry("outcome", "passed")
+            .containsKeys("thread", "start", "durationMillis", "driverCommands");
+      }
+      var navigation = steps.get(steps.size() - 2);
+      var wait = steps.get(steps.size() - 1);
+      assertThat(navigation.get("message")).isEqualTo("Navigate to dropdown stand-in page");
+      assertThat((Long) navigation.get("driverCommands")).isPositive();
+      assertThat(wait.get("message")).isEqualTo("Wait for 300 ms");
+      assertThat((Long) wait.get("durationMillis")).isGreaterThanOrEqualTo(300);
+      assertThat(wait.get("driverCommands")).isEqualTo(0L);
+    }
+  }
+}
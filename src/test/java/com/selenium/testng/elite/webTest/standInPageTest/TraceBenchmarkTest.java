@@ -0,0 +1,72 @@
+package com.selenium.testng.elite.webTest.standInPageTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.selenium.testng.elite.BaseTest;
+import com.selenium.utils.StandInServer;
+import elementHelper.TraceHelper;
+import org.testng.annotations.Test;
+import pageObjectModel.webPageObject.standInPage.ElementCacheStandInPage;
+
+public class TraceBenchmarkTest extends BaseTest {
+
+  private static final int OPERATIONS = 50;
+  private static final int SPANS = 20_000;
+
+  @Test
+  public void verifyThatTracingAddsLessThanOnePercentToHelperOperations() throws Exception {
+
+    // Separate traces, so the benchmark neither depends on TRACE nor ends up in the run's trace
+    var untraced = new TraceHelper(false);
+    var traced = new TraceHelper(true);
+
+    log.get().info("Navigate to element cache stand-in page");
+    driver.get(StandInServer.getUrl("elementCache.html"));
+    new ElementCacheStandInPage(driver).getCounterText();
+
+    log.get().info("Read the counter " + OPERATIONS + " times with tracing off and on");
+    var offNanos = readCounter(untraced);
+    var onNanos = readCounter(traced);
+    var spansPerOperation = (double) traced.getSpanCount() / OPERATIONS;
+
+    log.get().info("Record " + SPANS + " spans in a tight loop");
+    var spanNanos = recordSpans(new TraceHelper(true));
+
+    // The difference of the two runs is mostly browser noise, the cost of the spans is measured
+    var overhead = spansPerOperation * spanNanos / offNanos;
+    log.get()
+        .info(
+            String.format(
+                "Per operation: %.2f ms tracing off, %.2f ms tracing on, %.1f spans of %.1f µs,"
+                    + " %.3f%% overhead",
+                offNanos / 1e6, onNanos / 1e6, spansPerOperation, spanNanos / 1e3, overhead * 100));
+
+    log.get().info("Verify that every operation was traced at less than 1% overhead");
+    assertThat(untraced.getSpanCount()).isZero();
+    assertThat(spansPerOperation).isGreaterThanOrEqualTo(1);
+    assertThat(overhead).isLessThan(0.01);
+  }
+
+  // Average time of one operation on the test thread. The page object is created while recording,
+  // so its helper is the traced one only when the trace is on
+  private double readCounter(TraceHelper trace) throws InterruptedException {
+    try (var _ = TraceHelper.recordOn(trace)) {
+      var standInPage = new ElementCacheStandInPage(driver);
+      var start = System.nanoTime();
+      for (int i = 0; i < OPERATIONS; i++) standInPage.getCounterText();
+      return (double) (System.nanoTime() - start) / OPERATIONS;
+    }
+  }
+
+  // Average time of opening and closing one span, after a warm up
+  private static double recordSpans(TraceHelper trace) {
+    try (var _ = TraceHelper.recordOn(trace)) {
+      for (int i = 0; i < SPANS; i++)
+        try (var _ = TraceHelper.span("TraceBenchmark", "warmUp", null, null)) {}
+      var start = System.nanoTime();
+      for (int i = 0; i < SPANS; i++)
+        try (var _ = TraceHelper.span("TraceBenchmark", "span", "Page", "By.id: span")) {}
+      return (double) (System.nanoTime() - start) / SPANS;
+    }
+  }
+}
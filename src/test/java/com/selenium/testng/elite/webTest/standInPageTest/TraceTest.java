@@ -0,0 +1,143 @@
+package com.selenium.testng.elite.webTest.standInPageTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.selenium.testng.elite.BaseTest;
+import com.selenium.utils.StandInServer;
+import elementHelper.TraceHelper;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.openqa.selenium.json.Json;
+import org.testng.annotations.Test;
+import pageObjectModel.webPageObject.standInPage.ElementCacheStandInPage;
+
+public class TraceTest extends BaseTest {
+
+  private static final int WORKERS = 4;
+  private static final int SPANS_PER_WORKER = 10;
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void verifyThatTraceFileHasOneTrackPerThread() throws Exception {
+
+    // Separate trace, so the spans of this test do not end up in the trace of the run
+    var trace = new TraceHelper(true);
+
+    log.get().info("Navigate to element cache stand-in page and read the counter while tracing");
+    driver.get(StandInServer.getUrl("elementCache.html"));
+    try (var _ = TraceHelper.recordOn(trace)) {
+      // Created while tracing, so its helper records its operations
+      var standInPage = new ElementCacheStandInPage(driver);
+      standInPage.clickOnIncrementButton();
+      assertThat(standInPage.getCounterText()).isEqualTo("1");
+    }
+
+    log.get().info("Record spans on " + WORKERS + " worker threads");
+    var workers = new ArrayList<Thread>();
+    for (int i = 1; i <= WORKERS; i++) {
+      var worker =
+          new Thread(
+              () -> {
+                try (var _ = TraceHelper.recordOn(trace)) {
+                  for (int j = 0; j < SPANS_PER_WORKER; j++)
+                    try (var _ = TraceHelper.span("TraceTest", "step", null, null)) {
+                      Thread.onSpinWait();
+                    }
+                }
+              },
+              "trace-worker-" + i);
+      workers.add(worker);
+      worker.start();
+    }
+    for (var worker : workers) worker.join();
+
+    log.get().info("Write the trace file and parse it");
+    var file = Files.createTempFile("trace", ".json");
+    trace.writeTo(file);
+    Map<String, Object> traceFile = new Json().toType(Files.readString(file), Json.MAP_TYPE);
+    var traceEvents = (List<Map<String, Object>>) traceFile.get("traceEvents");
+    var tracks =
+        traceEvents.stream()
+            .filter(event -> "M".equals(event.get("ph")))
+            .collect(
+                Collectors.groupingBy(
+                    event -> event.get("tid"),
+                    Collectors.mapping(
+                        event -> ((Map<String, Object>) event.get("args")).get("name"),
+                        Collectors.toList())));
+    var spans = traceEvents.stream().filter(event -> "X".equals(event.get("ph"))).toList();
+    log.get().info(spans.size() + " spans on " + tracks.size() + " tracks");
+
+    log.get().info("Verify that every thread has exactly one named track with all its spans");
+    assertThat(tracks)
+        .hasSize(WORKERS + 1)
+        .allSatisfy((tid, names) -> assertThat(names).hasSize(1));
+    assertThat(spans).allSatisfy(span -> assertThat(tracks).containsKey(span.get("tid")));
+    for (int i = 1; i <= WORKERS; i++) {
+      var threadName = "trace-worker-" + i;
+      var tid =
+          tracks.entrySet().stream()
+              .filter(track -> track.getValue().contains(threadName))
+              .map(Map.Entry::getKey)
+              .findFirst()
+              .orElseThrow();
+      assertThat(spans).filteredOn(span -> tid.equals(span.get("tid"))).hasSize(SPANS_PER_WORKER);
+    }
+    assertThat(spans)
+        .anySatisfy(
+            span -> {
+              assertThat(span).containsEntry("cat", "SeleniumHelper");
+              assertThat(span).containsEntry("name", "getText");
+            });
+
+    log.get().info("Verify that waits are named after their operation and scripts know the caller");
+    assertThat(spans)
+        .anySatisfy(
+            span -> {
+              assertThat(span).containsEntry("cat", "WaitHelper");
+              assertThat(span).containsEntry("name", "waitForElementToBeClickable");
+              assertThat((Map<String, Object>) span.get("args"))
+                  .containsEntry("pageObject", "ElementCacheStandInPage");
+            });
+    assertThat(spans)
+        .anySatisfy(
+            span -> {
+              assertThat(span).containsEntry("cat", "JavaScriptHelper");
+              assertThat((Map<String, Object>) span.get("args"))
+                  .containsEntry("pageObject", "ElementCacheStandInPage")
+                  .containsEntry("locator", "By.id: counter");
+            });
+  }
+
+  @Test
+  public void verifyThatNestedSpansOfTheSameHelperAreRecordedOnce() throws Exception {
+
+    var trace = new TraceHelper(true);
+
+    log.get().info("Open an operation inside an operation of the same helper and a wait inside it");
+    try (var _ = TraceHelper.recordOn(trace);
+        var _ = TraceHelper.span("TraceTest", "outer", "Page", "By.id: outer");
+        var _ = TraceHelper.span("TraceTest", "inner", "Page", "By.id: inner");
+        var _ = TraceHelper.span("TraceTestWait", "wait", null, null)) {
+      Thread.onSpinWait();
+    }
+
+    log.get().info("Verify that the inner operation is part of the outer one");
+    var file = Files.createTempFile("trace", ".json");
+    trace.writeTo(file);
+    Map<String, Object> traceFile = new Json().toType(Files.readString(file), Json.MAP_TYPE);
+    @SuppressWarnings("unchecked")
+    var spans =
+        ((List<Map<String, Object>>) traceFile.get("traceEvents"))
+            .stream().filter(event -> "X".equals(event.get("ph"))).toList();
+    assertThat(spans).extracting(span -> span.get("name")).containsExactly("wait", "outer");
+
+    log.get().info("Verify that the wait took page object and locator of the operation it is in");
+    @SuppressWarnings("unchecked")
+    var args = (Map<String, Object>) spans.getFirst().get("args");
+    assertThat(args).containsEntry("pageObject", "Page").containsEntry("locator", "By.id: outer");
+  }
+}
@@ -0,0 +1,47 @@
+package com.selenium.testng.elite.webTest.standInPageTest;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+import com.selenium.testng.elite.BaseTest;
+import com.selenium.testng.elite.utils.RunMetrics;
+import com.selenium.utils.StandInServer;
+import elementHelper.web.UploadStager;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+import pageObjectModel.webPageObject.standInPage.UploadStandInPage;
+
+public class UploadStagingTest extends BaseTest {
+
+  @Test
+  public void verifyThatTheSameFileIsTransferredToTheRemoteBrowserOnce()
+      throws InterruptedException {
+    skipWhenBrowserIsLocal();
+
+    // Page object for upload stand-in page
+    var standInPage = new UploadStandInPage(driver);
+
+    log.get().info("Upload 'DocFile.doc' three times, reloading the page in between");
+    for (int i = 0; i < 3; i++) {
+      driver.get(StandInServer.getUrl("upload.html"));
+      standInPage.uploadFile("DocFile.doc");
+      assertThat(standInPage.getUploadedFilesText()).isEqualTo("DocFile.doc (512000 bytes)");
+    }
+
+    log.get().info("Verify that the file was transferred once and reused afterwards");
+    assertThat(RunMetrics.get(UploadStager.TRANSFERS)).isEqualTo(1);
+    assertThat(RunMetrics.get(UploadStager.REUSES)).isEqualTo(2);
+    assertThat(RunMetrics.get(UploadStager.BYTES_TRANSFERRED)).isEqualTo(512000);
+
+    log.get().info("Upload 'TextFile.txt' and verify that it is transferred as well");
+    standInPage.uploadFile("TextFile.txt");
+    assertThat(standInPage.getUploadedFilesText()).isEqualTo("TextFile.txt (102180 bytes)");
+    assertThat(RunMetrics.get(UploadStager.TRANSFERS)).isEqualTo(2);
+  }
+
+  // The stand-in server has to be reachable from the browser, e.g. a standalone server started on
+  // this machine with: java -jar selenium-server.jar standalone
+  private void skipWhenBrowserIsLocal() {
+    if (environmentConfig.getRemoteUrl() == null)
+      throw new SkipException("Upload staging needs a remote browser, set REMOTE_URL");
+  }
+}
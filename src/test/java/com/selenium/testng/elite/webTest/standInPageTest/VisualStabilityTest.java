@@ -0,0 +1,28 @@
+package com.selenium.testng.elite.webTest.standInPageTest;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+import com.selenium.testng.elite.BaseTest;
+import com.selenium.utils.StandInServer;
+import org.testng.annotations.Test;
+import pageObjectModel.webPageObject.standInPage.AnimatedMenuStandInPage;
+
+public class VisualStabilityTest extends BaseTest {
+
+  @Test
+  public void verifyThatUserCanClickOnOptionOfAnimatedDropdown() throws InterruptedException {
+
+    // Page object for animated menu stand-in page
+    var standInPage = new AnimatedMenuStandInPage(driver);
+
+    log.get().info("Navigate to animated menu stand-in page");
+    driver.get(StandInServer.getUrl("animatedMenu.html"));
+
+    log.get().info("Open 'My Account' dropdown and click on 'Register' while the menu animates");
+    standInPage.clickOnMyAccountDropdown();
+    standInPage.clickOnRegisterOption();
+
+    log.get().info("Verify that 'Register' option is selected");
+    assertThat(standInPage.getSelectedOptionText()).isEqualTo("Register");
+  }
+}
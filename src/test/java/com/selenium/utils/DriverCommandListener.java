@@ -0,0 +1,42 @@
+package com.selenium.utils;
+
+import com.selenium.testng.elite.utils.RunMetrics;
+import elementHelper.ElementCache;
+import java.lang.reflect.Method;
+import java.util.Set;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+/**
+ * Counts the WebDriver commands sent by a test, see {@link RunMetrics#WEBDRIVER_COMMANDS}, and
+ * forgets the elements cached for the previous page when the driver navigates.
+ */
+public class DriverCommandListener implements WebDriverListener {
+
+  // These only return a local object and never reach the browser
+  private static final Set<String> LOCAL_CALLS =
+      Set.of(
+          "manage",
+          "navigate",
+          "switchTo",
+          "timeouts",
+          "window",
+          "logs",
+          "getWrappedDriver",
+          "getWrappedElement",
+          "toString",
+          "equals",
+          "hashCode");
+
+  @Override
+  public void beforeAnyCall(Object target, Method method, Object[] args) {
+    if (!LOCAL_CALLS.contains(method.getName()))
+      RunMetrics.increment(RunMetrics.WEBDRIVER_COMMANDS);
+  }
+
+  @Override
+  public void afterAnyWebDriverCall(WebDriver driver, Method method, Object[] args, Object result) {
+    if (method.getName().equals("get") || method.getName().equals("navigate"))
+      ElementCache.clear(driver);
+  }
+}
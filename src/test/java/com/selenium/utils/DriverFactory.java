@@ -1,7 +1,8 @@
 package com.selenium.utils;
 
 import com.selenium.testng.elite.enums.PlatformName;
-import com.selenium.testng.elite.utils.PathHelper;
+import elementHelper.web.FileHelper;
+import org.openqa.selenium.Capabilities;
 import org.openqa.selenium.Dimension;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
@@ -11,9 +12,15 @@ import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
 import org.openqa.selenium.firefox.FirefoxProfile;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.safari.SafariDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import java.net.MalformedURLException;
+import java.net.URI;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 
 public class DriverFactory {
 
@@ -33,6 +40,9 @@ public class DriverFactory {
         driver.manage().window().setSize(new Dimension(1920, 1080));
       else
         driver.manage().window().maximize();
+
+      // Count the commands of each test for the run metrics
+      driver = new EventFiringDecorator<>(new DriverCommandListener()).decorate(driver);
     }
     return driver;
   }
@@ -42,9 +52,10 @@ public class DriverFactory {
 
     // Download file settings
     Map<String, Object> prefs = new HashMap<>();
-    prefs.put("download.default_directory", PathHelper.getDownloadFolderPath());
+    prefs.put("download.default_directory", FileHelper.getDownloadFolderPath());
     prefs.put("download.prompt_for_download", false);
     prefs.put("plugins.always_open_pdf_externally", true);
+    prefs.put("profile.default_content_setting_values.automatic_downloads", 1);
     options.setExperimentalOption("prefs", prefs);
 
     options.addArguments("--disable-notifications");
@@ -52,14 +63,15 @@ public class DriverFactory {
     options.addArguments("--disable-dev-shm-usage");
     options.addArguments("--disable-gpu");
     if (environmentConfig.isHeadless()) options.addArguments("--headless", "start-maximized");
-    return new ChromeDriver(options);
+    if (environmentConfig.isEnableBiDi()) options.setCapability("webSocketUrl", true);
+    return startDriver(environmentConfig, options, () -> new ChromeDriver(options));
   }
 
   private static WebDriver setUpFireFoxDriver(EnvironmentConfig environmentConfig) {
 
     // Setup firefox profile
     var profile = new FirefoxProfile();
-    profile.setPreference("browser.download.dir", PathHelper.getDownloadFolderPath());
+    profile.setPreference("browser.download.dir", FileHelper.getDownloadFolderPath());
     profile.setPreference("browser.download.folderList", 2);
     profile.setPreference("pdfjs.disabled", true);
     profile.setPreference("browser.download.manager.overwriteOnExist", true);
@@ -69,20 +81,37 @@ public class DriverFactory {
     options.setProfile(profile);
     options.addArguments("--disable-notifications");
     if (environmentConfig.isHeadless()) options.addArguments("--headless", "--width=1920", "--height=1080");
-    return new FirefoxDriver(options);
+    if (environmentConfig.isEnableBiDi()) options.setCapability("webSocketUrl", true);
+    return startDriver(environmentConfig, options, () -> new FirefoxDriver(options));
   }
 
   private static WebDriver setEdgeDriver(EnvironmentConfig environmentConfig) {
 
     var options = new EdgeOptions();
     Map<String, Object> edgePrefs = new HashMap<>();
-    edgePrefs.put("download.default_directory", PathHelper.getDownloadFolderPath());
+    edgePrefs.put("download.default_directory", FileHelper.getDownloadFolderPath());
     edgePrefs.put("download.prompt_for_download", false);
     edgePrefs.put("plugins.always_open_pdf_externally", true);
+    edgePrefs.put("profile.default_content_setting_values.automatic_downloads", 1);
     options.setExperimentalOption("prefs", edgePrefs);
 
     options.addArguments("--disable-notifications");
     if (environmentConfig.isHeadless()) options.addArguments("--headless", "start-maximized");
-    return new EdgeDriver(options);
+    if (environmentConfig.isEnableBiDi()) options.setCapability("webSocketUrl", true);
+    return startDriver(environmentConfig, options, () -> new EdgeDriver(options));
+  }
+
+  // Runs the browser on a Selenium Grid or standalone server instead when REMOTE_URL is set
+  private static WebDriver startDriver(
+      EnvironmentConfig environmentConfig, Capabilities options, Supplier<WebDriver> localDriver) {
+    var remoteUrl = environmentConfig.getRemoteUrl();
+    if (remoteUrl == null) return localDriver.get();
+    try {
+      var driver = new RemoteWebDriver(URI.create(remoteUrl).toURL(), options);
+      // BiDi needs the augmented driver, local drivers have it built in
+      return environmentConfig.isEnableBiDi() ? new Augmenter().augment(driver) : driver;
+    } catch (MalformedURLException e) {
+      throw new RuntimeException("REMOTE_URL is not a valid URL: " + remoteUrl, e);
+    }
   }
 }
@@ -7,6 +7,7 @@ import com.selenium.testng.elite.utils.Constant;
 import com.selenium.testng.elite.utils.PathHelper;
 import io.github.cdimascio.dotenv.Dotenv;
 import java.util.Locale;
+import java.util.Optional;
 import lombok.Getter;
 
 @Getter
@@ -17,6 +18,9 @@ public class EnvironmentConfig {
   private final boolean headless;
   private final EnvironmentType environment;
   private final boolean wantToOpenReports;
+  private final int testDeadlineInSeconds;
+  private final boolean enableBiDi;
+  private final String remoteUrl;
 
   public EnvironmentConfig() {
 
@@ -38,5 +42,15 @@ public class EnvironmentConfig {
 
     headless = Boolean.parseBoolean(globalDotenv.get("HEADLESS"));
     wantToOpenReports = Boolean.parseBoolean(globalDotenv.get("WANT_TO_OPEN_REPORT"));
+    testDeadlineInSeconds =
+        Optional.ofNullable(globalDotenv.get("TEST_DEADLINE_IN_SECONDS"))
+            .map(Integer::parseInt)
+            .orElse(300);
+    enableBiDi =
+        Optional.ofNullable(globalDotenv.get("ENABLE_BIDI"))
+            .map(Boolean::parseBoolean)
+            .orElse(false);
+    remoteUrl =
+        Optional.ofNullable(globalDotenv.get("REMOTE_URL")).filter(x -> !x.isBlank()).orElse(null);
   }
 }
@@ -0,0 +1,191 @@
+package com.selenium.utils;
+
+import elementHelper.InBrowserLocator;
+import elementHelper.LocatorOptimizer;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Measures how long the browser takes to resolve each locator declared by a page object, as a field
+ * or as a method building a dynamic locator, on the page currently loaded, e.g. a stand-in page.
+ * XPaths which {@link LocatorOptimizer} can rewrite are measured as CSS as well, and both versions
+ * are checked to match the same elements.
+ */
+public class LocatorCostBenchmark {
+
+  // Resolves every locator a number of times in the browser, so the result does not include the
+  // round trip of a findElements call
+  private static final String MEASUREMENT_SCRIPT =
+      InBrowserLocator.FIND_ALL_FUNCTION
+          + """
+      var locators = arguments[0], iterations = arguments[1];
+      function measure(using, value) {
+        var matches, start = performance.now();
+        for (var i = 0; i < iterations; i++) matches = findAll(using, value);
+        return { micros: (performance.now() - start) * 1000 / iterations, matches: matches };
+      }
+      return locators.map(function (locator) {
+        var original = measure(locator.using, locator.value);
+        var result = { micros: original.micros, matches: original.matches.length };
+        if (locator.css) {
+          var css = measure('css selector', locator.css);
+          result.cssMicros = css.micros;
+          result.isEquivalent = css.matches.length === original.matches.length
+              && css.matches.every(function (element, index) {
+                return element === original.matches[index];
+              });
+        }
+        return result;
+      });
+      """;
+
+  /**
+   * The cost of one locator.
+   *
+   * @param field The name of the page object field or method declaring the locator.
+   * @param locator The locator.
+   * @param matches The number of elements the locator matched.
+   * @param micros The average time to resolve the locator in microseconds.
+   * @param css The CSS equivalent of the locator, or null if it has none.
+   * @param cssMicros The average time to resolve the CSS equivalent, or null.
+   * @param isEquivalent Whether the CSS equivalent matched the same elements, or null.
+   */
+  public record LocatorCost(
+      String field,
+      By locator,
+      long matches,
+      double micros,
+      String css,
+      Double cssMicros,
+      Boolean isEquivalent) {}
+
+  /**
+   * Measures the locators declared by the page object and its parent classes.
+   *
+   * @param driver The driver with the page loaded.
+   * @param pageObject The page object declaring the locators, without dynamic locators.
+   * @param iterations How many times each locator is resolved to average the time.
+   * @return The cost of each locator, most expensive first.
+   */
+  public static List<LocatorCost> measure(WebDriver driver, Object pageObject, int iterations) {
+    return measure(driver, pageObject, Map.of(), iterations);
+  }
+
+  /**
+   * Measures the locators declared by the page object and its parent classes, including the dynamic
+   * locators built by its methods.
+   *
+   * @param driver The driver with the page loaded.
+   * @param pageObject The page object declaring the locators.
+   * @param sampleArguments The arguments to build each dynamic locator with, by method name. Every
+   *     method returning a locator needs one, so a new dynamic locator is not left unmeasured.
+   * @param iterations How many times each locator is resolved to average the time.
+   * @return The cost of each locator, most expensive first.
+   */
+  @SuppressWarnings("unchecked")
+  public static List<LocatorCost> measure(
+      WebDriver driver, Object pageObject, Map<String, Object[]> sampleArguments, int iterations) {
+    var locators = getDeclaredLocators(pageObject, sampleArguments);
+    var fields = new ArrayList<>(locators.keySet());
+    var arguments = new ArrayList<Map<String, String>>();
+    for (var field : fields) {
+      var locator = locators.get(field);
+      var locatorArguments = getArguments(locator);
+      var argument = new HashMap<String, String>();
+      argument.put("using", locatorArguments[0]);
+      argument.put("value", locatorArguments[1]);
+      argument.put("css", cssEquivalent(locator));
+      arguments.add(argument);
+    }
+
+    var results =
+        (List<Map<String, Object>>)
+            ((JavascriptExecutor) driver).executeScript(MEASUREMENT_SCRIPT, arguments, iterations);
+    var costs = new ArrayList<LocatorCost>();
+    for (int i = 0; i < fields.size(); i++) {
+      var result = results.get(i);
+      costs.add(
+          new LocatorCost(
+              fields.get(i),
+              locators.get(fields.get(i)),
+              ((Number) result.get("matches")).longValue(),
+              ((Number) result.get("micros")).doubleValue(),
+              arguments.get(i).get("css"),
+              result.get("cssMicros") == null
+                  ? null
+                  : ((Number) result.get("cssMicros")).doubleValue(),
+              (Boolean) result.get("isEquivalent")));
+    }
+    costs.sort(Comparator.comparingDouble(LocatorCost::micros).reversed());
+    return costs;
+  }
+
+  // Instance and static fields of type By in declaration order, then methods returning a By by name
+  private static Map<String, By> getDeclaredLocators(
+      Object pageObject, Map<String, Object[]> sampleArguments) {
+    var locators = new LinkedHashMap<String, By>();
+    for (var type = pageObject.getClass(); type != Object.class; type = type.getSuperclass()) {
+      for (var field : type.getDeclaredFields()) {
+        if (!By.class.isAssignableFrom(field.getType())) continue;
+        try {
+          field.setAccessible(true);
+          var target = Modifier.isStatic(field.getModifiers()) ? null : pageObject;
+          locators.put(type.getSimpleName() + "." + field.getName(), (By) field.get(target));
+        } catch (IllegalAccessException e) {
+          throw new RuntimeException("Locator " + field.getName() + " could not be read", e);
+        }
+      }
+
+      var methods = new ArrayList<>(List.of(type.getDeclaredMethods()));
+      methods.sort(Comparator.comparing(Method::getName));
+      for (var method : methods) {
+        if (method.isSynthetic() || !By.class.isAssignableFrom(method.getReturnType())) continue;
+        var arguments = sampleArguments.get(method.getName());
+        if (arguments == null && method.getParameterCount() > 0)
+          throw new RuntimeException(
+              "Locator " + method.getName() + " has no sample arguments to be measured with");
+        if (arguments == null) arguments = new Object[0];
+        try {
+          method.setAccessible(true);
+          var target = Modifier.isStatic(method.getModifiers()) ? null : pageObject;
+          var name =
+              type.getSimpleName()
+                  + "."
+                  + method.getName()
+                  + Arrays.stream(arguments)
+                      .map(String::valueOf)
+                      .collect(Collectors.joining(", ", "(", ")"));
+          locators.put(name, (By) method.invoke(target, arguments));
+        } catch (ReflectiveOperationException | IllegalArgumentException e) {
+          throw new RuntimeException("Locator " + method.getName() + " could not be built", e);
+        }
+      }
+    }
+    return locators;
+  }
+
+  // The locator as declared, not as optimized. By.id, By.name and By.className are sent as CSS
+  private static String[] getArguments(By locator) {
+    if (!(locator instanceof By.Remotable remotable)
+        || InBrowserLocator.getArguments(locator) == null)
+      throw new RuntimeException("Locator " + locator + " cannot be resolved in the browser");
+    var parameters = remotable.getRemoteParameters();
+    return new String[] {parameters.using(), String.valueOf(parameters.value())};
+  }
+
+  private static String cssEquivalent(By locator) {
+    var css = LocatorOptimizer.toCssLocator(locator);
+    return css == locator ? null : ((By.Remotable) css).getRemoteParameters().value().toString();
+  }
+}
@@ -0,0 +1,123 @@
+package com.selenium.utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * Local HTTP server for stand-in pages, so helper behaviour can be tested and benchmarked without
+ * depending on a remote site. Pages are served from the {@code standInPages} test resources and
+ * {@code /api/*} answers with a small JSON body after an optional {@code delay} (ms) with an
+ * optional {@code status}. {@code /protected/*} serves the {@code standInPages/downloads} files
+ * only to requests with the session cookie set by {@code download.html}.
+ */
+public class StandInServer {
+
+  // Set by download.html, like the session cookie of a logged in user
+  private static final String PROTECTED_COOKIE = "session=stand-in";
+
+  private static HttpServer server;
+
+  public static synchronized String getUrl(String path) {
+    if (server == null) start();
+    return "http://localhost:" + server.getAddress().getPort() + "/" + path;
+  }
+
+  private static void start() {
+    try {
+      server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    } catch (IOException e) {
+      throw new RuntimeException("Stand-in server could not be started", e);
+    }
+    server.createContext("/api/", StandInServer::handleApi);
+    server.createContext("/protected/", StandInServer::handleProtected);
+    server.createContext("/", StandInServer::handlePage);
+    server.setExecutor(
+        Executors.newCachedThreadPool(
+            runnable -> {
+              var thread = new Thread(runnable, "stand-in-server");
+              thread.setDaemon(true);
+              return thread;
+            }));
+    server.start();
+  }
+
+  private static void handlePage(HttpExchange exchange) throws IOException {
+    var path = exchange.getRequestURI().getPath().substring(1);
+    try (var page = StandInServer.class.getResourceAsStream("/standInPages/" + path)) {
+      if (path.contains("..") || page == null) {
+        send(exchange, 404, "text/plain", "Not found".getBytes(StandardCharsets.UTF_8));
+        return;
+      }
+      send(exchange, 200, getContentType(path), page.readAllBytes());
+    }
+  }
+
+  // Serves /protected/<file> from standInPages/downloads only with the cookie set by the page
+  private static void handleProtected(HttpExchange exchange) throws IOException {
+    var cookies = exchange.getRequestHeaders().getOrDefault("Cookie", List.of());
+    if (cookies.stream().noneMatch(cookie -> cookie.contains(PROTECTED_COOKIE))) {
+      send(exchange, 403, "text/plain", "Forbidden".getBytes(StandardCharsets.UTF_8));
+      return;
+    }
+    var path = exchange.getRequestURI().getPath().substring("/protected/".length());
+    try (var file = StandInServer.class.getResourceAsStream("/standInPages/downloads/" + path)) {
+      if (path.contains("..") || file == null) {
+        send(exchange, 404, "text/plain", "Not found".getBytes(StandardCharsets.UTF_8));
+        return;
+      }
+      send(exchange, 200, getContentType(path), file.readAllBytes());
+    }
+  }
+
+  private static void handleApi(HttpExchange exchange) throws IOException {
+    var query = getQueryParameters(exchange.getRequestURI().getRawQuery());
+    try {
+      Thread.sleep(Long.parseLong(query.getOrDefault("delay", "0")));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    exchange.getRequestBody().readAllBytes();
+    var status = Integer.parseInt(query.getOrDefault("status", "200"));
+    var body =
+        "{\"success\":"
+            + (status < 400)
+            + ",\"path\":\""
+            + exchange.getRequestURI().getPath()
+            + "\"}";
+    send(exchange, status, "application/json", body.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static void send(HttpExchange exchange, int status, String contentType, byte[] body)
+      throws IOException {
+    exchange.getResponseHeaders().set("Content-Type", contentType);
+    exchange.getResponseHeaders().set("Cache-Control", "no-store");
+    exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+    try (var response = exchange.getResponseBody()) {
+      response.write(body);
+    }
+  }
+
+  private static Map<String, String> getQueryParameters(String query) {
+    var parameters = new HashMap<String, String>();
+    if (query == null) return parameters;
+    for (var pair : query.split("&")) {
+      var keyValue = pair.split("=", 2);
+      parameters.put(keyValue[0], keyValue.length > 1 ? keyValue[1] : "");
+    }
+    return parameters;
+  }
+
+  private static String getContentType(String path) {
+    if (path.endsWith(".html")) return "text/html; charset=utf-8";
+    if (path.endsWith(".js")) return "text/javascript; charset=utf-8";
+    if (path.endsWith(".css")) return "text/css; charset=utf-8";
+    return "application/octet-stream";
+  }
+}
@@ -0,0 +1,16 @@
+package com.selenium.utils;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Overrides the default per-test deadline (TEST_DEADLINE_IN_SECONDS) for a single test method. All
+ * waits of the test share this budget.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface TestDeadline {
+  int seconds();
+}